@@ -1,24 +1,38 @@
 package cn.myafx.cache;
 
-import java.io.File;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
+import cn.myafx.cache.async.*;
 import cn.myafx.cache.base.*;
+import cn.myafx.cache.reactive.*;
 
 /**
- * 
+ * 缓存工厂, lettuce 连接时缓存实例按 (接口, item, 类型参数) 共享, 构造函数预编译为 MethodHandle
  */
 public class CacheFactory implements AutoCloseable {
     private RedisConnectionFactory connectionFactory;
     private ICacheKey cacheKey;
     private String prefix;
     private IJsonMapper mapper;
-    private Map<Class<?>, Class<?>> classMap;
+    private CacheTypeRegistry registry;
+    private final Map<List<Object>, MethodHandle> constructorMap = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Object> cacheMap = new ConcurrentHashMap<>();
+    private IRedisConnectionProvider provider;
+    private IReactiveConnectionProvider reactiveProvider;
+    private volatile Executor decodeExecutor;
+    private volatile Executor refreshExecutor;
 
     public CacheFactory(RedisConnectionFactory connectionFactory, ICacheKey cacheKey, String prefix,
             IJsonMapper jsonMapper) throws Exception {
@@ -36,46 +50,56 @@ public class CacheFactory implements AutoCloseable {
         this.mapper = jsonMapper;
         RedisCache.DefaultJsonMapper = jsonMapper;
 
-        this.classMap = new HashMap<>();
-        this.loadMap();
-    }
-
-    private void loadMap() throws Exception {
-        var classLoader = CacheFactory.class.getClassLoader();
-        var packageName = CacheFactory.class.getPackageName();
-        var packageResource = packageName.replace(".", "/");
-        var url = classLoader.getResource(packageResource);
-        var root = new File(url.toURI());
-        this.scanMap(root, packageName);
-    }
-
-    private void scanMap(File root, String packageName) throws Exception {
-        var listFiles = root.listFiles();
-        if (listFiles == null || listFiles.length == 0)
-            return;
-        for (File f : listFiles) {
-            var name = f.getName();
-            if (f.isDirectory()) {
-                scanMap(f, packageName + "." + name);
-            } else if (name.endsWith(".class")) {
-                var className = packageName + "." + name.replace(".class", "");
-                var clazz = Class.forName(className);
-                if (!clazz.isInterface() && BaseCache.class.isAssignableFrom(clazz)
-                        && !Modifier.isAbstract(clazz.getModifiers())) {
-                    var iarr = clazz.getInterfaces();
-                    if (iarr != null && iarr.length > 0 && IBaseCache.class.isAssignableFrom(iarr[0])) {
-                        this.classMap.put(iarr[0], clazz);
-                    }
-                }
-            }
-        }
+        this.registry = CacheTypeRegistry.createDefault();
     }
 
+    /**
+     * 新建连接, 集群返回集群连接
+     * 
+     * @return RedisConnection, 使用完需 close
+     * @throws Exception
+     */
     public RedisConnection getConnection() throws Exception {
+        if (connectionFactory instanceof LettuceConnectionFactory lettuce && !lettuce.isClusterAware())
+            return connectionFactory.getConnection();
 
         return connectionFactory.getClusterConnection();
     }
 
+    /**
+     * redis 连接, lettuce 每个 db 一个专用连接, 所有缓存共享;
+     * 其他连接非线程安全, 每次返回新的单连接 SelectConnectionProvider
+     * 
+     * @return IRedisConnectionProvider
+     * @throws Exception
+     */
+    public synchronized IRedisConnectionProvider getProvider() throws Exception {
+        if (this.connectionFactory == null)
+            throw new Exception("factory is closed!");
+        if (!this.isShared())
+            return new SelectConnectionProvider(this.connectionFactory.getConnection());
+        if (this.provider == null)
+            this.provider = new RedisConnectionProvider(this.connectionFactory);
+
+        return this.provider;
+    }
+
+    /**
+     * 连接及缓存实例是否可共享, 仅 lettuce 连接线程安全
+     */
+    private boolean isShared() {
+        return this.connectionFactory instanceof LettuceConnectionFactory;
+    }
+
+    /**
+     * 缓存类型注册, 可注册自定义缓存类型
+     * 
+     * @return CacheTypeRegistry
+     */
+    public CacheTypeRegistry getRegistry() {
+        return this.registry;
+    }
+
     public ICacheKey getCacheKey() {
         return this.cacheKey;
     }
@@ -88,33 +112,50 @@ public class CacheFactory implements AutoCloseable {
         return mapper;
     }
 
+    /**
+     * 设置并行反序列化线程池, 应为有界线程池, 由调用方关闭; 配置 paralleldecode 的缓存使用,
+     * 已创建的缓存同时更新
+     * 
+     * @param executor 线程池, null 不并行
+     */
+    public void setDecodeExecutor(Executor executor) {
+        this.decodeExecutor = executor;
+        for (var cache : this.cacheMap.values()) {
+            if (cache instanceof IBaseCache c)
+                c.setDecodeExecutor(executor);
+        }
+    }
+
+    public Executor getDecodeExecutor() {
+        return this.decodeExecutor;
+    }
+
+    /**
+     * 设置提前刷新线程池, 应为有界线程池, 由调用方关闭; 配置 refresh 的缓存使用,
+     * 已创建的缓存同时更新
+     * 
+     * @param executor 线程池, null 使用默认有界线程池
+     */
+    public void setRefreshExecutor(Executor executor) {
+        this.refreshExecutor = executor;
+        for (var cache : this.cacheMap.values()) {
+            if (cache instanceof IRedisCache c)
+                c.setRefreshExecutor(executor);
+        }
+    }
+
+    public Executor getRefreshExecutor() {
+        return this.refreshExecutor;
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends IRedisCache> T getCache(String item, Class<T> clazz) throws Exception {
         if (item == null || item.isEmpty())
             throw new Exception("item is null!");
         if (clazz == null)
             throw new Exception("clazz is null!");
-        var arr = item.split(":");
-        if (arr.length > 2)
-            throw new Exception("item=" + item + " is error!");
-        Class<?> impClass = this.classMap.get(clazz);
-        if (impClass == null)
-            throw new Exception("clazz(" + clazz.getName() + ") is error!");
-        T cache = null;
-        if (arr.length == 1) {
-            var c = impClass.getConstructor(String.class, RedisConnection.class, ICacheKey.class, String.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(item, getConnection(), getCacheKey(), getPrefix());
-        } else {
-            var c = impClass.getConstructor(String.class, String.class, RedisConnection.class, ICacheKey.class,
-                    String.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(arr[0], arr[1], getConnection(), getCacheKey(), getPrefix());
-        }
 
-        return cache;
+        return (T) this.getInstance(clazz, item, false, IRedisConnectionProvider.class);
     }
 
     @SuppressWarnings("unchecked")
@@ -126,28 +167,8 @@ public class CacheFactory implements AutoCloseable {
             throw new Exception("clazz is null!");
         if (valueClass == null)
             throw new Exception("valueClass is null!");
-        var arr = item.split(":");
-        if (arr.length > 2)
-            throw new Exception("item=" + item + " is error!");
-        Class<?> impClass = this.classMap.get(clazz);
-        if (impClass == null)
-            throw new Exception("clazz(" + clazz.getName() + ") is error!");
-        T cache = null;
-        if (arr.length == 1) {
-            var c = impClass.getConstructor(String.class, RedisConnection.class, ICacheKey.class, String.class,
-                    Class.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(item, getConnection(), getCacheKey(), getPrefix(), valueClass);
-        } else {
-            var c = impClass.getConstructor(String.class, String.class, RedisConnection.class, ICacheKey.class,
-                    String.class, Class.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(arr[0], arr[1], getConnection(), getCacheKey(), getPrefix(), valueClass);
-        }
 
-        return cache;
+        return (T) this.getInstance(clazz, item, false, IRedisConnectionProvider.class, valueClass);
     }
 
     @SuppressWarnings("unchecked")
@@ -161,33 +182,269 @@ public class CacheFactory implements AutoCloseable {
             throw new Exception("fieldClass is null!");
         if (valueClass == null)
             throw new Exception("valueClass is null!");
+
+        return (T) this.getInstance(clazz, item, false, IRedisConnectionProvider.class, fieldClass, valueClass);
+    }
+
+    private MethodHandle getConstructor(Class<?> impClass, int itemCount, Class<?> providerClass, int classCount)
+            throws Exception {
+        List<Object> key = List.of(impClass, itemCount, providerClass, classCount);
+        var handle = this.constructorMap.get(key);
+        if (handle != null)
+            return handle;
+        List<Class<?>> types = new ArrayList<>(itemCount + 3 + classCount);
+        for (int i = 0; i < itemCount; i++) {
+            types.add(String.class);
+        }
+        types.add(providerClass);
+        types.add(ICacheKey.class);
+        types.add(String.class);
+        for (int i = 0; i < classCount; i++) {
+            types.add(Class.class);
+        }
+        try {
+            handle = MethodHandles.publicLookup().findConstructor(impClass, MethodType.methodType(void.class, types));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new Exception("clazz(" + impClass.getName() + ") is error!", ex);
+        }
+        handle = handle.asSpreader(Object[].class, types.size())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        var old = this.constructorMap.putIfAbsent(key, handle);
+
+        return old != null ? old : handle;
+    }
+
+    private Object getInstance(Class<?> clazz, String item, boolean nodeItem, Class<?> providerClass,
+            Class<?>... classes) throws Exception {
+        List<Object> key = List.of(clazz, item, List.of(classes));
+        // 非 lettuce 连接每个实例一个连接, 不共享实例
+        boolean shared = providerClass == IReactiveConnectionProvider.class || this.isShared();
+        var cache = shared ? this.cacheMap.get(key) : null;
+        if (cache != null)
+            return cache;
         var arr = item.split(":");
+        if (nodeItem && arr.length != 2)
+            throw new Exception("item=" + item + " is error, must be Node:Item!");
         if (arr.length > 2)
             throw new Exception("item=" + item + " is error!");
-        Class<?> impClass = this.classMap.get(clazz);
+        Class<?> impClass = this.registry.get(clazz);
         if (impClass == null)
             throw new Exception("clazz(" + clazz.getName() + ") is error!");
-        T cache = null;
-        if (arr.length == 1) {
-            var c = impClass.getConstructor(String.class, RedisConnection.class, ICacheKey.class, String.class,
-                    Class.class, Class.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(item, getConnection(), getCacheKey(), getPrefix(), fieldClass, valueClass);
-        } else {
-            var c = impClass.getConstructor(String.class, String.class, RedisConnection.class, ICacheKey.class,
-                    String.class, Class.class, Class.class);
-            if (c == null)
-                throw new Exception("clazz(" + clazz.getName() + ") is error!");
-            cache = (T) c.newInstance(arr[0], arr[1], getConnection(), getCacheKey(), getPrefix(), fieldClass,
-                    valueClass);
+        var handle = this.getConstructor(impClass, arr.length, providerClass, classes.length);
+        Object provider = providerClass == IReactiveConnectionProvider.class ? getReactiveProvider() : getProvider();
+        Object[] args = new Object[arr.length + 3 + classes.length];
+        int i = 0;
+        for (var s : arr) {
+            args[i++] = s;
+        }
+        args[i++] = provider;
+        args[i++] = getCacheKey();
+        args[i++] = getPrefix();
+        for (var c : classes) {
+            args[i++] = c;
+        }
+        try {
+            cache = (Object) handle.invokeExact(args);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new Exception(ex);
+        }
+        var executor = this.decodeExecutor;
+        if (executor != null && cache instanceof IBaseCache c)
+            c.setDecodeExecutor(executor);
+        var refreshExecutor = this.refreshExecutor;
+        if (refreshExecutor != null && cache instanceof IRedisCache c)
+            c.setRefreshExecutor(refreshExecutor);
+        if (!shared)
+            return cache;
+        var old = this.cacheMap.putIfAbsent(key, cache);
+
+        return old != null ? old : cache;
+    }
+
+    /**
+     * 获取异步缓存
+     *
+     * @param <T>   IRedisCacheAsync
+     * @param item  Node:Item
+     * @param clazz 异步缓存接口
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IRedisCacheAsync> T getAsyncCache(String item, Class<T> clazz) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+
+        return (T) this.getInstance(clazz, item, true, IRedisConnectionProvider.class);
+    }
+
+    /**
+     * 获取异步缓存
+     *
+     * @param <T>        IValueCacheAsync
+     * @param <TValue>   TValue
+     * @param item       Node:Item
+     * @param clazz      异步缓存接口
+     * @param valueClass TValue.class
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IValueCacheAsync<TValue>, TValue> T getAsyncCache(String item, Class<T> clazz,
+            Class<TValue> valueClass) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+
+        return (T) this.getInstance(clazz, item, true, IRedisConnectionProvider.class, valueClass);
+    }
+
+    /**
+     * 获取异步 hash 缓存
+     *
+     * @param <T>        IHashCacheAsync
+     * @param <TField>   TField
+     * @param <TValue>   TValue
+     * @param item       Node:Item
+     * @param clazz      异步缓存接口
+     * @param fieldClass TField.class
+     * @param valueClass TValue.class
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IHashCacheAsync<TField, TValue>, TField, TValue> T getAsyncCache(String item, Class<T> clazz,
+            Class<TField> fieldClass, Class<TValue> valueClass) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        if (fieldClass == null)
+            throw new Exception("fieldClass is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+
+        return (T) this.getInstance(clazz, item, true, IRedisConnectionProvider.class, fieldClass, valueClass);
+    }
+
+    /**
+     * 响应式连接, 按db获取
+     * 
+     * @return IReactiveConnectionProvider
+     * @throws Exception connectionFactory 不是 ReactiveRedisConnectionFactory
+     */
+    public synchronized IReactiveConnectionProvider getReactiveProvider() throws Exception {
+        if (this.reactiveProvider == null) {
+            if (!(this.connectionFactory instanceof ReactiveRedisConnectionFactory factory))
+                throw new Exception("connectionFactory is not ReactiveRedisConnectionFactory!");
+            this.reactiveProvider = new ReactiveConnectionProvider(factory);
         }
 
-        return cache;
+        return this.reactiveProvider;
+    }
+
+    /**
+     * 获取响应式缓存
+     *
+     * @param <T>   IReactiveRedisCache
+     * @param item  Node:Item
+     * @param clazz 响应式缓存接口
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IReactiveRedisCache> T getReactiveCache(String item, Class<T> clazz) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+
+        return (T) this.getInstance(clazz, item, true, IReactiveConnectionProvider.class);
+    }
+
+    /**
+     * 获取响应式缓存
+     *
+     * @param <T>        IReactiveValueCache
+     * @param <TValue>   TValue
+     * @param item       Node:Item
+     * @param clazz      响应式缓存接口
+     * @param valueClass TValue.class
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IReactiveValueCache<TValue>, TValue> T getReactiveCache(String item, Class<T> clazz,
+            Class<TValue> valueClass) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+
+        return (T) this.getInstance(clazz, item, true, IReactiveConnectionProvider.class, valueClass);
+    }
+
+    /**
+     * 获取响应式 hash 缓存
+     *
+     * @param <T>        IReactiveHashCache
+     * @param <TField>   TField
+     * @param <TValue>   TValue
+     * @param item       Node:Item
+     * @param clazz      响应式缓存接口
+     * @param fieldClass TField.class
+     * @param valueClass TValue.class
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends IReactiveHashCache<TField, TValue>, TField, TValue> T getReactiveCache(String item,
+            Class<T> clazz, Class<TField> fieldClass, Class<TValue> valueClass) throws Exception {
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        if (fieldClass == null)
+            throw new Exception("fieldClass is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+
+        return (T) this.getInstance(clazz, item, true, IReactiveConnectionProvider.class, fieldClass, valueClass);
+    }
+
+    /**
+     * 创建命令管道, 入队命令在 execute 时按db分组, 每个db一次发送;
+     * 与缓存使用相同的 db 连接配置, 连接由管道独占
+     * 
+     * @return ICachePipeline, 使用完需 close
+     * @throws Exception
+     */
+    public ICachePipeline pipeline() throws Exception {
+        var provider = this.getProvider();
+        if (provider instanceof RedisConnectionProvider p)
+            return new CachePipeline(p.openExclusive());
+
+        return new CachePipeline(provider);
     }
 
     @Override
     public void close() throws Exception {
+        this.cacheMap.clear();
+        if (this.provider != null)
+            this.provider.close();
+        this.provider = null;
+        if (this.reactiveProvider != null)
+            this.reactiveProvider.close();
+        this.reactiveProvider = null;
         this.connectionFactory = null;
         this.cacheKey = null;
         this.prefix = null;
@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.*;
 
@@ -15,7 +17,8 @@ import org.w3c.dom.*;
  */
 public class CacheKey implements ICacheKey {
 
-    private ArrayList<CacheKeyConfig> list;
+    private List<CacheKeyConfig> list;
+    private Map<String, Map<String, CacheKeyConfig>> map;
 
     /**
      * env:xmlCacheKeyFile or src/main/resources/cache-key.xml
@@ -108,6 +111,30 @@ public class CacheKey implements ICacheKey {
         return list;
     }
 
+    private static Integer parseInt(String str) {
+        Integer v = null;
+        if (str != null && !str.isEmpty()) {
+            try {
+                v = Integer.parseInt(str.trim());
+            } catch (Exception ex) {
+            }
+        }
+
+        return v;
+    }
+
+    private static Boolean parseBoolean(String str) {
+        if (str == null || str.isEmpty())
+            return null;
+        str = str.trim();
+        if ("true".equalsIgnoreCase(str))
+            return true;
+        if ("false".equalsIgnoreCase(str))
+            return false;
+
+        return null;
+    }
+
     private static Integer parseExpire(String str) {
         Integer expire = null;
         if (str != null && !str.isEmpty()) {
@@ -140,7 +167,8 @@ public class CacheKey implements ICacheKey {
     private void load(Document doc) throws Exception {
         var rootElement = doc.getDocumentElement();
         var nodes = rootElement.getChildNodes();
-        this.list = new ArrayList<>();
+        var list = new ArrayList<CacheKeyConfig>();
+        var map = new HashMap<String, Map<String, CacheKeyConfig>>();
         for (int i = 0; i < nodes.getLength(); i++) {
             Node n = nodes.item(i);
             if (!(n instanceof Element node))
@@ -149,6 +177,22 @@ public class CacheKey implements ICacheKey {
             if (node_db == null)
                 node_db = new ArrayList<>(0);
             Integer node_expire = parseExpire(node.getAttribute("expire"));
+            String node_tag = node.getAttribute("tag");
+            String node_dbhash = node.getAttribute("dbhash");
+            Integer node_near = parseInt(node.getAttribute("near"));
+            Integer node_nearexpire = parseExpire(node.getAttribute("nearexpire"));
+            String node_loadlock = node.getAttribute("loadlock");
+            String node_refresh = node.getAttribute("refresh");
+            String node_jitter = node.getAttribute("jitter");
+            Integer node_missexpire = parseExpire(node.getAttribute("missexpire"));
+            String node_codec = node.getAttribute("codec");
+            Boolean node_scalar = parseBoolean(node.getAttribute("scalar"));
+            String node_compress = node.getAttribute("compress");
+            Integer node_compressmin = parseInt(node.getAttribute("compressmin"));
+            Integer node_paralleldecode = parseInt(node.getAttribute("paralleldecode"));
+            Integer node_batchwindow = parseInt(node.getAttribute("batchwindow"));
+            Integer node_batchsize = parseInt(node.getAttribute("batchsize"));
+            Integer node_loadwait = parseInt(node.getAttribute("loadwait"));
             NodeList child = node.getChildNodes();
             for (int j = 0; j < child.getLength(); j++) {
                 Node in = child.item(j);
@@ -161,10 +205,84 @@ public class CacheKey implements ICacheKey {
                 var expire = parseExpire(item.getAttribute("expire"));
                 if (expire == null)
                     expire = node_expire;
-                this.list.add(new CacheKeyConfig(node.getNodeName(), item.getNodeName(), key, expire, db));
+                var tag = item.getAttribute("tag");
+                if (tag == null || tag.isEmpty())
+                    tag = node_tag;
+                var dbhash = item.getAttribute("dbhash");
+                if (dbhash == null || dbhash.isEmpty())
+                    dbhash = node_dbhash;
+                var near = parseInt(item.getAttribute("near"));
+                if (near == null)
+                    near = node_near;
+                var nearexpire = parseExpire(item.getAttribute("nearexpire"));
+                if (nearexpire == null)
+                    nearexpire = node_nearexpire;
+                var loadlock = item.getAttribute("loadlock");
+                if (loadlock == null || loadlock.isEmpty())
+                    loadlock = node_loadlock;
+                var refresh = item.getAttribute("refresh");
+                if (refresh == null || refresh.isEmpty())
+                    refresh = node_refresh;
+                var jitter = item.getAttribute("jitter");
+                if (jitter == null || jitter.isEmpty())
+                    jitter = node_jitter;
+                var missexpire = parseExpire(item.getAttribute("missexpire"));
+                if (missexpire == null)
+                    missexpire = node_missexpire;
+                if (missexpire != null && missexpire <= 0)
+                    missexpire = null;
+                var codec = item.getAttribute("codec");
+                if (codec == null || codec.isEmpty())
+                    codec = node_codec;
+                var scalar = parseBoolean(item.getAttribute("scalar"));
+                if (scalar == null)
+                    scalar = node_scalar;
+                var compress = item.getAttribute("compress");
+                if (compress == null || compress.isEmpty())
+                    compress = node_compress;
+                var compressmin = parseInt(item.getAttribute("compressmin"));
+                if (compressmin == null)
+                    compressmin = node_compressmin;
+                var paralleldecode = parseInt(item.getAttribute("paralleldecode"));
+                if (paralleldecode == null)
+                    paralleldecode = node_paralleldecode;
+                var batchwindow = parseInt(item.getAttribute("batchwindow"));
+                if (batchwindow == null)
+                    batchwindow = node_batchwindow;
+                var batchsize = parseInt(item.getAttribute("batchsize"));
+                if (batchsize == null)
+                    batchsize = node_batchsize;
+                var loadwait = parseInt(item.getAttribute("loadwait"));
+                if (loadwait == null)
+                    loadwait = node_loadwait;
+                var m = CacheKeyConfig.builder(node.getNodeName(), item.getNodeName(), key, expire, db)
+                        .tag(tag == null || tag.isEmpty() ? null : tag.trim())
+                        .dbHash(dbhash == null || dbhash.isEmpty() ? null : dbhash.trim())
+                        .nearSize(near).nearExpire(nearexpire)
+                        .loadLock(loadlock == null || loadlock.isEmpty() ? null : loadlock.trim())
+                        .refresh(refresh == null || refresh.isEmpty() ? null : refresh.trim())
+                        .jitter(jitter == null || jitter.isEmpty() ? null : jitter.trim())
+                        .missExpire(missexpire)
+                        .codec(codec == null || codec.isEmpty() ? null : codec.trim()).scalar(scalar)
+                        .compress(compress == null || compress.isEmpty() ? null : compress.trim())
+                        .compressMin(compressmin).parallelDecode(paralleldecode)
+                        .batchWindow(batchwindow).batchSize(batchsize).loadWait(loadwait)
+                        .build();
+                var itemMap = map.get(m.Node);
+                if (itemMap == null) {
+                    itemMap = new HashMap<>();
+                    map.put(m.Node, itemMap);
+                }
+                // 重复配置取第一个
+                itemMap.putIfAbsent(m.Item, m);
+                list.add(m);
             }
         }
-        this.list.trimToSize();
+        for (var e : map.entrySet()) {
+            e.setValue(Map.copyOf(e.getValue()));
+        }
+        this.map = Map.copyOf(map);
+        this.list = List.copyOf(list);
     }
 
     private void load(String xmlFile) throws Exception {
@@ -195,15 +313,21 @@ public class CacheKey implements ICacheKey {
      */
     @Override
     public CacheKeyConfig get(String node, String item) {
-        CacheKeyConfig m = null;
-        for (var q : this.list) {
-            if (q.Node == node && q.Item == item) {
-                m = q;
-                break;
-            }
-        }
+        if (node == null || item == null)
+            return null;
+        var itemMap = this.map.get(node);
+
+        return itemMap != null ? itemMap.get(item) : null;
+    }
 
-        return m;
+    /**
+     * 全部配置
+     * 
+     * @return 只读 list, 按配置文件顺序
+     */
+    @Override
+    public List<CacheKeyConfig> all() {
+        return this.list;
     }
 
     /**
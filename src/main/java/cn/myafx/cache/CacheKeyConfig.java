@@ -26,6 +26,71 @@ public final class CacheKeyConfig {
      * fen
      */
     public final List<Integer> Db;
+    /**
+     * 集群 hash tag, key: 配置key 作为 tag; 参数序号: 0 或 0-1, 对应 key 参数段作为 tag
+     */
+    public final String Tag;
+    /**
+     * db 分配算法, 空或 legacy: 字符累加取模; jump: jump consistent hash, 扩容只迁移约 1/n key;
+     * 或 IDbStrategy 实现类全名
+     */
+    public final String DbHash;
+    /**
+     * 本地缓存最大数量, null 不启用本地缓存
+     */
+    public final Integer NearSize;
+    /**
+     * 本地缓存过期时间, 秒
+     */
+    public final Integer NearExpire;
+    /**
+     * 加载租约锁, DistributedLockDb 节点下配置项名称; 多进程同一 key 未命中时只有一个进程加载
+     */
+    public final String LoadLock;
+    /**
+     * 提前刷新, 已过 expire 比例 0-1, 如 0.8; ~0.8 表示从 0.8 开始按概率刷新, 越接近过期概率越大
+     */
+    public final String Refresh;
+    /**
+     * 过期时间随机抖动, 10% 按 expire 比例或 30 秒数; 实际过期时间 expire + [0, 抖动]
+     */
+    public final String Jitter;
+    /**
+     * 不存在标记过期时间, 秒; null 不缓存不存在
+     */
+    public final Integer MissExpire;
+    /**
+     * 值编解码, null 使用 IJsonMapper
+     */
+    public final String Codec;
+    /**
+     * 未配置 codec 时基本类型包装类、String、enum、UUID 是否直接读写, false 全部经过 IJsonMapper; null 为 true
+     */
+    public final Boolean Scalar;
+    /**
+     * 值压缩算法, null 不压缩
+     */
+    public final String Compress;
+    /**
+     * 最小压缩字节数, null 使用默认
+     */
+    public final Integer CompressMin;
+    /**
+     * 并行反序列化分块大小, 结果数量超过时按块并行, null 不并行
+     */
+    public final Integer ParallelDecode;
+    /**
+     * 并发单 key 读取合并窗口, 微秒; null 不合并
+     */
+    public final Integer BatchWindow;
+    /**
+     * 并发单 key 读取合并最大数量, null 使用默认
+     */
+    public final Integer BatchSize;
+    /**
+     * 未取得加载租约时最多等待时间, 毫秒; null 使用默认, 不超过租约时间
+     */
+    public final Integer LoadWait;
 
     /**
      * CacheKeyModel
@@ -37,10 +102,264 @@ public final class CacheKeyConfig {
      * @param db     分配db
      */
     public CacheKeyConfig(String node, String item, String key, Integer expire, List<Integer> db) {
-        this.Node = node;
-        this.Key = key;
-        this.Item = item;
-        this.Expire = expire;
-        this.Db = db;
+        this(new Builder(node, item, key, expire, db));
+    }
+
+    private CacheKeyConfig(Builder builder) {
+        this.Node = builder.node;
+        this.Item = builder.item;
+        this.Key = builder.key;
+        this.Expire = builder.expire;
+        this.Db = builder.db;
+        this.Tag = builder.tag;
+        this.DbHash = builder.dbHash;
+        this.NearSize = builder.nearSize;
+        this.NearExpire = builder.nearExpire;
+        this.LoadLock = builder.loadLock;
+        this.Refresh = builder.refresh;
+        this.Jitter = builder.jitter;
+        this.MissExpire = builder.missExpire;
+        this.Codec = builder.codec;
+        this.Scalar = builder.scalar;
+        this.Compress = builder.compress;
+        this.CompressMin = builder.compressMin;
+        this.ParallelDecode = builder.parallelDecode;
+        this.BatchWindow = builder.batchWindow;
+        this.BatchSize = builder.batchSize;
+        this.LoadWait = builder.loadWait;
+    }
+
+    /**
+     * 创建 Builder, 设置 tag、near 等可选配置
+     * 
+     * @param node   db 节点名称
+     * @param item   配置名称
+     * @param key    配置key
+     * @param expire 过期时间, 秒
+     * @param db     分配db
+     * @return Builder
+     */
+    public static Builder builder(String node, String item, String key, Integer expire, List<Integer> db) {
+        return new Builder(node, item, key, expire, db);
+    }
+
+    /**
+     * CacheKeyConfig 可选配置, 未设置为 null
+     */
+    public static final class Builder {
+        private String node;
+        private String item;
+        private String key;
+        private Integer expire;
+        private List<Integer> db;
+        private String tag;
+        private String dbHash;
+        private Integer nearSize;
+        private Integer nearExpire;
+        private String loadLock;
+        private String refresh;
+        private String jitter;
+        private Integer missExpire;
+        private String codec;
+        private Boolean scalar;
+        private String compress;
+        private Integer compressMin;
+        private Integer parallelDecode;
+        private Integer batchWindow;
+        private Integer batchSize;
+        private Integer loadWait;
+
+        private Builder(String node, String item, String key, Integer expire, List<Integer> db) {
+            this.node = node;
+            this.item = item;
+            this.key = key;
+            this.expire = expire;
+            this.db = db;
+        }
+
+        /**
+         * 集群 hash tag, key: 配置key 作为 tag; 参数序号: 0 或 0-1, 对应 key 参数段作为 tag
+         * 
+         * @param tag Tag
+         * @return this
+         */
+        public Builder tag(String tag) {
+            this.tag = tag;
+            return this;
+        }
+
+        /**
+         * db 分配算法, 空或 legacy: 字符累加取模; jump: jump consistent hash, 扩容只迁移约 1/n key;
+         * 
+         * @param dbHash DbHash
+         * @return this
+         */
+        public Builder dbHash(String dbHash) {
+            this.dbHash = dbHash;
+            return this;
+        }
+
+        /**
+         * 本地缓存最大数量, null 不启用本地缓存
+         * 
+         * @param nearSize NearSize
+         * @return this
+         */
+        public Builder nearSize(Integer nearSize) {
+            this.nearSize = nearSize;
+            return this;
+        }
+
+        /**
+         * 本地缓存过期时间, 秒
+         * 
+         * @param nearExpire NearExpire
+         * @return this
+         */
+        public Builder nearExpire(Integer nearExpire) {
+            this.nearExpire = nearExpire;
+            return this;
+        }
+
+        /**
+         * 加载租约锁, DistributedLockDb 节点下配置项名称; 多进程同一 key 未命中时只有一个进程加载
+         * 
+         * @param loadLock LoadLock
+         * @return this
+         */
+        public Builder loadLock(String loadLock) {
+            this.loadLock = loadLock;
+            return this;
+        }
+
+        /**
+         * 提前刷新, 已过 expire 比例 0-1, 如 0.8; ~0.8 表示从 0.8 开始按概率刷新, 越接近过期概率越大
+         * 
+         * @param refresh Refresh
+         * @return this
+         */
+        public Builder refresh(String refresh) {
+            this.refresh = refresh;
+            return this;
+        }
+
+        /**
+         * 过期时间随机抖动, 10% 按 expire 比例或 30 秒数; 实际过期时间 expire + [0, 抖动]
+         * 
+         * @param jitter Jitter
+         * @return this
+         */
+        public Builder jitter(String jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * 不存在标记过期时间, 秒; null 不缓存不存在
+         * 
+         * @param missExpire MissExpire
+         * @return this
+         */
+        public Builder missExpire(Integer missExpire) {
+            this.missExpire = missExpire;
+            return this;
+        }
+
+        /**
+         * 值编解码, null 使用 IJsonMapper
+         * 
+         * @param codec Codec
+         * @return this
+         */
+        public Builder codec(String codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * 未配置 codec 时基本类型包装类、String、enum、UUID 是否直接读写, false 全部经过 IJsonMapper; null 为 true
+         * 
+         * @param scalar Scalar
+         * @return this
+         */
+        public Builder scalar(Boolean scalar) {
+            this.scalar = scalar;
+            return this;
+        }
+
+        /**
+         * 值压缩算法, null 不压缩
+         * 
+         * @param compress Compress
+         * @return this
+         */
+        public Builder compress(String compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        /**
+         * 最小压缩字节数, null 使用默认
+         * 
+         * @param compressMin CompressMin
+         * @return this
+         */
+        public Builder compressMin(Integer compressMin) {
+            this.compressMin = compressMin;
+            return this;
+        }
+
+        /**
+         * 并行反序列化分块大小, 结果数量超过时按块并行, null 不并行
+         * 
+         * @param parallelDecode ParallelDecode
+         * @return this
+         */
+        public Builder parallelDecode(Integer parallelDecode) {
+            this.parallelDecode = parallelDecode;
+            return this;
+        }
+
+        /**
+         * 并发单 key 读取合并窗口, 微秒; null 不合并
+         * 
+         * @param batchWindow BatchWindow
+         * @return this
+         */
+        public Builder batchWindow(Integer batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * 并发单 key 读取合并最大数量, null 使用默认
+         * 
+         * @param batchSize BatchSize
+         * @return this
+         */
+        public Builder batchSize(Integer batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * 未取得加载租约时最多等待时间, 毫秒; null 使用默认, 不超过租约时间
+         * 
+         * @param loadWait LoadWait
+         * @return this
+         */
+        public Builder loadWait(Integer loadWait) {
+            this.loadWait = loadWait;
+            return this;
+        }
+
+        /**
+         * 创建 CacheKeyConfig
+         * 
+         * @return CacheKeyConfig
+         */
+        public CacheKeyConfig build() {
+            return new CacheKeyConfig(this);
+        }
     }
 }
@@ -0,0 +1,142 @@
+package cn.myafx.cache;
+
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.myafx.cache.base.BaseCache;
+import cn.myafx.cache.base.IBaseCache;
+
+/**
+ * 缓存类型注册, 缓存接口 -> 实现类;
+ * 内置类型按类名登记, 第一次获取时才加载, 不扫描 classpath
+ */
+public final class CacheTypeRegistry {
+    /**
+     * 内置缓存类型, 缓存接口, 实现类
+     */
+    private static final String[][] BUILTIN_TYPES = {
+            { "cn.myafx.cache.base.IRedisCache", "cn.myafx.cache.base.RedisCache" },
+            { "cn.myafx.cache.base.IStringCache", "cn.myafx.cache.base.StringCache" },
+            { "cn.myafx.cache.base.IHashCache", "cn.myafx.cache.base.HashCache" },
+            { "cn.myafx.cache.base.ISetCache", "cn.myafx.cache.base.SetCache" },
+            { "cn.myafx.cache.base.ISortSetCache", "cn.myafx.cache.base.SortSetCache" },
+            { "cn.myafx.cache.base.ILinkListCache", "cn.myafx.cache.base.LinkListCache" },
+            { "cn.myafx.cache.base.IGeoCache", "cn.myafx.cache.base.GeoCache" },
+            { "cn.myafx.cache.db.IDataDbCache", "cn.myafx.cache.db.DataDbCache" },
+            { "cn.myafx.cache.db.IDistributedLockDbCache", "cn.myafx.cache.db.DistributedLockDbCache" },
+            { "cn.myafx.cache.db.IGeoDbCache", "cn.myafx.cache.db.GeoDbCache" },
+            { "cn.myafx.cache.db.IHashDbCache", "cn.myafx.cache.db.HashDbCache" },
+            { "cn.myafx.cache.db.ILinkListDbCache", "cn.myafx.cache.db.LinkListDbCache" },
+            { "cn.myafx.cache.db.IParamDbCache", "cn.myafx.cache.db.ParamDbCache" },
+            { "cn.myafx.cache.db.ISessionDbCache", "cn.myafx.cache.db.SessionDbCache" },
+            { "cn.myafx.cache.db.ISetDbCache", "cn.myafx.cache.db.SetDbCache" },
+            { "cn.myafx.cache.db.ISortSetDbCache", "cn.myafx.cache.db.SortSetDbCache" },
+            { "cn.myafx.cache.async.IRedisCacheAsync", "cn.myafx.cache.async.RedisCacheAsync" },
+            { "cn.myafx.cache.async.IStringCacheAsync", "cn.myafx.cache.async.StringCacheAsync" },
+            { "cn.myafx.cache.async.IHashCacheAsync", "cn.myafx.cache.async.HashCacheAsync" },
+            { "cn.myafx.cache.async.ISetCacheAsync", "cn.myafx.cache.async.SetCacheAsync" },
+            { "cn.myafx.cache.async.ISortSetCacheAsync", "cn.myafx.cache.async.SortSetCacheAsync" },
+            { "cn.myafx.cache.async.ILinkListCacheAsync", "cn.myafx.cache.async.LinkListCacheAsync" },
+            { "cn.myafx.cache.async.IGeoCacheAsync", "cn.myafx.cache.async.GeoCacheAsync" },
+            { "cn.myafx.cache.reactive.IReactiveRedisCache", "cn.myafx.cache.reactive.ReactiveRedisCache" },
+            { "cn.myafx.cache.reactive.IReactiveStringCache", "cn.myafx.cache.reactive.ReactiveStringCache" },
+            { "cn.myafx.cache.reactive.IReactiveHashCache", "cn.myafx.cache.reactive.ReactiveHashCache" },
+            { "cn.myafx.cache.reactive.IReactiveSetCache", "cn.myafx.cache.reactive.ReactiveSetCache" },
+            { "cn.myafx.cache.reactive.IReactiveSortSetCache", "cn.myafx.cache.reactive.ReactiveSortSetCache" },
+            { "cn.myafx.cache.reactive.IReactiveLinkListCache", "cn.myafx.cache.reactive.ReactiveLinkListCache" },
+            { "cn.myafx.cache.reactive.IReactiveGeoCache", "cn.myafx.cache.reactive.ReactiveGeoCache" },
+    };
+
+    private final Map<String, String> nameMap = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Class<?>> classMap = new ConcurrentHashMap<>();
+
+    /**
+     * 空注册表
+     */
+    public CacheTypeRegistry() {
+    }
+
+    /**
+     * 内置缓存类型 及 ServiceLoader 加载的 ICacheTypeProvider 注册的类型
+     * 
+     * @return CacheTypeRegistry
+     * @throws Exception
+     */
+    public static CacheTypeRegistry createDefault() throws Exception {
+        var registry = new CacheTypeRegistry();
+        for (var t : BUILTIN_TYPES) {
+            registry.register(t[0], t[1]);
+        }
+        for (var provider : ServiceLoader.load(ICacheTypeProvider.class)) {
+            provider.register(registry);
+        }
+
+        return registry;
+    }
+
+    /**
+     * 按类名注册, 第一次获取时加载
+     * 
+     * @param interfaceName 缓存接口类名
+     * @param className     实现类名
+     * @throws Exception
+     */
+    public void register(String interfaceName, String className) throws Exception {
+        if (interfaceName == null || interfaceName.isEmpty())
+            throw new Exception("interfaceName is null!");
+        if (className == null || className.isEmpty())
+            throw new Exception("className is null!");
+        this.nameMap.put(interfaceName, className);
+    }
+
+    /**
+     * 注册缓存类型
+     * 
+     * @param <T>            缓存接口
+     * @param interfaceClass 缓存接口
+     * @param clazz          实现类, 继承 BaseCache
+     * @throws Exception
+     */
+    public <T extends IBaseCache> void register(Class<T> interfaceClass, Class<? extends T> clazz) throws Exception {
+        if (interfaceClass == null)
+            throw new Exception("interfaceClass is null!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        check(interfaceClass, clazz);
+        this.nameMap.remove(interfaceClass.getName());
+        this.classMap.put(interfaceClass, clazz);
+    }
+
+    private static void check(Class<?> interfaceClass, Class<?> clazz) throws Exception {
+        if (!interfaceClass.isInterface() || !IBaseCache.class.isAssignableFrom(interfaceClass))
+            throw new Exception("interfaceClass(" + interfaceClass.getName() + ") is error!");
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()) || !BaseCache.class.isAssignableFrom(clazz)
+                || !interfaceClass.isAssignableFrom(clazz))
+            throw new Exception("clazz(" + clazz.getName() + ") is error!");
+    }
+
+    /**
+     * 获取实现类
+     * 
+     * @param interfaceClass 缓存接口
+     * @return 未注册返回null
+     * @throws Exception
+     */
+    public Class<?> get(Class<?> interfaceClass) throws Exception {
+        if (interfaceClass == null)
+            throw new Exception("interfaceClass is null!");
+        var clazz = this.classMap.get(interfaceClass);
+        if (clazz != null)
+            return clazz;
+        var className = this.nameMap.get(interfaceClass.getName());
+        if (className == null)
+            return null;
+        clazz = Class.forName(className, false, interfaceClass.getClassLoader());
+        check(interfaceClass, clazz);
+        var old = this.classMap.putIfAbsent(interfaceClass, clazz);
+
+        return old != null ? old : clazz;
+    }
+}
@@ -0,0 +1,77 @@
+package cn.myafx.cache;
+
+/**
+ * 缓存读取结果, 区分未缓存、已缓存不存在标记 及 缓存值
+ */
+public final class CacheValue<T> {
+    private static final CacheValue<?> NONE = new CacheValue<>(false, null);
+    private static final CacheValue<?> MISSING = new CacheValue<>(true, null);
+
+    private final boolean cached;
+    private final T value;
+
+    private CacheValue(boolean cached, T value) {
+        this.cached = cached;
+        this.value = value;
+    }
+
+    /**
+     * 未缓存
+     * 
+     * @param <T> T
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CacheValue<T> none() {
+        return (CacheValue<T>) NONE;
+    }
+
+    /**
+     * 已缓存不存在标记
+     * 
+     * @param <T> T
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CacheValue<T> missing() {
+        return (CacheValue<T>) MISSING;
+    }
+
+    /**
+     * 缓存值, null 视为不存在
+     * 
+     * @param <T>   T
+     * @param value 缓存值
+     * @return
+     */
+    public static <T> CacheValue<T> of(T value) {
+        return value == null ? missing() : new CacheValue<>(true, value);
+    }
+
+    /**
+     * 是否已缓存, 包括不存在标记
+     * 
+     * @return
+     */
+    public boolean isCached() {
+        return this.cached;
+    }
+
+    /**
+     * 是否已缓存不存在标记, 无需再查询数据源
+     * 
+     * @return
+     */
+    public boolean isMissing() {
+        return this.cached && this.value == null;
+    }
+
+    /**
+     * 缓存值, 未缓存或不存在返回 null
+     * 
+     * @return
+     */
+    public T getValue() {
+        return this.value;
+    }
+}
@@ -0,0 +1,47 @@
+package cn.myafx.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 缓存值编解码, 直接读写 byte[], 不经过中间 String; 在 cache-key.xml 中通过 codec 配置
+ */
+public interface ICacheCodec {
+    /**
+     * 编码
+     * 
+     * @param value 非 byte[] 值
+     * @return
+     * @throws Exception
+     */
+    byte[] encode(Object value) throws Exception;
+
+    /**
+     * 解码
+     * 
+     * @param <T>    T
+     * @param buffer 非空 buffer
+     * @param clazz  clazz
+     * @return
+     * @throws Exception
+     */
+    <T> T decode(byte[] buffer, Class<T> clazz) throws Exception;
+
+    /**
+     * 解码, 完整 heap buffer 不复制
+     * 
+     * @param <T>    T
+     * @param buffer 非空 buffer
+     * @param clazz  clazz
+     * @return
+     * @throws Exception
+     */
+    default <T> T decode(ByteBuffer buffer, Class<T> clazz) throws Exception {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length)
+            return this.decode(buffer.array(), clazz);
+        var b = new byte[buffer.remaining()];
+        buffer.duplicate().get(b);
+
+        return this.decode(b, clazz);
+    }
+}
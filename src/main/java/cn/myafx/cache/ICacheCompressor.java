@@ -0,0 +1,34 @@
+package cn.myafx.cache;
+
+/**
+ * 缓存值压缩, 在 cache-key.xml 中通过 compress 配置;
+ * 压缩后的值以 getHeader() 一个字节开头, 读取总是按首字节识别, 未压缩的值可同时存在
+ */
+public interface ICacheCompressor {
+    /**
+     * 压缩值首字节, [1, 31], 不与 json 及文本首字符冲突, 不同算法不能相同
+     * 
+     * @return
+     */
+    byte getHeader();
+
+    /**
+     * 压缩
+     * 
+     * @param buffer 编码后的值
+     * @return 不含首字节
+     * @throws Exception
+     */
+    byte[] compress(byte[] buffer) throws Exception;
+
+    /**
+     * 解压
+     * 
+     * @param buffer 压缩值
+     * @param offset 开始位置, 已跳过首字节
+     * @param length 长度
+     * @return
+     * @throws Exception
+     */
+    byte[] decompress(byte[] buffer, int offset, int length) throws Exception;
+}
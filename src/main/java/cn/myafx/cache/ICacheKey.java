@@ -13,6 +13,12 @@ public interface ICacheKey {
      * @return
      */
     CacheKeyConfig get(String node, String item);
+
+    /**
+     * 全部配置
+     * @return 只读 list
+     */
+    List<CacheKeyConfig> all();
     /**
      * 获取key
      * @param node 节点
@@ -0,0 +1,15 @@
+package cn.myafx.cache;
+
+/**
+ * 自定义缓存类型注册, 通过 ServiceLoader 加载:
+ * META-INF/services/cn.myafx.cache.ICacheTypeProvider
+ */
+public interface ICacheTypeProvider {
+    /**
+     * 注册缓存类型
+     * 
+     * @param registry CacheTypeRegistry
+     * @throws Exception
+     */
+    void register(CacheTypeRegistry registry) throws Exception;
+}
@@ -0,0 +1,420 @@
+package cn.myafx.cache.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.DistUnit;
+import cn.myafx.cache.GeoInfo;
+import cn.myafx.cache.GeoPos;
+import cn.myafx.cache.GeoRadius;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.RadiusOptions;
+import cn.myafx.cache.Sort;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+import io.lettuce.core.GeoArgs;
+import io.lettuce.core.GeoCoordinates;
+import io.lettuce.core.GeoValue;
+import io.lettuce.core.GeoWithin;
+import io.lettuce.core.Range;
+
+/**
+ * geo 异步缓存
+ */
+public class GeoCacheAsync extends RedisCacheAsync implements IGeoCacheAsync {
+
+    /**
+     * GeoCacheAsync
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @throws Exception
+     */
+    public GeoCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param name 位置名称
+     * @param lon  经度
+     * @param lat  纬度
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addOrUpdateAsync(String name, double lon, double lat, Object... args)
+            throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        GeoPos.toPoint(lon, lat);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geoadd(cachekey, lon, lat, getBytes(name)), r -> r != null && r > 0);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param name 位置名称
+     * @param pos  位置
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addOrUpdateAsync(String name, GeoPos pos, Object... args) throws Exception {
+        if (pos == null)
+            throw new Exception("pos is null!");
+        return this.addOrUpdateAsync(name, pos.Lon, pos.Lat, args);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param m    GeoInfo
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addOrUpdateAsync(GeoInfo m, Object... args) throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+        return this.addOrUpdateAsync(m.Name, m.Position, args);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param list List GeoInfo
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public CompletableFuture<Long> addOrUpdateAsync(List<GeoInfo> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        GeoValue<byte[]>[] arr = new GeoValue[list.size()];
+        for (var i = 0; i < list.size(); i++) {
+            var gm = list.get(i);
+            if (gm == null)
+                throw new Exception("list item is null!");
+            if (gm.Name == null || gm.Name.isEmpty())
+                throw new Exception("list item.Name is null!");
+            if (gm.Position == null)
+                throw new Exception("list item.Position is null!");
+            arr[i] = GeoValue.just(gm.Position.Lon, gm.Position.Lat, getBytes(gm.Name));
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geoadd(cachekey, arr), r -> r == null ? 0 : r);
+    }
+
+    private GeoPos toGeoPos(GeoCoordinates c) throws Exception {
+        if (c == null)
+            return null;
+
+        return new GeoPos(c.getX().doubleValue(), c.getY().doubleValue());
+    }
+
+    /**
+     * 获取坐标
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return GeoPos
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<GeoPos> getAsync(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geopos(cachekey, getBytes(name)), rlist -> {
+            GeoPos m = null;
+            if (rlist != null && rlist.size() > 0)
+                m = toGeoPos(rlist.get(0));
+            return m;
+        });
+    }
+
+    /**
+     * 获取坐标
+     * 
+     * @param names 位置名称 List
+     * @param args  key 参数
+     * @return List GeoPos
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<GeoPos>> getAsync(List<String> names, Object... args) throws Exception {
+        if (names == null)
+            throw new Exception("names is null!");
+        if (names.size() == 0)
+            return CompletableFuture.completedFuture(new ArrayList<>(0));
+        var marr = new byte[names.size()][];
+        for (var i = 0; i < names.size(); i++) {
+            var name = names.get(i);
+            if (name == null || name.isEmpty())
+                throw new Exception("name is null!");
+            marr[i] = getBytes(name);
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geopos(cachekey, marr), rlist -> {
+            List<GeoPos> list = null;
+            if (rlist != null) {
+                list = new ArrayList<GeoPos>(rlist.size());
+                for (var p : rlist) {
+                    list.add(toGeoPos(p));
+                }
+            }
+            return list;
+        });
+    }
+
+    private GeoArgs.Unit getUnit(DistUnit unit) {
+        switch (unit) {
+            case km:
+                return GeoArgs.Unit.km;
+            case mi:
+                return GeoArgs.Unit.mi;
+            case ft:
+                return GeoArgs.Unit.ft;
+            case m:
+            default:
+                return GeoArgs.Unit.m;
+        }
+    }
+
+    /**
+     * 计算距离
+     * 
+     * @param firstName  第一个坐标点名称
+     * @param secondName 第二个坐标点名称
+     * @param unit       距离单位
+     * @param args       key 参数
+     * @return 坐标不存在返回null
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Double> getDistAsync(String firstName, String secondName, DistUnit unit,
+            Object... args) throws Exception {
+        if (firstName == null || firstName.isEmpty())
+            throw new Exception("firstName is null!");
+        if (secondName == null || secondName.isEmpty())
+            throw new Exception("secondName is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geodist(cachekey, getBytes(firstName), getBytes(secondName), getUnit(unit)),
+                r -> r);
+    }
+
+    /**
+     * 获取GeoHash
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<String> getGeoHashAsync(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geohash(cachekey, getBytes(name)),
+                rlist -> rlist != null && rlist.size() > 0 ? rlist.get(0).getValueOrElse(null) : null);
+    }
+
+    /**
+     * 获取GeoHash
+     * 
+     * @param names 位置名称 List
+     * @param args  key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<String>> getGeoHashAsync(List<String> names, Object... args) throws Exception {
+        if (names == null)
+            throw new Exception("names is null!");
+        if (names.size() == 0)
+            return CompletableFuture.completedFuture(new ArrayList<>(0));
+        var marr = new byte[names.size()][];
+        for (var i = 0; i < names.size(); i++) {
+            var name = names.get(i);
+            if (name == null || name.isEmpty())
+                throw new Exception("name is null!");
+            marr[i] = getBytes(name);
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.geohash(cachekey, marr), rlist -> {
+            List<String> list = null;
+            if (rlist != null) {
+                list = new ArrayList<>(rlist.size());
+                for (var v : rlist) {
+                    list.add(v.getValueOrElse(null));
+                }
+            }
+            return list;
+        });
+    }
+
+    /**
+     * 删除位置点
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zrem(cachekey, getBytes(name)), r -> r != null && r > 0);
+    }
+
+    private GeoArgs getOption(int radiusOptions, int count, Sort sort) {
+        var op = new GeoArgs();
+        if (radiusOptions == RadiusOptions.None
+                || (radiusOptions & RadiusOptions.WithCoordinates) == RadiusOptions.WithCoordinates)
+            op.withCoordinates();
+        if (radiusOptions == RadiusOptions.None
+                || (radiusOptions & RadiusOptions.WithDistance) == RadiusOptions.WithDistance)
+            op.withDistance();
+        if (count > 0)
+            op.withCount(count);
+        if (sort == Sort.Asc)
+            op.asc();
+        else
+            op.desc();
+
+        return op;
+    }
+
+    private List<GeoRadius> toRadiusList(List<GeoWithin<byte[]>> rlist) throws Exception {
+        List<GeoRadius> list = null;
+        if (rlist != null) {
+            list = new ArrayList<>(rlist.size());
+            for (var gr : rlist) {
+                GeoRadius m = null;
+                if (gr != null) {
+                    String rname = getString(gr.getMember());
+                    Double rdistance = gr.getDistance();
+                    GeoPos rposition = toGeoPos(gr.getCoordinates());
+                    m = new GeoRadius(rname, rdistance, rposition);
+                }
+                list.add(m);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * 查询指定位置名称半径内的位置
+     * 
+     * @param name          位置名称
+     * @param radius        半径
+     * @param unit          半径单位
+     * @param count         返回数量， -1返回所有
+     * @param sort          排序，Asc 由近到远
+     * @param radiusOptions 返回数据选项
+     * @param args          key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<GeoRadius>> getRadiusAsync(String name, double radius, DistUnit unit, int count,
+            Sort sort, int radiusOptions, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        if (radius < 0)
+            throw new Exception("radius = " + radius + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        var op = this.getOption(radiusOptions, count, sort);
+
+        return map(commands.georadiusbymember(cachekey, getBytes(name), radius, getUnit(unit), op),
+                rlist -> toRadiusList(rlist));
+    }
+
+    /**
+     * 查询指定坐标半径内的位置
+     * 
+     * @param lon           经度
+     * @param lat           纬度
+     * @param radius        半径
+     * @param unit          半径单位
+     * @param count         返回数量， -1返回所有
+     * @param sort          排序，Asc 由近到远
+     * @param radiusOptions 返回数据选项
+     * @param args          key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<GeoRadius>> getRadiusAsync(double lon, double lat, double radius, DistUnit unit,
+            int count, Sort sort, int radiusOptions, Object... args) throws Exception {
+        GeoPos.toPoint(lon, lat);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        var op = this.getOption(radiusOptions, count, sort);
+
+        return map(commands.georadius(cachekey, lon, lat, radius, getUnit(unit), op),
+                rlist -> toRadiusList(rlist));
+    }
+
+    /**
+     * 查询geo集合数量
+     * 
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> getCountAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zcount(cachekey, Range.create(Double.MIN_VALUE, Double.MAX_VALUE)),
+                count -> count == null ? 0 : count);
+    }
+}
@@ -0,0 +1,342 @@
+package cn.myafx.cache.async;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+
+/**
+ * hash 异步缓存
+ */
+public class HashCacheAsync<TField, TValue> extends RedisCacheAsync implements IHashCacheAsync<TField, TValue> {
+    protected Class<TField> fieldClass;
+    protected Class<TValue> valueClass;
+
+    /**
+     * HashCacheAsync
+     * 
+     * @param node       缓存key配置db节点
+     * @param item       缓存key配置项
+     * @param provider   IRedisConnectionProvider
+     * @param cacheKey   ICacheKey
+     * @param prefix     缓存前缀
+     * @param fieldClass TField.class
+     * @param valueClass TValue.class
+     * @throws Exception
+     */
+    public HashCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<TField> fieldClass, Class<TValue> valueClass) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (fieldClass == null)
+            throw new Exception("fieldClass is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+        this.fieldClass = fieldClass;
+        this.valueClass = valueClass;
+        this.enableNearInvalidate();
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param field hash key
+     * @param value hash value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> setAsync(TField field, TValue value, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, cachekey,
+                map(commands.hset(cachekey, serialize(field), serialize(value)), r -> r != null));
+    }
+
+    /**
+     * 添加或更新数据, value 为 null 的 hash key 删除; 按 CHUNK_SIZE 分多个 HSET、HDEL 命令
+     * 
+     * @param map  Map
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Void> addOrUpdateAsync(Map<TField, TValue> map, Object... args) throws Exception {
+        if (map == null)
+            throw new Exception("map is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        List<CompletableFuture<?>> list = new ArrayList<>();
+        Map<byte[], byte[]> hmap = new HashMap<>();
+        List<byte[]> dels = new ArrayList<>();
+        for (var h : map.entrySet()) {
+            if (h.getKey() == null)
+                throw new Exception("map.key is null!");
+            if (h.getValue() == null) {
+                dels.add(serialize(h.getKey()));
+                if (dels.size() == CHUNK_SIZE) {
+                    list.add(commands.hdel(cachekey, dels.toArray(new byte[dels.size()][])).toCompletableFuture());
+                    dels = new ArrayList<>();
+                }
+            } else {
+                hmap.put(serialize(h.getKey()), serialize(h.getValue()));
+                if (hmap.size() == CHUNK_SIZE) {
+                    list.add(commands.hset(cachekey, hmap).toCompletableFuture());
+                    hmap = new HashMap<>();
+                }
+            }
+        }
+        if (hmap.size() > 0)
+            list.add(commands.hset(cachekey, hmap).toCompletableFuture());
+        if (dels.size() > 0)
+            list.add(commands.hdel(cachekey, dels.toArray(new byte[dels.size()][])).toCompletableFuture());
+
+        return invalidate(commands, cachekey,
+                CompletableFuture.allOf(list.toArray(new CompletableFuture<?>[list.size()])));
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Map<TField, TValue>> getAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hgetall(cachekey), rmap -> {
+            Map<TField, TValue> m = null;
+            if (rmap != null) {
+                m = new HashMap<>(rmap.size());
+                for (var hm : rmap.entrySet()) {
+                    m.put(deserialize(hm.getKey(), fieldClass), deserialize(hm.getValue(), valueClass));
+                }
+            }
+            return m;
+        });
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<TValue> getValueAsync(TField field, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hget(cachekey, serialize(field)), r -> deserialize(r, valueClass));
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param fields hash key
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<TValue>> getValueAsync(List<TField> fields, Object... args) throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        if (fields.size() == 0)
+            return CompletableFuture.completedFuture(new ArrayList<TValue>(0));
+        byte[][] karr = new byte[fields.size()][];
+        for (int i = 0; i < fields.size(); i++) {
+            var k = fields.get(i);
+            if (k == null)
+                throw new Exception("fields item is null!");
+            karr[i] = serialize(k);
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hmget(cachekey, karr), r -> {
+            List<TValue> list = null;
+            if (r != null) {
+                list = new ArrayList<>(r.size());
+                for (var kv : r) {
+                    list.add(deserialize(kv.getValueOrElse(null), valueClass));
+                }
+            }
+            return list;
+        });
+    }
+
+    /**
+     * 获取hash key
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<TField>> getFieldsAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hkeys(cachekey), r -> toList(r, fieldClass));
+    }
+
+    /**
+     * 获取hash value
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<TValue>> getValuesAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hvals(cachekey), r -> toList(r, valueClass));
+    }
+
+    /**
+     * 获取hash key 数量
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> getCountAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hlen(cachekey), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 是否存在hash key
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> existsAsync(TField field, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.hexists(cachekey, serialize(field)), r -> r == null ? false : r);
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(TField field, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, cachekey,
+                map(commands.hdel(cachekey, serialize(field)), r -> r != null && r > 0));
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param fields hash key
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteAsync(List<TField> fields, Object... args) throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        if (fields.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        byte[][] karr = new byte[fields.size()][];
+        for (int i = 0; i < fields.size(); i++) {
+            var k = fields.get(i);
+            if (k == null)
+                throw new Exception("fields item is null!");
+            karr[i] = serialize(k);
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, cachekey, map(commands.hdel(cachekey, karr), r -> r == null ? 0 : r));
+    }
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> incrementAsync(TField field, long incrementValue, Object... args)
+            throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, cachekey,
+                map(commands.hincrby(cachekey, serialize(field), incrementValue), r -> r == null ? 0 : r));
+    }
+
+    /**
+     * hash value 原子自减，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param decrementValue 自减量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> decrementAsync(TField field, long decrementValue, Object... args)
+            throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, cachekey,
+                map(commands.hincrby(cachekey, serialize(field), -decrementValue), r -> r == null ? 0 : r));
+    }
+}
@@ -0,0 +1,162 @@
+package cn.myafx.cache.async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.DistUnit;
+import cn.myafx.cache.GeoInfo;
+import cn.myafx.cache.GeoPos;
+import cn.myafx.cache.GeoRadius;
+import cn.myafx.cache.Sort;
+
+/**
+ * geo 异步接口
+ */
+public interface IGeoCacheAsync extends IRedisCacheAsync {
+        /**
+         * 添加位置或更新
+         * 
+         * @param name 位置名称
+         * @param lon  经度
+         * @param lat  纬度
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Boolean> addOrUpdateAsync(String name, double lon, double lat, Object... args) throws Exception;
+
+        /**
+         * 添加位置或更新
+         * 
+         * @param name 位置名称
+         * @param pos  位置
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Boolean> addOrUpdateAsync(String name, GeoPos pos, Object... args) throws Exception;
+
+        /**
+         * 添加位置或更新
+         * 
+         * @param m    GeoInfo
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Boolean> addOrUpdateAsync(GeoInfo m, Object... args) throws Exception;
+
+        /**
+         * 添加位置或更新
+         * 
+         * @param list List GeoInfo
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Long> addOrUpdateAsync(List<GeoInfo> list, Object... args) throws Exception;
+
+        /**
+         * 获取坐标
+         * 
+         * @param name 位置名称
+         * @param args key 参数
+         * @return GeoPos
+         * @throws Exception
+         */
+        CompletableFuture<GeoPos> getAsync(String name, Object... args) throws Exception;
+
+        /**
+         * 获取坐标
+         * 
+         * @param names 位置名称 List
+         * @param args  key 参数
+         * @return List GeoPos
+         * @throws Exception
+         */
+        CompletableFuture<List<GeoPos>> getAsync(List<String> names, Object... args) throws Exception;
+
+        /**
+         * 计算距离
+         * 
+         * @param firstName  第一个坐标点名称
+         * @param secondName 第二个坐标点名称
+         * @param unit       距离单位
+         * @param args       key 参数
+         * @return 坐标不存在返回null
+         * @throws Exception
+         */
+        CompletableFuture<Double> getDistAsync(String firstName, String secondName, DistUnit unit, Object... args) throws Exception;
+
+        /**
+         * 获取GeoHash
+         * 
+         * @param name 位置名称
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<String> getGeoHashAsync(String name, Object... args) throws Exception;
+
+        /**
+         * 获取GeoHash
+         * 
+         * @param names 位置名称 List
+         * @param args  key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<List<String>> getGeoHashAsync(List<String> names, Object... args) throws Exception;
+
+        /**
+         * 删除位置点
+         * 
+         * @param name 位置名称
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Boolean> deleteAsync(String name, Object... args) throws Exception;
+
+        /**
+         * 查询指定位置名称半径内的位置
+         * 
+         * @param name          位置名称
+         * @param radius        半径
+         * @param unit          半径单位
+         * @param count         返回数量， -1返回所有
+         * @param sort          排序，Asc 由近到远
+         * @param radiusOptions 返回数据选项
+         * @param args          key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<List<GeoRadius>> getRadiusAsync(String name, double radius, DistUnit unit, int count, Sort sort, int radiusOptions,
+                        Object... args) throws Exception;
+
+        /**
+         * 查询指定坐标半径内的位置
+         * 
+         * @param lon           经度
+         * @param lat           纬度
+         * @param radius        半径
+         * @param unit          半径单位
+         * @param count         返回数量， -1返回所有
+         * @param sort          排序，Asc 由近到远
+         * @param radiusOptions 返回数据选项
+         * @param args          key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<List<GeoRadius>> getRadiusAsync(double lon, double lat, double radius, DistUnit unit, int count, Sort sort,
+                        int radiusOptions, Object... args) throws Exception;
+
+        /**
+         * 查询geo集合数量
+         * 
+         * @param args key 参数
+         * @return
+         * @throws Exception
+         */
+        CompletableFuture<Long> getCountAsync(Object... args) throws Exception;
+}
@@ -0,0 +1,126 @@
+package cn.myafx.cache.async;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+
+/**
+ * hash 异步接口
+ */
+public interface IHashCacheAsync<TField, TValue> extends IRedisCacheAsync {
+    /**
+     * 添加或更新数据
+     * @param field hash key
+     * @param value hash value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> setAsync(TField field, TValue value, Object... args) throws Exception;
+
+    /**
+     * 添加或更新数据
+     * @param map Map
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    CompletableFuture<Void> addOrUpdateAsync(Map<TField, TValue> map, Object... args) throws Exception;
+    /**
+     * 获取数据
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Map<TField, TValue>> getAsync(Object... args) throws Exception;
+
+    /**
+     * 获取数据
+     * @param field hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<TValue> getValueAsync(TField field, Object... args) throws Exception;
+
+    /**
+     * 获取数据
+     * @param fields hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<TValue>> getValueAsync(List<TField> fields, Object... args) throws Exception;
+
+    /**
+     * 获取hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<TField>> getFieldsAsync(Object... args) throws Exception;
+
+    /**
+     * 获取hash value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<TValue>> getValuesAsync(Object... args) throws Exception;
+
+    /**
+     * 获取hash key 数量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> getCountAsync(Object... args) throws Exception;
+
+    /**
+     * 是否存在hash key
+     * @param field hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> existsAsync(TField field, Object... args) throws Exception;
+
+    /**
+     * 移除hash key
+     * @param field hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> deleteAsync(TField field, Object... args) throws Exception;
+
+    /**
+     * 移除hash key
+     * @param fields hash key
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> deleteAsync(List<TField> fields, Object... args) throws Exception;
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * @param field hash key
+     * @param incrementValue 增量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> incrementAsync(TField field, long incrementValue, Object... args) throws Exception;
+
+    /**
+     * hash value 原子自减，TValue 必须是 long、int类型
+     * @param field hash key
+     * @param decrementValue 自减量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> decrementAsync(TField field, long decrementValue, Object... args) throws Exception;
+
+}
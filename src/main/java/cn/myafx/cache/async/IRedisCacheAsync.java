@@ -0,0 +1,47 @@
+package cn.myafx.cache.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.base.IBaseCache;
+
+/**
+ * redis 异步缓存接口
+ */
+public interface IRedisCacheAsync extends IBaseCache {
+    /**
+     * 缓存key是否存在
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> containsAsync(Object[] args) throws Exception;
+
+    /**
+     * 移除缓存
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> removeAsync(Object[] args) throws Exception;
+
+    /**
+     * 设置缓存有效时间
+     * 
+     * @param expireSeconds 缓存有效时间, 秒
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> expireAsync(Integer expireSeconds, Object[] args) throws Exception;
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> expireAsync(Object[] args) throws Exception;
+}
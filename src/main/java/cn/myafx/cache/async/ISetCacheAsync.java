@@ -0,0 +1,139 @@
+package cn.myafx.cache.async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.SetOp;
+
+/**
+ * set 集合 异步接口
+ */
+public interface ISetCacheAsync<T> extends IValueCacheAsync<T> {
+
+    /**
+     * 添加数据
+     * @param value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> addAsync(T value, Object... args) throws Exception;
+
+    /**
+     * 添加数据
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> addAsync(List<T> list, Object... args) throws Exception;
+
+    /**
+     * 获取集合
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<T>> getAsync(Object... args) throws Exception;
+
+    /**
+     * 两个集合运算，返回运算结果
+     * @param firstArgs 第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op 操作
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<T>> joinAsync(Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception;
+
+    /**
+     * 两个集合运算，并将运算结果存储到新集合
+     * @param addArgs 新集合缓存key参数
+     * @param firstArgs 第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op 操作
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> joinAndAddAsync(Object[] addArgs, Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception;
+
+    /**
+     * value是否存在
+     * @param value value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> existAsync(T value, Object... args) throws Exception;
+
+    /**
+     * 集合数量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> getCountAsync(Object... args) throws Exception;
+
+    /**
+     * 移动一个已存在对象到新集合
+     * @param sourceArgs 源集合缓存key参数
+     * @param desArgs 需要移到新集合缓存key参数
+     * @param value 移动对象
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> moveAsync(Object[] sourceArgs, Object[] desArgs, T value) throws Exception;
+
+    /**
+     * 返回并移除一个集合对象
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<T> popAsync(Object... args) throws Exception;
+
+    /**
+     * 返回并移除集合对象
+     * @param count 数量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<T>> popAsync(int count, Object... args) throws Exception;
+    
+    /**
+     * 随机返回一个对象
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<T> getRandomValueAsync(Object... args) throws Exception;
+ 
+    /**
+     * 随机返回对象
+     * @param count 数量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<List<T>> getRandomValueAsync(int count, Object... args) throws Exception;
+
+    /**
+     * 移除对象
+     * @param value value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> deleteAsync(T value, Object... args) throws Exception;
+ 
+    /**
+     * 移除对象
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> deleteAsync(List<T> list, Object... args) throws Exception;
+
+}
@@ -0,0 +1,58 @@
+package cn.myafx.cache.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.OpWhen;
+
+/**
+ * string key value 异步接口
+ */
+public interface IStringCacheAsync<T> extends IValueCacheAsync<T> {
+
+    /**
+     * 获取缓存
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<T> getAsync(Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> setAsync(T m, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Boolean> setAsync(T m, int expireSeconds, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * @param incrementValue 增量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> incrementAsync(long incrementValue, Object... args) throws Exception;
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * @param decrementValue 减量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CompletableFuture<Long> decrementAsync(long decrementValue, Object... args) throws Exception;
+}
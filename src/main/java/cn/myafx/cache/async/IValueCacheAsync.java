@@ -0,0 +1,5 @@
+package cn.myafx.cache.async;
+
+public abstract interface IValueCacheAsync<T> extends IRedisCacheAsync {
+
+}
@@ -0,0 +1,328 @@
+package cn.myafx.cache.async;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+
+/**
+ * 链表 异步缓存
+ */
+public class LinkListCacheAsync<T> extends RedisCacheAsync implements ILinkListCacheAsync<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * LinkListCacheAsync
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public LinkListCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    private byte[][] toArray(List<T> list) throws Exception {
+        byte[][] arr = new byte[list.size()][];
+        for (int i = 0; i < list.size(); i++) {
+            var v = list.get(i);
+            if (v == null)
+                throw new Exception("list item is null!");
+            arr[i] = serialize(v);
+        }
+
+        return arr;
+    }
+
+    /**
+     * 添加到左边第一个
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> pushLeftAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lpush(cachekey, serialize(value)), r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 添加到左边第一个
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> pushLeftAsync(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var arr = toArray(list);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lpush(cachekey, arr), r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 添加到右边第一个
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> pushRightAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.rpush(cachekey, serialize(value)), r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 添加到右边第一个
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> pushRightAsync(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var arr = toArray(list);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.rpush(cachekey, arr), r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 获取指定索引位置数据
+     * 
+     * @param index 索引位置
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> getAsync(long index, Object... args) throws Exception {
+        if (index < 0)
+            throw new Exception("index = " + index + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lindex(cachekey, index), r -> deserialize(r, clazz));
+    }
+
+    /**
+     * 获取一个范围数据
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置，-1.全部
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> getRangeAsync(long start, long stop, Object... args) throws Exception {
+        if (start < 0)
+            throw new Exception("start = " + start + " is error!");
+        if (stop != -1 && stop < start)
+            throw new Exception("stop = " + stop + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lrange(cachekey, start, stop), r -> toList(r, clazz));
+    }
+
+    /**
+     * 插入到那个value后面
+     * 
+     * @param pivot 要插入到那个value后面
+     * @param value 插入value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> insertAfterAsync(T pivot, T value, Object... args) throws Exception {
+        if (pivot == null)
+            throw new Exception("pivot is null!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.linsert(cachekey, false, serialize(pivot), serialize(value)),
+                r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 插入到那个value前面
+     * 
+     * @param pivot 要插入到那个value前面
+     * @param value 插入value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> insertBeforeAsync(T pivot, T value, Object... args) throws Exception {
+        if (pivot == null)
+            throw new Exception("pivot is null!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.linsert(cachekey, true, serialize(pivot), serialize(value)),
+                r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 返回并移除左边第一个
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> popLeftAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lpop(cachekey), r -> deserialize(r, clazz));
+    }
+
+    /**
+     * 返回并移除右边第一个
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> popRightAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.rpop(cachekey), r -> deserialize(r, clazz));
+    }
+
+    /**
+     * 更新
+     * 
+     * @param index 位置
+     * @param value 更新后value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> updateAsync(long index, T value, Object... args) throws Exception {
+        if (index < 0)
+            throw new Exception("index=" + index + " is error!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lset(cachekey, index, serialize(value)), r -> true);
+    }
+
+    /**
+     * 移除数据
+     * 
+     * @param value 要删除的value
+     * @param count 匹配数据个数，0.匹配所有
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteAsync(T value, long count, Object... args) throws Exception {
+        if (count < 0)
+            throw new Exception("count=" + count + " is error!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.lrem(cachekey, count, serialize(value)), r -> r == null ? -1 : r);
+    }
+
+    /**
+     * 移除指定区域之外的所有数据
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param args  缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Void> trimAsync(long start, long stop, Object... args) throws Exception {
+        if (start < 0)
+            throw new Exception("start=" + start + " is error!");
+        if (stop < start)
+            throw new Exception("stop=" + stop + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.ltrim(cachekey, start, stop), r -> null);
+    }
+
+    /**
+     * 获取链表长度
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> getCountAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.llen(cachekey), r -> r == null ? 0 : r);
+    }
+}
@@ -0,0 +1,209 @@
+package cn.myafx.cache.async;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.BaseCache;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+
+/**
+ * redis 异步缓存, 基于 lettuce 异步命令, 不阻塞调用线程
+ */
+public class RedisCacheAsync extends BaseCache implements IRedisCacheAsync {
+    /**
+     * redis 连接提供
+     */
+    protected IRedisConnectionProvider provider;
+    /**
+     * 本地缓存失效通知频道, string、hash 配置 near 时写入后通知, 其他为 null
+     */
+    protected byte[] nearChannel;
+
+    /**
+     * 结果转换
+     */
+    @FunctionalInterface
+    protected interface IDecoder<R, T> {
+        T decode(R r) throws Exception;
+    }
+
+    /**
+     * RedisCacheAsync
+     *
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider, 必须是 lettuce 连接
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @throws Exception
+     */
+    public RedisCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix) throws Exception {
+        super(node, item, cacheKey, prefix);
+        if (provider == null)
+            throw new Exception("provider is null !");
+        this.provider = provider;
+    }
+
+    /**
+     * 获取 db 异步命令
+     * 
+     * @param db db
+     * @return RedisClusterAsyncCommands
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    protected RedisClusterAsyncCommands<byte[], byte[]> getCommands(int db) throws Exception {
+        var c = this.provider.getConnection(db).getNativeConnection();
+        if (c instanceof RedisClusterAsyncCommands<?, ?> commands)
+            return (RedisClusterAsyncCommands<byte[], byte[]>) commands;
+
+        throw new Exception("redis connection(" + (c == null ? "null" : c.getClass().getName())
+                + ") is not lettuce async commands!");
+    }
+
+    /**
+     * 配置 near 时写入后通知同步缓存移除本地缓存
+     * 
+     * @throws Exception
+     */
+    protected void enableNearInvalidate() throws Exception {
+        this.nearChannel = this.getNearChannel();
+    }
+
+    /**
+     * 写入完成后 (含失败, 可能已部分写入) 通知移除本地缓存, 通知完成后返回写入结果
+     * 
+     * @param <T>      T
+     * @param commands 写入 key 的 db 异步命令
+     * @param cachekey 完整缓存key
+     * @param future   写入结果
+     * @return
+     */
+    protected <T> CompletableFuture<T> invalidate(RedisClusterAsyncCommands<byte[], byte[]> commands,
+            byte[] cachekey, CompletableFuture<T> future) {
+        var channel = this.nearChannel;
+        if (channel == null)
+            return future;
+        var result = new CompletableFuture<T>();
+        future.whenComplete((r, ex) -> commands.publish(channel, cachekey).whenComplete((n, e) -> {
+            if (ex != null)
+                result.completeExceptionally(ex);
+            else if (e != null)
+                result.completeExceptionally(e);
+            else
+                result.complete(r);
+        }));
+
+        return result;
+    }
+
+    /**
+     * 转换结果
+     * 
+     * @param <R>     redis 返回类型
+     * @param <T>     结果类型
+     * @param future  RedisFuture
+     * @param decoder 转换
+     * @return
+     */
+    protected <R, T> CompletableFuture<T> map(RedisFuture<R> future, IDecoder<R, T> decoder) {
+        return future.toCompletableFuture().thenApply(r -> {
+            try {
+                return decoder.decode(r);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    /**
+     * 反序列化集合
+     * 
+     * @param <T>   T
+     * @param r     redis 返回集合
+     * @param clazz clazz
+     * @return
+     * @throws Exception
+     */
+    protected <T> List<T> toList(Collection<byte[]> r, Class<T> clazz) throws Exception {
+        List<T> list = null;
+        if (r != null) {
+            list = new ArrayList<>(r.size());
+            for (var b : r) {
+                list.add(deserialize(b, clazz));
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> removeAsync(Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, key, map(commands.del(key), r -> r != null && r > 0));
+    }
+
+    /**
+     * 缓存key是否存在
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> containsAsync(Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var commands = this.getCommands(db);
+
+        return map(commands.exists(key), r -> r != null && r > 0);
+    }
+
+    /**
+     * 设置缓存有效时间
+     *
+     * @param expireSeconds 缓存有效时间, 秒
+     * @param args          缓存key参数
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> expireAsync(Integer expireSeconds, Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var commands = this.getCommands(db);
+
+        var r = expireSeconds != null && expireSeconds > 0
+                ? commands.expire(key, expireSeconds)
+                : commands.persist(key);
+
+        return invalidate(commands, key, map(r, v -> v == null ? false : v));
+    }
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public CompletableFuture<Boolean> expireAsync(Object[] args) throws Exception {
+        return this.expireAsync(this.getExpire(), args);
+    }
+}
@@ -0,0 +1,341 @@
+package cn.myafx.cache.async;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.SetOp;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+import io.lettuce.core.RedisFuture;
+
+/**
+ * set 集合 异步缓存
+ */
+public class SetCacheAsync<T> extends RedisCacheAsync implements ISetCacheAsync<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * SetCacheAsync
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public SetCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    /**
+     * 添加数据
+     * 
+     * @param value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.sadd(cachekey, serialize(value)), r -> r != null && r > 0);
+    }
+
+    /**
+     * 添加数据
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> addAsync(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        byte[][] arr = new byte[list.size()][];
+        for (var i = 0; i < list.size(); i++) {
+            var m = list.get(i);
+            if (m == null)
+                throw new Exception("list item is null!");
+            arr[i] = serialize(m);
+        }
+
+        return map(commands.sadd(cachekey, arr), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> getAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.smembers(cachekey), r -> toList(r, clazz));
+    }
+
+    /**
+     * 两个集合运算，返回运算结果
+     * 
+     * @param firstArgs  第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op         操作
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> joinAsync(Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception {
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
+        int db = this.getCacheDb(firstCachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<Set<byte[]>> r = null;
+        switch (op) {
+            case Union:
+                r = commands.sunion(firstCachekey, secondCachekey);
+                break;
+            case Intersect:
+                r = commands.sinter(firstCachekey, secondCachekey);
+                break;
+            case Difference:
+                r = commands.sdiff(firstCachekey, secondCachekey);
+                break;
+        }
+        if (r == null)
+            return CompletableFuture.completedFuture(null);
+
+        return map(r, v -> toList(v, clazz));
+    }
+
+    /**
+     * 两个集合运算，并将运算结果存储到新集合
+     * 
+     * @param addArgs    新集合缓存key参数
+     * @param firstArgs  第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op         操作
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> joinAndAddAsync(Object[] addArgs, Object[] firstArgs, Object[] secondArgs,
+            SetOp op) throws Exception {
+        var addCachekey = this.getCacheKeyBytes(addArgs);
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
+        int db = this.getCacheDb(firstCachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<Long> r = null;
+        switch (op) {
+            case Union:
+                r = commands.sunionstore(addCachekey, firstCachekey, secondCachekey);
+                break;
+            case Intersect:
+                r = commands.sinterstore(addCachekey, firstCachekey, secondCachekey);
+                break;
+            case Difference:
+                r = commands.sdiffstore(addCachekey, firstCachekey, secondCachekey);
+                break;
+        }
+        if (r == null)
+            return CompletableFuture.completedFuture(0L);
+
+        return map(r, v -> v == null ? 0 : v);
+    }
+
+    /**
+     * value是否存在
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> existAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.sismember(cachekey, serialize(value)), r -> r == null ? false : r);
+    }
+
+    /**
+     * 集合数量
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> getCountAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.scard(cachekey), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 移动一个已存在对象到新集合
+     * 
+     * @param sourceArgs 源集合缓存key参数
+     * @param desArgs    需要移到新集合缓存key参数
+     * @param value      移动对象
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> moveAsync(Object[] sourceArgs, Object[] desArgs, T value) throws Exception {
+        var sourceCachekey = this.getCacheKeyBytes(sourceArgs);
+        var desCachekey = this.getCacheKeyBytes(desArgs);
+        int db = this.getCacheDb(sourceCachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.smove(sourceCachekey, desCachekey, serialize(value)),
+                r -> r == null ? false : r);
+    }
+
+    /**
+     * 返回并移除一个集合对象
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> popAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.spop(cachekey), r -> deserialize(r, clazz));
+    }
+
+    /**
+     * 返回并移除集合对象
+     * 
+     * @param count 数量
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> popAsync(int count, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.spop(cachekey, count), r -> toList(r, clazz));
+    }
+
+    /**
+     * 随机返回一个对象
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> getRandomValueAsync(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.srandmember(cachekey), r -> deserialize(r, clazz));
+    }
+
+    /**
+     * 随机返回对象
+     * 
+     * @param count 数量
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> getRandomValueAsync(int count, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.srandmember(cachekey, count), r -> toList(r, clazz));
+    }
+
+    /**
+     * 移除对象
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.srem(cachekey, serialize(value)), r -> r != null && r > 0);
+    }
+
+    /**
+     * 移除对象
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteAsync(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        byte[][] arr = new byte[list.size()][];
+        for (var i = 0; i < list.size(); i++) {
+            var m = list.get(i);
+            if (m == null)
+                throw new Exception("list item is null!");
+            arr[i] = serialize(m);
+        }
+
+        return map(commands.srem(cachekey, arr), r -> r == null ? 0 : r);
+    }
+}
@@ -0,0 +1,481 @@
+package cn.myafx.cache.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.ExcludeType;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.Sort;
+import cn.myafx.cache.SortSetModel;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.Range.Boundary;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.ZAddArgs;
+
+/**
+ * 有序集合 异步缓存
+ */
+public class SortSetCacheAsync<T> extends RedisCacheAsync implements ISortSetCacheAsync<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * SortSetCacheAsync
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public SortSetCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    protected ZAddArgs toZAddArgs(OpWhen when) {
+        switch (when) {
+            case Exists:
+                return ZAddArgs.Builder.xx();
+            case NotExists:
+                return ZAddArgs.Builder.nx();
+            case Always:
+            default:
+                return new ZAddArgs();
+        }
+    }
+
+    private Range<Double> toRange(double startScore, double stopScore, ExcludeType excType) {
+        Range<Double> range = null;
+        switch (excType) {
+            case Start:
+                range = Range.from(Boundary.excluding(startScore), Boundary.including(stopScore));
+                break;
+            case Stop:
+                range = Range.from(Boundary.including(startScore), Boundary.excluding(stopScore));
+                break;
+            case Both:
+                range = Range.from(Boundary.excluding(startScore), Boundary.excluding(stopScore));
+                break;
+            case None:
+            default:
+                range = Range.create(startScore, stopScore);
+                break;
+        }
+
+        return range;
+    }
+
+    private List<SortSetModel<T>> toModelList(List<ScoredValue<byte[]>> r) throws Exception {
+        List<SortSetModel<T>> list = null;
+        if (r != null) {
+            list = new ArrayList<>(r.size());
+            for (var rt : r) {
+                list.add(new SortSetModel<T>(deserialize(rt.getValueOrElse(null), clazz), rt.getScore()));
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param when  操作类型
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addOrUpdateAsync(T value, double score, OpWhen when, Object... args)
+            throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zadd(cachekey, toZAddArgs(when), score, serialize(value)), r -> r != null);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param m    SortSetModel
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> addOrUpdateAsync(SortSetModel<T> m, OpWhen when, Object... args)
+            throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+        if (m.Value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zadd(cachekey, toZAddArgs(when), m.Score, serialize(m.Value)), r -> r != null);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param list SortSetModel List
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public CompletableFuture<Long> addOrUpdateAsync(List<SortSetModel<T>> list, OpWhen when, Object... args)
+            throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        ScoredValue<byte[]>[] arr = new ScoredValue[list.size()];
+        for (var i = 0; i < list.size(); i++) {
+            var sm = list.get(i);
+            if (sm == null)
+                throw new Exception("list item is null!");
+            if (sm.Value == null)
+                throw new Exception("list item.value is null!");
+            arr[i] = ScoredValue.just(sm.Score, serialize(sm.Value));
+        }
+
+        return map(commands.zadd(cachekey, toZAddArgs(when), arr), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 减少 score
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Double> decrementAsync(T value, double score, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zincrby(cachekey, -score, serialize(value)), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 增加 score
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Double> incrementAsync(T value, double score, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zincrby(cachekey, score, serialize(value)), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 获取集合数量
+     * 
+     * @param minScore 最小排序分
+     * @param maxScore 最大排序分
+     * @param excType  条件类型
+     * @param args     缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> getCountAsync(double minScore, double maxScore, ExcludeType excType,
+            Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zcount(cachekey, toRange(minScore, maxScore, excType)), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 返回并集合
+     * 
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<SortSetModel<T>> popAsync(Sort sort, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<ScoredValue<byte[]>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zpopmax(cachekey);
+        else
+            r = commands.zpopmin(cachekey);
+
+        return map(r, v -> {
+            SortSetModel<T> m = null;
+            if (v != null && v.hasValue()) {
+                m = new SortSetModel<T>(deserialize(v.getValue(), clazz), v.getScore());
+            }
+            return m;
+        });
+    }
+
+    /**
+     * 返回并集合
+     * 
+     * @param count 返回数量
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<SortSetModel<T>>> popAsync(long count, Sort sort, Object... args)
+            throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<List<ScoredValue<byte[]>>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zpopmax(cachekey, count);
+        else
+            r = commands.zpopmin(cachekey, count);
+
+        return map(r, v -> toModelList(v));
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> getAsync(long start, long stop, Sort sort, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<List<byte[]>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zrange(cachekey, start, stop);
+        else
+            r = commands.zrevrange(cachekey, start, stop);
+
+        return map(r, v -> toList(v, clazz));
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<SortSetModel<T>>> getWithScoresAsync(long start, long stop, Sort sort,
+            Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        RedisFuture<List<ScoredValue<byte[]>>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zrangeWithScores(cachekey, start, stop);
+        else
+            r = commands.zrevrangeWithScores(cachekey, start, stop);
+
+        return map(r, v -> toModelList(v));
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param sort       排序
+     * @param skip       跳过多少个
+     * @param take       返回多少个
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<T>> getByScoreAsync(double startScore, double stopScore, ExcludeType excType,
+            Sort sort, int skip, int take, Object... args) throws Exception {
+        if (skip < 0)
+            throw new Exception("skip=" + skip + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        var range = toRange(startScore, stopScore, excType);
+        var limit = Limit.create(skip, take);
+        RedisFuture<List<byte[]>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zrangebyscore(cachekey, range, limit);
+        else
+            r = commands.zrevrangebyscore(cachekey, range, limit);
+
+        return map(r, v -> toList(v, clazz));
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param sort       排序
+     * @param skip       跳过多少个
+     * @param take       返回多少个，-1.返回所有
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<List<SortSetModel<T>>> getByScoreWithScoresAsync(double startScore, double stopScore,
+            ExcludeType excType, Sort sort, int skip, int take, Object... args) throws Exception {
+        if (skip < 0)
+            throw new Exception("skip=" + skip + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        var range = toRange(startScore, stopScore, excType);
+        var limit = Limit.create(skip, take);
+        RedisFuture<List<ScoredValue<byte[]>>> r = null;
+        if (sort == Sort.Asc)
+            r = commands.zrangebyscoreWithScores(cachekey, range, limit);
+        else
+            r = commands.zrevrangebyscoreWithScores(cachekey, range, limit);
+
+        return map(r, v -> toModelList(v));
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zrem(cachekey, serialize(value)), r -> r != null && r > 0);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param list value List
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteAsync(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return CompletableFuture.completedFuture(0L);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+        byte[][] arr = new byte[list.size()][];
+        for (var i = 0; i < list.size(); i++) {
+            var m = list.get(i);
+            if (m == null)
+                throw new Exception("list item is null!");
+            arr[i] = serialize(m);
+        }
+
+        return map(commands.zrem(cachekey, arr), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteAsync(long start, long stop, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zremrangebyrank(cachekey, start, stop), r -> r == null ? 0 : r);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> deleteByScoreAsync(double startScore, double stopScore, ExcludeType excType,
+            Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var commands = this.getCommands(db);
+
+        return map(commands.zremrangebyscore(cachekey, toRange(startScore, stopScore, excType)),
+                r -> r == null ? 0 : r);
+    }
+}
@@ -0,0 +1,147 @@
+package cn.myafx.cache.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.base.IRedisConnectionProvider;
+import io.lettuce.core.SetArgs;
+
+/**
+ * string key value 异步缓存
+ */
+public class StringCacheAsync<T> extends RedisCacheAsync implements IStringCacheAsync<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * StringCacheAsync
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public StringCacheAsync(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+        this.enableNearInvalidate();
+    }
+
+    /**
+     * 获取缓存
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<T> getAsync(Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var commands = this.getCommands(db);
+
+        return map(commands.get(caheKey), r -> deserialize(r, clazz));
+    }
+
+    protected SetArgs toSetArgs(OpWhen when) {
+        switch (when) {
+            case Exists:
+                return new SetArgs().xx();
+            case NotExists:
+                return new SetArgs().nx();
+            case Always:
+            default:
+                return new SetArgs();
+        }
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m    缓存数据
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> setAsync(T m, OpWhen when, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var commands = this.getCommands(db);
+        if (m == null) {
+            return invalidate(commands, caheKey, map(commands.del(caheKey), r -> true));
+        } else {
+            return invalidate(commands, caheKey,
+                    map(commands.set(caheKey, serialize(m), toSetArgs(when)), r -> "OK".equals(r)));
+        }
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m             缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when          操作类型
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Boolean> setAsync(T m, int expireSeconds, OpWhen when, Object... args)
+            throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var commands = this.getCommands(db);
+        if (m == null) {
+            return invalidate(commands, caheKey, map(commands.del(caheKey), r -> true));
+        } else {
+            return invalidate(commands, caheKey,
+                    map(commands.set(caheKey, serialize(m), toSetArgs(when).ex(expireSeconds)),
+                            r -> "OK".equals(r)));
+        }
+    }
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * 
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> incrementAsync(long incrementValue, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, caheKey,
+                map(commands.incrby(caheKey, incrementValue), r -> r == null ? 0 : r));
+    }
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * 
+     * @param decrementValue 减量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CompletableFuture<Long> decrementAsync(long decrementValue, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var commands = this.getCommands(db);
+
+        return invalidate(commands, caheKey,
+                map(commands.incrby(caheKey, -decrementValue), r -> r == null ? 0 : r));
+    }
+}
@@ -1,8 +1,556 @@
 package cn.myafx.cache.base;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+
+import cn.myafx.cache.CacheKeyConfig;
+import cn.myafx.cache.ICacheCodec;
+import cn.myafx.cache.ICacheCompressor;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.IJsonMapper;
+
 /**
- * BaseCache
+ * BaseCache, 缓存key、db 及序列化
  */
 public abstract class BaseCache implements IBaseCache {
-    
+    /**
+     * 不存在标记, 配置 missexpire 时写入, 读取视为 null
+     */
+    protected static final byte[] MISSING_VALUE = { 0 };
+    /**
+     * 批量写入每个命令最多元素数量, 避免单个大命令阻塞 redis
+     */
+    protected static final int CHUNK_SIZE = 1000;
+    public static IJsonMapper DefaultJsonMapper;
+    // .setTimeZone(TimeZone.getTimeZone("GMT+8"));
+    protected IJsonMapper mapper = DefaultJsonMapper;
+    /**
+     * 缓存key配置
+     */
+    protected CacheKeyConfig keyConfig;
+    /**
+     * 缓存前缀
+     */
+    protected String prefix;
+    /**
+     * NodeName
+     */
+    protected String nodeName;
+    /**
+     * 配置key 是否作为集群 hash tag
+     */
+    protected boolean keyTag;
+    /**
+     * 作为集群 hash tag 的参数开始序号, -1 无
+     */
+    protected int tagStart = -1;
+    /**
+     * 作为集群 hash tag 的参数结束序号
+     */
+    protected int tagStop = -1;
+    /**
+     * 缓存key编码
+     */
+    private CacheKeyEncoder keyEncoder;
+    /**
+     * 多db key 分配算法
+     */
+    protected IDbStrategy dbStrategy;
+    /**
+     * 过期时间随机抖动上限, 秒
+     */
+    protected int jitter;
+    /**
+     * 值编解码, null 使用 IJsonMapper
+     */
+    protected ICacheCodec codec;
+    /**
+     * 未配置 codec 时基本类型等是否直接读写, 配置 scalar="false" 或 setJsonMapper 自定义 mapper 时为 false
+     */
+    protected boolean scalar;
+    /**
+     * 值压缩, null 不压缩
+     */
+    protected ICacheCompressor compressor;
+    /**
+     * 最小压缩字节数
+     */
+    protected int compressMin;
+    /**
+     * 并行反序列化分块大小, 0 不并行
+     */
+    protected int parallelDecode;
+    /**
+     * 并行反序列化线程池, null 不并行
+     */
+    protected Executor decodeExecutor;
+
+    /**
+     * BaseCache
+     *
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @throws Exception
+     */
+    public BaseCache(String node, String item, ICacheKey cacheKey, String prefix) throws Exception {
+        if (DefaultJsonMapper == null)
+            throw new Exception("RedisCache.DefaultJsonMapper is null !");
+        if (node == null || node.isEmpty())
+            throw new Exception("node is null !");
+        if (item == null || item.isEmpty())
+            throw new Exception("item is null !");
+        if (cacheKey == null)
+            throw new Exception("cacheKey is null !");
+        this.keyConfig = cacheKey.get(node, item);
+        if (this.keyConfig == null)
+            throw new Exception(node + "/" + item + " 未配置！");
+        this.prefix = prefix != null ? prefix : "";
+
+        StringBuilder stringBuilder = new StringBuilder();
+        for (var c : this.keyConfig.Node.toCharArray()) {
+            if ('A' <= c && c <= 'Z') {
+                if (stringBuilder.length() > 0)
+                    stringBuilder.append("_");
+                stringBuilder.append((char) (c + 32));
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+        stringBuilder.append(":");
+        this.nodeName = stringBuilder.toString();
+        this.parseTag(this.keyConfig.Tag);
+        this.dbStrategy = DbStrategies.get(this.keyConfig.DbHash);
+        this.jitter = this.parseJitter(this.keyConfig.Jitter);
+        this.codec = CacheCodecs.get(this.keyConfig.Codec);
+        this.scalar = !Boolean.FALSE.equals(this.keyConfig.Scalar);
+        this.compressor = CacheCompressors.get(this.keyConfig.Compress);
+        var compressMin = this.keyConfig.CompressMin;
+        this.compressMin = compressMin == null || compressMin < 0 ? CacheCompressors.DEFAULT_MIN_SIZE : compressMin;
+        var parallelDecode = this.keyConfig.ParallelDecode;
+        this.parallelDecode = parallelDecode == null || parallelDecode <= 0 ? 0 : parallelDecode;
+        var key = this.keyConfig.Key;
+        if (key != null && !key.isEmpty())
+            this.keyEncoder = new CacheKeyEncoder(this.prefix + this.nodeName + (this.keyTag ? "{" + key + "}" : key),
+                    this.tagStart, this.tagStop);
+    }
+
+    private void parseTag(String tag) throws Exception {
+        if (tag == null || tag.isEmpty())
+            return;
+        if ("key".equalsIgnoreCase(tag)) {
+            this.keyTag = true;
+            return;
+        }
+        var arr = tag.split("-");
+        if (arr.length <= 2) {
+            try {
+                this.tagStart = Integer.parseInt(arr[0].trim());
+                this.tagStop = arr.length == 2 ? Integer.parseInt(arr[1].trim()) : this.tagStart;
+            } catch (NumberFormatException ex) {
+                this.tagStart = -1;
+            }
+        }
+        if (this.tagStart < 0 || this.tagStop < this.tagStart)
+            throw new Exception(this.keyConfig.Node + "/" + this.keyConfig.Item + " tag=" + tag + " is error!");
+    }
+
+    private int parseJitter(String jitter) throws Exception {
+        var expire = this.keyConfig.Expire;
+        if (jitter == null || jitter.isEmpty() || expire == null || expire <= 0)
+            return 0;
+        try {
+            if (jitter.endsWith("%"))
+                return (int) (expire * Double.parseDouble(jitter.substring(0, jitter.length() - 1).trim()) / 100);
+
+            return Integer.parseInt(jitter);
+        } catch (NumberFormatException ex) {
+            throw new Exception(this.keyConfig.Node + "/" + this.keyConfig.Item + " jitter=" + jitter + " is error!");
+        }
+    }
+
+    /**
+     * set ObjectMapper, 非默认 mapper 时基本类型等也经过 mapper
+     */
+    @Override
+    public void setJsonMapper(IJsonMapper mapper) {
+        if (mapper != null) {
+            this.mapper = mapper;
+            this.scalar = mapper == DefaultJsonMapper && !Boolean.FALSE.equals(this.keyConfig.Scalar);
+        }
+    }
+
+    /**
+     * 设置值编解码, 覆盖 codec 配置; null 使用 IJsonMapper
+     */
+    @Override
+    public void setCodec(ICacheCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * 设置并行反序列化线程池, 配置 paralleldecode 时使用; null 不并行
+     */
+    @Override
+    public void setDecodeExecutor(Executor executor) {
+        this.decodeExecutor = executor;
+    }
+
+    /**
+     * getDefault
+     *
+     * @param clazz clazz
+     * @return clazz default value
+     * @throws Exception
+     */
+    protected Object getDefault(Class<?> clazz) throws Exception {
+        Object obj = null;
+        if (clazz.isPrimitive()) {
+            if (clazz == boolean.class)
+                obj = false;
+            else if (clazz == char.class)
+                obj = '\0';
+            else if (clazz == byte.class)
+                obj = (byte) 0;
+            else if (clazz == short.class)
+                obj = (short) 0;
+            else if (clazz == int.class)
+                obj = 0;
+            else if (clazz == long.class)
+                obj = 0l;
+            else if (clazz == float.class)
+                obj = 0f;
+            else if (clazz == double.class)
+                obj = 0d;
+        }
+        return obj;
+    }
+
+    protected byte[] getBytes(String cachekey) throws Exception {
+        if (cachekey == null)
+            return null;
+
+        return cachekey.getBytes("utf-8");//
+    }
+
+    /**
+     * 本地缓存失效通知频道, 同一配置项的同步、异步、响应式缓存及管道写入后都通知到该频道
+     *
+     * @return 未配置 near 返回 null
+     * @throws Exception
+     */
+    protected byte[] getNearChannel() throws Exception {
+        var size = this.keyConfig.NearSize;
+        if (size == null || size <= 0)
+            return null;
+
+        return getBytes(this.prefix + "near:" + this.keyConfig.Node + ":" + this.keyConfig.Item);
+    }
+
+    protected String getString(byte[] buffer) throws Exception {
+        if (buffer == null || buffer.length == 0)
+            return null;
+
+        return new String(buffer, "utf-8");
+    }
+
+    /**
+     * Serialize, 配置 compress 时超过最小字节数的值压缩, 压缩后不更小则不压缩;
+     * 首字节与压缩首字节冲突的值总是压缩, 未配置 compress 时使用 deflate
+     *
+     * @param value Object
+     * @return byte[]
+     * @throws Exception
+     */
+    protected byte[] serialize(Object value) throws Exception {
+        if (value == null)
+            return null;
+        if (value instanceof byte[] buf)
+            return buf;
+        byte[] buffer;
+        if (this.codec != null) {
+            buffer = this.codec.encode(value);
+        } else {
+            buffer = this.scalar ? ScalarCodec.encode(value) : null;
+            if (buffer == null)
+                buffer = getBytes(this.mapper.serialize(value));
+        }
+
+        return this.compress(buffer);
+    }
+
+    private byte[] compress(byte[] buffer) throws Exception {
+        if (buffer == null)
+            return buffer;
+        // 未压缩值首字节不能被识别为压缩值
+        var conflict = CacheCompressors.find(buffer) != null;
+        var c = this.compressor;
+        if (c == null) {
+            if (!conflict)
+                return buffer;
+            c = CacheCompressors.DEFLATE;
+        }
+        if (!conflict && buffer.length < this.compressMin)
+            return buffer;
+        var r = c.compress(buffer);
+        if (!conflict && r.length + 1 >= buffer.length)
+            return buffer;
+        var result = new byte[r.length + 1];
+        result[0] = c.getHeader();
+        System.arraycopy(r, 0, result, 1, r.length);
+
+        return result;
+    }
+
+    /**
+     * 按首字节解压, 未配置 compress 时也识别, 新旧配置可同时读写
+     *
+     * @param buffer redis 返回值
+     * @return 未压缩原样返回
+     * @throws Exception
+     */
+    protected byte[] decompress(byte[] buffer) throws Exception {
+        var c = CacheCompressors.find(buffer);
+        if (c == null)
+            return buffer;
+
+        return c.decompress(buffer, 1, buffer.length - 1);
+    }
+
+    /**
+     * 是否不存在标记, 未配置 missexpire 时总是 false
+     *
+     * @param buffer redis 返回值
+     * @return
+     */
+    protected boolean isMissing(byte[] buffer) {
+        return this.keyConfig.MissExpire != null && buffer != null && buffer.length == 1
+                && buffer[0] == MISSING_VALUE[0];
+    }
+
+    /**
+     * Deserialize
+     *
+     * @param <T>    T
+     * @param buffer buffer
+     * @param clazz  clazz
+     * @return T
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T deserialize(byte[] buffer, Class<T> clazz) throws Exception {
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        if (this.isMissing(buffer))
+            buffer = null;
+        if (clazz == byte[].class) {
+            Object obj = buffer;
+            return (T) obj;
+        }
+        buffer = this.decompress(buffer);
+        if (this.codec != null) {
+            if (buffer == null || buffer.length == 0)
+                return (T) getDefault(clazz);
+            var m = this.codec.decode(buffer, clazz);
+            return m != null ? m : (T) getDefault(clazz);
+        }
+        if (this.scalar && buffer != null && buffer.length > 0) {
+            var v = ScalarCodec.decode(buffer, 0, buffer.length, clazz);
+            if (v != ScalarCodec.UNHANDLED)
+                return (T) v;
+        }
+        var json = getString(buffer);
+        if (clazz == String.class) {
+            Object obj = json;
+            return (T) obj;
+        }
+        if (json == null || json.isEmpty()) {
+            return (T) getDefault(clazz);
+        }
+        var m = this.mapper.deserialize(json, clazz);
+
+        return m;
+    }
+
+    /**
+     * 批量反序列化, 保持顺序; 配置 paralleldecode 及线程池且数量超过分块大小时按块并行,
+     * 调用线程同时处理分块, 线程池繁忙或拒绝时由调用线程处理剩余分块
+     *
+     * @param <T>     T
+     * @param buffers redis 返回值
+     * @param clazz   clazz
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> deserializeList(Collection<byte[]> buffers, Class<T> clazz) throws Exception {
+        int n = buffers.size();
+        int chunk = this.parallelDecode;
+        var executor = this.decodeExecutor;
+        List<T> list = new ArrayList<>(n);
+        if (executor == null || chunk <= 0 || n <= chunk) {
+            for (var b : buffers) {
+                list.add(deserialize(b, clazz));
+            }
+            return list;
+        }
+        var arr = buffers.toArray(new byte[n][]);
+        var result = new Object[n];
+        int chunks = (n + chunk - 1) / chunk;
+        var next = new AtomicInteger();
+        var done = new CountDownLatch(chunks);
+        var error = new AtomicReference<Exception>();
+        Runnable worker = () -> {
+            int c;
+            while ((c = next.getAndIncrement()) < chunks) {
+                try {
+                    if (error.get() == null) {
+                        for (int i = c * chunk, end = Math.min(n, i + chunk); i < end; i++)
+                            result[i] = deserialize(arr[i], clazz);
+                    }
+                } catch (Exception ex) {
+                    error.compareAndSet(null, ex);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < chunks; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException ex) {
+                break;
+            }
+        }
+        worker.run();
+        done.await();
+        if (error.get() != null)
+            throw error.get();
+        for (var m : result) {
+            list.add((T) m);
+        }
+
+        return list;
+    }
+
+    /**
+     * 缓存key配置
+     *
+     * @return
+     */
+    @Override
+    public CacheKeyConfig getKeyConfig() {
+        return this.keyConfig;
+    }
+
+    /**
+     * 配置过期时间, 已加 jitter 随机抖动
+     *
+     * @return 秒, 未配置返回 null
+     */
+    @Override
+    public Integer getExpire() {
+        var expire = this.keyConfig.Expire;
+        if (expire == null || expire <= 0 || this.jitter <= 0)
+            return expire;
+
+        return expire + ThreadLocalRandom.current().nextInt(this.jitter + 1);
+    }
+
+    /**
+     * 获取完整缓存key
+     *
+     * @param args 缓存key参数
+     * @return key
+     */
+    @Override
+    public String getCacheKey(Object[] args) throws Exception {
+        return new String(this.getCacheKeyBytes(args), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取完整缓存key utf-8 字节, 不生成中间 String
+     *
+     * @param args 缓存key参数
+     * @return key bytes
+     * @throws Exception
+     */
+    protected byte[] getCacheKeyBytes(Object[] args) throws Exception {
+        if (this.keyEncoder == null)
+            throw new Exception(
+                    "cache key(Node=" + this.keyConfig.Node + ", Item=" + this.keyConfig.Item + ") is null!");
+
+        return this.keyEncoder.encode(args);
+    }
+
+    /**
+     * 获取完整key所在db
+     *
+     * @param cachekey 完整缓存key
+     * @return
+     */
+    @Override
+    public int getCacheDb(String cachekey) {
+        return this.getCacheDb(cachekey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 获取完整key所在db
+     *
+     * @param cachekey 完整缓存key utf-8 字节
+     * @return
+     */
+    @Override
+    public int getCacheDb(byte[] cachekey) {
+        var list = this.keyConfig.Db;
+        if (list == null || list.size() == 0)
+            return 0;
+        if (list.size() == 1)
+            return list.get(0);
+        var db = list.get(this.dbStrategy.getIndex(cachekey, list.size()));
+
+        return db == null ? 0 : db;
+    }
+
+    /**
+     * 获取完整key所在集群 slot
+     *
+     * @param cachekey 完整缓存key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public int getCacheSlot(String cachekey) throws Exception {
+        return ClusterSlotHashUtil.calculateSlot(getBytes(cachekey));
+    }
+
+    /**
+     * 获取完整key所在集群 slot
+     *
+     * @param cachekey 完整缓存key utf-8 字节
+     * @return
+     */
+    @Override
+    public int getCacheSlot(byte[] cachekey) {
+        return ClusterSlotHashUtil.calculateSlot(cachekey);
+    }
+
+    /**
+     * close, 缓存不持有连接, 连接由 provider 管理;
+     * CacheFactory 返回的实例是共享的, close 后仍可使用
+     */
+    @Override
+    public void close() throws Exception {
+    }
 }
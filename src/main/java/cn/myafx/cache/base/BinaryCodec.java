@@ -0,0 +1,157 @@
+package cn.myafx.cache.base;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import cn.myafx.cache.ICacheCodec;
+
+/**
+ * 紧凑二进制编解码, 首字节为类型标记;
+ * 数值定长大端, String、enum 名称 utf-8, UUID 16 字节, 其他类型 Jackson utf-8 json;
+ * 数值不是文本, 不能与 INCRBY、HINCRBY 共用
+ */
+public final class BinaryCodec implements ICacheCodec {
+    private static final byte STRING = 's';
+    private static final byte INT = 'I';
+    private static final byte LONG = 'J';
+    private static final byte SHORT = 'S';
+    private static final byte BYTE = 'B';
+    private static final byte BOOLEAN = 'Z';
+    private static final byte CHAR = 'C';
+    private static final byte FLOAT = 'f';
+    private static final byte DOUBLE = 'D';
+    private static final byte UUID_ = 'U';
+    private static final byte ENUM = 'E';
+    private static final byte JSON = 'j';
+
+    private final JacksonCodec jackson;
+
+    /**
+     * BinaryCodec, 其他类型使用 CacheCodecs.JACKSON
+     */
+    public BinaryCodec() {
+        this(CacheCodecs.JACKSON);
+    }
+
+    /**
+     * BinaryCodec
+     * 
+     * @param jackson 其他类型编解码
+     */
+    public BinaryCodec(JacksonCodec jackson) {
+        if (jackson == null)
+            throw new IllegalArgumentException("jackson is null!");
+        this.jackson = jackson;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        if (value == null)
+            return null;
+        if (value instanceof String s)
+            return tagged(STRING, s.getBytes(StandardCharsets.UTF_8));
+        if (value instanceof Integer v)
+            return ByteBuffer.allocate(5).put(INT).putInt(v).array();
+        if (value instanceof Long v)
+            return ByteBuffer.allocate(9).put(LONG).putLong(v).array();
+        if (value instanceof Short v)
+            return ByteBuffer.allocate(3).put(SHORT).putShort(v).array();
+        if (value instanceof Byte v)
+            return new byte[] { BYTE, v };
+        if (value instanceof Boolean v)
+            return new byte[] { BOOLEAN, (byte) (v ? 1 : 0) };
+        if (value instanceof Character v)
+            return ByteBuffer.allocate(3).put(CHAR).putChar(v).array();
+        if (value instanceof Float v)
+            return ByteBuffer.allocate(5).put(FLOAT).putFloat(v).array();
+        if (value instanceof Double v)
+            return ByteBuffer.allocate(9).put(DOUBLE).putDouble(v).array();
+        if (value instanceof UUID v)
+            return ByteBuffer.allocate(17).put(UUID_).putLong(v.getMostSignificantBits())
+                    .putLong(v.getLeastSignificantBits()).array();
+        if (value instanceof Enum<?> v)
+            return tagged(ENUM, v.name().getBytes(StandardCharsets.UTF_8));
+
+        return tagged(JSON, this.jackson.encode(value));
+    }
+
+    private static byte[] tagged(byte tag, byte[] buffer) {
+        var r = new byte[buffer.length + 1];
+        r[0] = tag;
+        System.arraycopy(buffer, 0, r, 1, buffer.length);
+
+        return r;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> T decode(byte[] buffer, Class<T> clazz) throws Exception {
+        if (buffer.length == 0)
+            return null;
+        var tag = buffer[0];
+        var b = ByteBuffer.wrap(buffer, 1, buffer.length - 1);
+        Object obj;
+        switch (tag) {
+            case STRING:
+                obj = new String(buffer, 1, buffer.length - 1, StandardCharsets.UTF_8);
+                break;
+            case INT:
+                obj = toNumber(b.getInt(), clazz);
+                break;
+            case LONG:
+                obj = toNumber(b.getLong(), clazz);
+                break;
+            case SHORT:
+                obj = toNumber(b.getShort(), clazz);
+                break;
+            case BYTE:
+                obj = toNumber(b.get(), clazz);
+                break;
+            case FLOAT:
+                obj = toNumber(b.getFloat(), clazz);
+                break;
+            case DOUBLE:
+                obj = toNumber(b.getDouble(), clazz);
+                break;
+            case BOOLEAN:
+                obj = b.get() != 0;
+                break;
+            case CHAR:
+                obj = b.getChar();
+                break;
+            case UUID_:
+                obj = new UUID(b.getLong(), b.getLong());
+                break;
+            case ENUM:
+                if (!clazz.isEnum())
+                    throw new Exception(clazz.getName() + " is not enum!");
+                obj = Enum.valueOf((Class<Enum>) clazz, new String(buffer, 1, buffer.length - 1,
+                        StandardCharsets.UTF_8));
+                break;
+            case JSON:
+                return this.jackson.decode(buffer, 1, buffer.length - 1, clazz);
+            default:
+                throw new Exception("binary codec tag=" + tag + " is error!");
+        }
+
+        return (T) obj;
+    }
+
+    private static Object toNumber(Number n, Class<?> clazz) {
+        if (clazz == Integer.class || clazz == int.class)
+            return n.intValue();
+        if (clazz == Long.class || clazz == long.class)
+            return n.longValue();
+        if (clazz == Short.class || clazz == short.class)
+            return n.shortValue();
+        if (clazz == Byte.class || clazz == byte.class)
+            return n.byteValue();
+        if (clazz == Float.class || clazz == float.class)
+            return n.floatValue();
+        if (clazz == Double.class || clazz == double.class)
+            return n.doubleValue();
+
+        return n;
+    }
+}
@@ -0,0 +1,227 @@
+package cn.myafx.cache.base;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import cn.myafx.cache.ICacheCursor;
+
+/**
+ * 绑定缓存key的 hash 操作句柄
+ */
+public class BoundHashCache<TField, TValue> extends BoundRedisCache<HashCache<TField, TValue>>
+        implements IBoundHashCache<TField, TValue> {
+
+    /**
+     * BoundHashCache
+     * 
+     * @param cache 缓存
+     * @param key   已解析的缓存key
+     */
+    protected BoundHashCache(HashCache<TField, TValue> cache, BoundKey key) {
+        super(cache, key);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param field hash key
+     * @param value hash value
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean set(TField field, TValue value) throws Exception {
+        return this.cache.set(field, value, this.key);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param map Map
+     * @throws Exception
+     */
+    @Override
+    public void addOrUpdate(Map<TField, TValue> map) throws Exception {
+        this.cache.addOrUpdate(map, this.key);
+    }
+
+    /**
+     * 添加或更新数据, 并按配置 expire 刷新过期时间
+     * 
+     * @param map Map
+     * @throws Exception
+     */
+    @Override
+    public void addOrUpdateAndExpire(Map<TField, TValue> map) throws Exception {
+        this.cache.addOrUpdate(map, true, this.key);
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Map<TField, TValue> get() throws Exception {
+        return this.cache.get(this.key);
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public TValue getValue(TField field) throws Exception {
+        return this.cache.getValue(field, this.key);
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param fields hash key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public List<TValue> getValue(List<TField> fields) throws Exception {
+        return this.cache.getValue(fields, this.key);
+    }
+
+    /**
+     * 获取hash key
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public List<TField> geTFields() throws Exception {
+        return this.cache.geTFields(this.key);
+    }
+
+    /**
+     * 获取hash value
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public List<TValue> getValues() throws Exception {
+        return this.cache.getValues(this.key);
+    }
+
+    /**
+     * 获取hash key 数量
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long getCount() throws Exception {
+        return this.cache.getCount(this.key);
+    }
+
+    /**
+     * 是否存在hash key
+     * 
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean exists(TField field) throws Exception {
+        return this.cache.exists(field, this.key);
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean delete(TField field) throws Exception {
+        return this.cache.delete(field, this.key);
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param fields hash key
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long delete(List<TField> fields) throws Exception {
+        return this.cache.delete(fields, this.key);
+    }
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param incrementValue 增量
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long increment(TField field, long incrementValue) throws Exception {
+        return this.cache.increment(field, incrementValue, this.key);
+    }
+
+    /**
+     * hash value 原子自减，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param decrementValue 自减量
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long decrement(TField field, long decrementValue) throws Exception {
+        return this.cache.decrement(field, decrementValue, this.key);
+    }
+
+    /**
+     * 游标方式读取数据
+     * 
+     * @param pattern 搜索表达式
+     * @param count   游标页大小
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public ICacheCursor<Map.Entry<TField, TValue>> scan(String pattern, int count) throws Exception {
+        return this.cache.scan(pattern, count, this.key);
+    }
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大 hash 的 get
+     * 
+     * @param count 游标页大小
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public ICacheCursor<Map.Entry<TField, TValue>> getCursor(int count) throws Exception {
+        return this.cache.getCursor(count, this.key);
+    }
+
+    /**
+     * 获取数据, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * 
+     * @param loader 加载
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Map<TField, TValue> getOrLoad(Callable<Map<TField, TValue>> loader) throws Exception {
+        return this.cache.getOrLoad(loader, this.key);
+    }
+}
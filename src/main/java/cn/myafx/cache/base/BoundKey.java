@@ -0,0 +1,20 @@
+package cn.myafx.cache.base;
+
+/**
+ * 已解析的缓存key, 编码后的 key 及所在 db
+ */
+public final class BoundKey {
+    /**
+     * 完整缓存key utf-8 字节
+     */
+    public final byte[] Key;
+    /**
+     * key 所在 db
+     */
+    public final int Db;
+
+    BoundKey(byte[] key, int db) {
+        this.Key = key;
+        this.Db = db;
+    }
+}
@@ -0,0 +1,71 @@
+package cn.myafx.cache.base;
+
+/**
+ * 绑定缓存key的操作句柄
+ */
+public class BoundRedisCache<TCache extends RedisCache> implements IBoundRedisCache {
+    /**
+     * 缓存
+     */
+    protected final TCache cache;
+    /**
+     * 已解析的缓存key
+     */
+    protected final BoundKey key;
+
+    /**
+     * BoundRedisCache
+     * 
+     * @param cache 缓存
+     * @param key   已解析的缓存key
+     */
+    protected BoundRedisCache(TCache cache, BoundKey key) {
+        this.cache = cache;
+        this.key = key;
+    }
+
+    /**
+     * 缓存key是否存在
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean contains() throws Exception {
+        return this.cache.contains(this.key);
+    }
+
+    /**
+     * 移除缓存
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean remove() throws Exception {
+        return this.cache.remove(this.key);
+    }
+
+    /**
+     * 设置缓存有效时间
+     * 
+     * @param expireSeconds 缓存有效时间, 秒, null or &lt;= 0 永久
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean expire(Integer expireSeconds) throws Exception {
+        return this.cache.expire(expireSeconds, this.key);
+    }
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean expire() throws Exception {
+        return this.cache.expire(this.cache.getExpire(), this.key);
+    }
+}
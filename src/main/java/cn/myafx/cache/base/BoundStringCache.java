@@ -0,0 +1,118 @@
+package cn.myafx.cache.base;
+
+import java.util.concurrent.Callable;
+
+import cn.myafx.cache.CacheValue;
+import cn.myafx.cache.OpWhen;
+
+/**
+ * 绑定缓存key的 string key value 操作句柄
+ */
+public class BoundStringCache<T> extends BoundRedisCache<StringCache<T>> implements IBoundStringCache<T> {
+
+    /**
+     * BoundStringCache
+     * 
+     * @param cache 缓存
+     * @param key   已解析的缓存key
+     */
+    protected BoundStringCache(StringCache<T> cache, BoundKey key) {
+        super(cache, key);
+    }
+
+    /**
+     * 获取缓存
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public T get() throws Exception {
+        return this.cache.get(this.key);
+    }
+
+    /**
+     * 获取缓存, 区分未缓存与已缓存不存在标记
+     * 
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CacheValue<T> find() throws Exception {
+        return this.cache.find(this.key);
+    }
+
+    /**
+     * 写入不存在标记, 过期时间为配置 missexpire, 未配置抛出异常
+     * 
+     * @throws Exception
+     */
+    @Override
+    public void markMissing() throws Exception {
+        this.cache.markMissing(this.key);
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m    缓存数据
+     * @param when when
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean set(T m, OpWhen when) throws Exception {
+        return this.cache.set(m, when, this.key);
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m             缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when          操作类型
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public boolean set(T m, int expireSeconds, OpWhen when) throws Exception {
+        return this.cache.set(m, expireSeconds, when, this.key);
+    }
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * 
+     * @param incrementValue 增量
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long increment(long incrementValue) throws Exception {
+        return this.cache.increment(incrementValue, this.key);
+    }
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * 
+     * @param decrementValue 减量
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public long decrement(long decrementValue) throws Exception {
+        return this.cache.decrement(decrementValue, this.key);
+    }
+
+    /**
+     * 获取缓存, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * 
+     * @param loader 加载
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public T getOrLoad(Callable<T> loader) throws Exception {
+        return this.cache.getOrLoad(loader, this.key);
+    }
+}
@@ -0,0 +1,73 @@
+package cn.myafx.cache.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.myafx.cache.ICacheCodec;
+
+/**
+ * 内置缓存值编解码
+ */
+public final class CacheCodecs {
+    /**
+     * Jackson utf-8 json, 与默认 IJsonMapper 存储格式兼容
+     */
+    public static final JacksonCodec JACKSON = new JacksonCodec();
+    /**
+     * 紧凑二进制, 数值定长, 不能与 INCRBY 共用
+     */
+    public static final BinaryCodec BINARY = new BinaryCodec(JACKSON);
+
+    private static final Map<String, ICacheCodec> codecMap = new ConcurrentHashMap<>();
+
+    private CacheCodecs() {
+    }
+
+    /**
+     * 注册命名编解码, 需在创建缓存前注册
+     * 
+     * @param name  cache-key.xml 中 codec 名称
+     * @param codec ICacheCodec
+     * @throws Exception
+     */
+    public static void register(String name, ICacheCodec codec) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        if (codec == null)
+            throw new Exception("codec is null!");
+        codecMap.put(name, codec);
+    }
+
+    /**
+     * 根据配置获取编解码
+     * 
+     * @param name 空或 json(IJsonMapper), jackson, binary, 已注册名称, ICacheCodec 实现类全名
+     * @return 空或 json 返回 null, 使用 IJsonMapper
+     * @throws Exception
+     */
+    public static ICacheCodec get(String name) throws Exception {
+        if (name == null || name.isEmpty() || "json".equalsIgnoreCase(name))
+            return null;
+        if ("jackson".equalsIgnoreCase(name))
+            return JACKSON;
+        if ("binary".equalsIgnoreCase(name))
+            return BINARY;
+        var codec = codecMap.get(name);
+        if (codec == null) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(name, true, CacheCodecs.class.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new Exception("codec=" + name + " is error!", ex);
+            }
+            if (!ICacheCodec.class.isAssignableFrom(clazz))
+                throw new Exception("codec=" + name + " is not ICacheCodec!");
+            codec = (ICacheCodec) clazz.getDeclaredConstructor().newInstance();
+            var old = codecMap.putIfAbsent(name, codec);
+            if (old != null)
+                codec = old;
+        }
+
+        return codec;
+    }
+}
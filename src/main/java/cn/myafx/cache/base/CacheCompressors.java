@@ -0,0 +1,106 @@
+package cn.myafx.cache.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import cn.myafx.cache.ICacheCompressor;
+
+/**
+ * 内置缓存值压缩, 按名称配置, 读取时按首字节查找
+ */
+public final class CacheCompressors {
+    /**
+     * 默认最小压缩字节数
+     */
+    public static final int DEFAULT_MIN_SIZE = 1024;
+    /**
+     * deflate
+     */
+    public static final DeflateCompressor DEFLATE = new DeflateCompressor();
+
+    private static final Map<String, ICacheCompressor> compressorMap = new ConcurrentHashMap<>();
+    private static final AtomicReferenceArray<ICacheCompressor> headers = new AtomicReferenceArray<>(32);
+
+    static {
+        headers.set(DEFLATE.getHeader(), DEFLATE);
+    }
+
+    private CacheCompressors() {
+    }
+
+    /**
+     * 注册命名压缩, 需在创建缓存前注册
+     * 
+     * @param name       cache-key.xml 中 compress 名称
+     * @param compressor ICacheCompressor
+     * @throws Exception
+     */
+    public static void register(String name, ICacheCompressor compressor) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        if (compressor == null)
+            throw new Exception("compressor is null!");
+        setHeader(compressor);
+        compressorMap.put(name, compressor);
+    }
+
+    private static synchronized void setHeader(ICacheCompressor compressor) throws Exception {
+        var h = compressor.getHeader();
+        if (h < 1 || h >= headers.length())
+            throw new Exception("compressor header=" + h + " is error!");
+        var old = headers.get(h);
+        if (old != null && old.getClass() != compressor.getClass())
+            throw new Exception("compressor header=" + h + " is used by " + old.getClass().getName() + "!");
+        if (old == null)
+            headers.set(h, compressor);
+    }
+
+    /**
+     * 根据配置获取压缩
+     * 
+     * @param name 空不压缩, deflate, 已注册名称, ICacheCompressor 实现类全名
+     * @return 空返回 null
+     * @throws Exception
+     */
+    public static ICacheCompressor get(String name) throws Exception {
+        if (name == null || name.isEmpty())
+            return null;
+        if ("deflate".equalsIgnoreCase(name))
+            return DEFLATE;
+        var compressor = compressorMap.get(name);
+        if (compressor == null) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(name, true, CacheCompressors.class.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new Exception("compress=" + name + " is error!", ex);
+            }
+            if (!ICacheCompressor.class.isAssignableFrom(clazz))
+                throw new Exception("compress=" + name + " is not ICacheCompressor!");
+            compressor = (ICacheCompressor) clazz.getDeclaredConstructor().newInstance();
+            setHeader(compressor);
+            var old = compressorMap.putIfAbsent(name, compressor);
+            if (old != null)
+                compressor = old;
+        }
+
+        return compressor;
+    }
+
+    /**
+     * 根据值首字节获取压缩
+     * 
+     * @param buffer redis 返回值
+     * @return 未压缩返回 null
+     */
+    static ICacheCompressor find(byte[] buffer) {
+        if (buffer == null || buffer.length < 2)
+            return null;
+        var h = buffer[0];
+        if (h < 1 || h >= headers.length())
+            return null;
+
+        return headers.get(h);
+    }
+}
@@ -0,0 +1,189 @@
+package cn.myafx.cache.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 缓存key编码, 预先计算 prefix + nodeName + key 的字节,
+ * 参数直接写入线程本地缓冲区, 整数、枚举、ASCII 字符串不经过中间 String;
+ * 结果与 {@code getCacheKey(args).getBytes("utf-8")} 一致
+ */
+final class CacheKeyEncoder {
+    private static final int MAX_KEEP_SIZE = 4096;
+    private static final byte[] NULL_BYTES = { 'n', 'u', 'l', 'l' };
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private final byte[] head;
+    private final int tagStart;
+    private final int tagStop;
+
+    /**
+     * CacheKeyEncoder
+     *
+     * @param head     prefix + nodeName + key
+     * @param tagStart 作为集群 hash tag 的参数开始序号, -1 无
+     * @param tagStop  作为集群 hash tag 的参数结束序号
+     */
+    CacheKeyEncoder(String head, int tagStart, int tagStop) {
+        this.head = head.getBytes(StandardCharsets.UTF_8);
+        this.tagStart = tagStart;
+        this.tagStop = tagStop;
+    }
+
+    /**
+     * 编码完整缓存key
+     *
+     * @param args 缓存key参数
+     * @return key bytes
+     */
+    byte[] encode(Object[] args) {
+        if (args == null || args.length == 0)
+            return this.head.clone();
+        var buf = ensure(BUFFER.get(), 0, this.head.length);
+        System.arraycopy(this.head, 0, buf, 0, this.head.length);
+        int pos = this.head.length;
+        for (int i = 0; i < args.length; i++) {
+            buf = ensure(buf, pos, 2);
+            buf[pos++] = ':';
+            if (i == this.tagStart)
+                buf[pos++] = '{';
+            var o = args[i];
+            if (o == null) {
+                buf = ensure(buf, pos, NULL_BYTES.length);
+                System.arraycopy(NULL_BYTES, 0, buf, pos, NULL_BYTES.length);
+                pos += NULL_BYTES.length;
+            } else if (o instanceof Enum<?> e) {
+                buf = ensure(buf, pos, 20);
+                pos = writeLong(buf, pos, e.ordinal());
+            } else if (o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte) {
+                buf = ensure(buf, pos, 20);
+                pos = writeLong(buf, pos, ((Number) o).longValue());
+            } else {
+                var s = o instanceof String str ? str : o.toString();
+                buf = ensure(buf, pos, s.length() + 1);
+                int p = writeAscii(buf, pos, s);
+                if (p < 0) {
+                    var bytes = s.toLowerCase().getBytes(StandardCharsets.UTF_8);
+                    buf = ensure(buf, pos, bytes.length + 1);
+                    System.arraycopy(bytes, 0, buf, pos, bytes.length);
+                    p = pos + bytes.length;
+                }
+                pos = p;
+            }
+            if (i == this.tagStop || (i == args.length - 1 && this.tagStart >= 0 && this.tagStart <= i
+                    && i < this.tagStop))
+                buf[pos++] = '}';
+        }
+
+        return Arrays.copyOf(buf, pos);
+    }
+
+    /**
+     * 确保缓冲区从 pos 开始至少还有 size + 1 字节 (预留 hash tag 结束符)
+     */
+    private static byte[] ensure(byte[] buf, int pos, int size) {
+        int need = pos + size + 1;
+        if (need <= buf.length)
+            return buf;
+        var newBuf = Arrays.copyOf(buf, Math.max(need, buf.length * 2));
+        if (newBuf.length <= MAX_KEEP_SIZE)
+            BUFFER.set(newBuf);
+        return newBuf;
+    }
+
+    static int writeLong(byte[] buf, int pos, long v) {
+        if (v == Long.MIN_VALUE) {
+            var s = Long.toString(v);
+            for (int i = 0; i < s.length(); i++)
+                buf[pos++] = (byte) s.charAt(i);
+            return pos;
+        }
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+        int len = 1;
+        for (long t = v; t >= 10; t /= 10)
+            len++;
+        int end = pos + len;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * 写入小写 ASCII 字符串
+     *
+     * @return 写入后位置, 含非 ASCII 字符或默认语言 I 不转为 i 时返回 -1
+     */
+    private static int writeAscii(byte[] buf, int pos, String s) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80)
+                return -1;
+            if ('A' <= c && c <= 'Z') {
+                if (c == 'I' && isDotlessLocale())
+                    return -1;
+                c += 32;
+            }
+            buf[pos++] = (byte) c;
+        }
+        return pos;
+    }
+
+    /**
+     * 土耳其语、阿塞拜疆语 toLowerCase 将 I 转为 ı, 与原 String key 保持一致
+     */
+    private static boolean isDotlessLocale() {
+        var lang = Locale.getDefault().getLanguage();
+        return "tr".equals(lang) || "az".equals(lang);
+    }
+
+    /**
+     * 按 utf-16 字符累加计算 db hash, 与原 String key 逐字符累加结果一致
+     *
+     * @param key key bytes
+     * @return hash
+     */
+    static int hash(byte[] key) {
+        int hash = 0;
+        for (int i = 0; i < key.length;) {
+            int b = key[i] & 0xFF;
+            int cp;
+            if (b < 0x80) {
+                cp = b;
+                i++;
+            } else if (b < 0xE0 && i + 1 < key.length) {
+                cp = ((b & 0x1F) << 6) | (key[i + 1] & 0x3F);
+                i += 2;
+            } else if (b < 0xF0 && i + 2 < key.length) {
+                cp = ((b & 0x0F) << 12) | ((key[i + 1] & 0x3F) << 6) | (key[i + 2] & 0x3F);
+                i += 3;
+            } else if (i + 3 < key.length) {
+                cp = ((b & 0x07) << 18) | ((key[i + 1] & 0x3F) << 12) | ((key[i + 2] & 0x3F) << 6)
+                        | (key[i + 3] & 0x3F);
+                i += 4;
+            } else {
+                cp = 0xFFFD;
+                i++;
+            }
+            if (cp > 0xFFFF) {
+                hash = add(hash, Character.highSurrogate(cp));
+                hash = add(hash, Character.lowSurrogate(cp));
+            } else {
+                hash = add(hash, cp);
+            }
+        }
+        return hash;
+    }
+
+    private static int add(int hash, int c) {
+        hash += c;
+        if (hash > 255)
+            hash = hash % 255;
+        return hash;
+    }
+}
@@ -0,0 +1,632 @@
+package cn.myafx.cache.base;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.core.types.Expiration;
+
+import cn.myafx.cache.GeoPos;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.Sort;
+
+/**
+ * 缓存命令管道, 集群连接不按 db 分组, 命令按 key slot 路由到各主节点并行执行
+ */
+public class CachePipeline implements ICachePipeline {
+
+    /**
+     * 管道命令, 在 openPipeline 状态下执行, 只能发送一个 redis 命令
+     */
+    private interface IPipelineCommand {
+        void execute(RedisConnection redis, byte[] cachekey);
+    }
+
+    /**
+     * 管道命令结果反序列化
+     */
+    private interface IPipelineDecoder<T> {
+        T decode(Object r) throws Exception;
+    }
+
+    private static final class PipelineItem<T> {
+        private final byte[] cachekey;
+        private final IPipelineCommand command;
+        private final IPipelineDecoder<T> decoder;
+        private final PipelineResult<T> result;
+        private Object r;
+        /**
+         * 写入命令且缓存配置 near 时不为 null, 执行后移除本地缓存
+         */
+        private RedisCache near;
+
+        private PipelineItem(byte[] cachekey, IPipelineCommand command, IPipelineDecoder<T> decoder) {
+            this.cachekey = cachekey;
+            this.command = command;
+            this.decoder = decoder;
+            this.result = new PipelineResult<>();
+        }
+
+        private void complete() {
+            if (this.r instanceof Exception ex) {
+                this.result.fail(ex);
+                return;
+            }
+            try {
+                this.result.complete(this.decoder.decode(this.r));
+            } catch (Exception ex) {
+                this.result.fail(ex);
+            }
+        }
+    }
+
+    private IRedisConnectionProvider provider;
+    private boolean cluster;
+    private Map<Integer, List<PipelineItem<?>>> dbMap;
+    private int size;
+
+    /**
+     * CachePipeline
+     * 
+     * @param redisConnection 管道独占的 RedisConnection, 按 db 发送 SELECT, close 时关闭
+     * @throws Exception
+     */
+    public CachePipeline(RedisConnection redisConnection) throws Exception {
+        this(new SelectConnectionProvider(redisConnection));
+    }
+
+    /**
+     * CachePipeline
+     * 
+     * @param provider 管道独占的连接提供, 返回的连接只由管道使用, close 时关闭
+     * @throws Exception
+     */
+    public CachePipeline(IRedisConnectionProvider provider) throws Exception {
+        if (provider == null)
+            throw new Exception("provider is null !");
+        this.provider = provider;
+        this.cluster = provider.getConnection(0) instanceof RedisClusterConnection;
+        this.dbMap = new LinkedHashMap<>();
+    }
+
+    private static Exception notSupported(Object cache) {
+        if (cache == null)
+            return new Exception("cache is null!");
+
+        return new Exception("cache(" + cache.getClass().getName() + ") is not supported!");
+    }
+
+    private static boolean toBoolean(Object r) {
+        return r instanceof Boolean b ? b : false;
+    }
+
+    private static long toLong(Object r) {
+        return r instanceof Long l ? l : 0;
+    }
+
+    private <T> PipelineItem<T> addItem(RedisCache cache, Object[] args, IPipelineCommand command,
+            IPipelineDecoder<T> decoder) throws Exception {
+        if (this.provider == null)
+            throw new Exception("pipeline is closed!");
+        var cachekey = cache.getCacheKeyBytes(args);
+        int db = this.cluster ? 0 : cache.getCacheDb(cachekey);
+        var item = new PipelineItem<T>(cachekey, command, decoder);
+        var list = this.dbMap.get(db);
+        if (list == null) {
+            list = new ArrayList<>();
+            this.dbMap.put(db, list);
+        }
+        list.add(item);
+        this.size++;
+
+        return item;
+    }
+
+    private <T> PipelineResult<T> add(RedisCache cache, Object[] args, IPipelineCommand command,
+            IPipelineDecoder<T> decoder) throws Exception {
+        return this.addItem(cache, args, command, decoder).result;
+    }
+
+    /**
+     * 添加写入命令, 缓存配置 near 时 execute 后移除本地缓存并通知其他进程
+     */
+    private <T> PipelineResult<T> write(RedisCache cache, Object[] args, IPipelineCommand command,
+            IPipelineDecoder<T> decoder) throws Exception {
+        var item = this.addItem(cache, args, command, decoder);
+        if (cache.nearCache != null)
+            item.near = cache;
+
+        return item.result;
+    }
+
+    private <T> List<T> toList(RedisCache cache, Collection<byte[]> r, Class<T> clazz) throws Exception {
+        List<T> list = null;
+        if (r != null) {
+            list = new ArrayList<>(r.size());
+            for (var b : r) {
+                list.add(cache.deserialize(b, clazz));
+            }
+        }
+
+        return list;
+    }
+
+    @Override
+    public PipelineResult<Boolean> remove(IRedisCache cache, Object... args) throws Exception {
+        if (!(cache instanceof RedisCache c))
+            throw notSupported(cache);
+        return this.write(c, args, (redis, key) -> redis.keyCommands().del(key), r -> toLong(r) > 0);
+    }
+
+    @Override
+    public PipelineResult<Boolean> contains(IRedisCache cache, Object... args) throws Exception {
+        if (!(cache instanceof RedisCache c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.keyCommands().exists(key), r -> toBoolean(r));
+    }
+
+    @Override
+    public PipelineResult<Boolean> expire(IRedisCache cache, Integer expireSeconds, Object... args)
+            throws Exception {
+        if (!(cache instanceof RedisCache c))
+            throw notSupported(cache);
+        if (expireSeconds != null && expireSeconds > 0)
+            return this.write(c, args, (redis, key) -> redis.keyCommands().expire(key, expireSeconds),
+                    r -> toBoolean(r));
+
+        return this.write(c, args, (redis, key) -> redis.keyCommands().persist(key), r -> toBoolean(r));
+    }
+
+    @Override
+    public <T> PipelineResult<T> get(IStringCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof StringCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.stringCommands().get(key),
+                r -> c.deserialize((byte[]) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> set(IStringCache<T> cache, T m, OpWhen when, Object... args)
+            throws Exception {
+        if (!(cache instanceof StringCache<T> c))
+            throw notSupported(cache);
+        if (m == null)
+            return this.write(c, args, (redis, key) -> redis.keyCommands().del(key), r -> true);
+        var value = c.serialize(m);
+        var option = c.toSetOption(when);
+
+        return this.write(c, args,
+                (redis, key) -> redis.stringCommands().set(key, value, Expiration.persistent(), option),
+                r -> toBoolean(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> set(IStringCache<T> cache, T m, int expireSeconds, OpWhen when,
+            Object... args) throws Exception {
+        if (!(cache instanceof StringCache<T> c))
+            throw notSupported(cache);
+        if (m == null)
+            return this.write(c, args, (redis, key) -> redis.keyCommands().del(key), r -> true);
+        var value = c.serialize(m);
+        var option = c.toSetOption(when);
+
+        return this.write(c, args,
+                (redis, key) -> redis.stringCommands().set(key, value, Expiration.seconds(expireSeconds), option),
+                r -> toBoolean(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Long> increment(IStringCache<T> cache, long incrementValue, Object... args)
+            throws Exception {
+        if (!(cache instanceof StringCache<T> c))
+            throw notSupported(cache);
+        return this.write(c, args, (redis, key) -> redis.stringCommands().incrBy(key, incrementValue),
+                r -> toLong(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Long> decrement(IStringCache<T> cache, long decrementValue, Object... args)
+            throws Exception {
+        return this.increment(cache, -decrementValue, args);
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<Boolean> set(IHashCache<TField, TValue> cache, TField field, TValue value,
+            Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        if (field == null)
+            throw new Exception("field is null!");
+        var fieldBytes = c.serialize(field);
+        var valueBytes = c.serialize(value);
+
+        return this.write(c, args, (redis, key) -> redis.hashCommands().hSet(key, fieldBytes, valueBytes),
+                r -> r != null);
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<Map<TField, TValue>> get(IHashCache<TField, TValue> cache,
+            Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.hashCommands().hGetAll(key), r -> {
+            Map<TField, TValue> map = null;
+            if (r instanceof Map<?, ?> rmap) {
+                map = new HashMap<>(rmap.size());
+                for (var hm : rmap.entrySet()) {
+                    map.put(c.deserialize((byte[]) hm.getKey(), c.fieldClass),
+                            c.deserialize((byte[]) hm.getValue(), c.valueClass));
+                }
+            }
+            return map;
+        });
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<TValue> getValue(IHashCache<TField, TValue> cache, TField field,
+            Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        if (field == null)
+            throw new Exception("field is null!");
+        var fieldBytes = c.serialize(field);
+
+        return this.add(c, args, (redis, key) -> redis.hashCommands().hGet(key, fieldBytes),
+                r -> c.deserialize((byte[]) r, c.valueClass));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TField, TValue> PipelineResult<List<TValue>> getValue(IHashCache<TField, TValue> cache,
+            List<TField> fields, Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        if (fields == null)
+            throw new Exception("fields is null!");
+        if (fields.size() == 0)
+            throw new Exception("fields is empty!");
+        byte[][] karr = new byte[fields.size()][];
+        for (int i = 0; i < fields.size(); i++) {
+            var k = fields.get(i);
+            if (k == null)
+                throw new Exception("fields item is null!");
+            karr[i] = c.serialize(k);
+        }
+
+        return this.add(c, args, (redis, key) -> redis.hashCommands().hMGet(key, karr),
+                r -> this.toList(c, (List<byte[]>) r, c.valueClass));
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<Boolean> delete(IHashCache<TField, TValue> cache, TField field,
+            Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        if (field == null)
+            throw new Exception("field is null!");
+        var fieldBytes = c.serialize(field);
+
+        return this.write(c, args, (redis, key) -> redis.hashCommands().hDel(key, fieldBytes), r -> toLong(r) > 0);
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<Long> increment(IHashCache<TField, TValue> cache, TField field,
+            long incrementValue, Object... args) throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        if (field == null)
+            throw new Exception("field is null!");
+        var fieldBytes = c.serialize(field);
+
+        return this.write(c, args, (redis, key) -> redis.hashCommands().hIncrBy(key, fieldBytes, incrementValue),
+                r -> toLong(r));
+    }
+
+    @Override
+    public <TField, TValue> PipelineResult<Long> getCount(IHashCache<TField, TValue> cache, Object... args)
+            throws Exception {
+        if (!(cache instanceof HashCache<TField, TValue> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.hashCommands().hLen(key), r -> toLong(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> add(ISetCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof SetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.setCommands().sAdd(key, valueBytes), r -> toLong(r) > 0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> PipelineResult<List<T>> get(ISetCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof SetCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.setCommands().sMembers(key),
+                r -> this.toList(c, (Collection<byte[]>) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> exist(ISetCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof SetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.setCommands().sIsMember(key, valueBytes),
+                r -> toBoolean(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> delete(ISetCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof SetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.setCommands().sRem(key, valueBytes), r -> toLong(r) > 0);
+    }
+
+    @Override
+    public <T> PipelineResult<Long> getCount(ISetCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof SetCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.setCommands().sCard(key), r -> toLong(r));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> addOrUpdate(ISortSetCache<T> cache, T value, double score, OpWhen when,
+            Object... args) throws Exception {
+        if (!(cache instanceof SortSetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+        var zargs = c.toZAddArgs(when);
+
+        return this.add(c, args, (redis, key) -> redis.zSetCommands().zAdd(key, score, valueBytes, zargs),
+                r -> r != null);
+    }
+
+    @Override
+    public <T> PipelineResult<Double> increment(ISortSetCache<T> cache, T value, double score, Object... args)
+            throws Exception {
+        if (!(cache instanceof SortSetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.zSetCommands().zIncrBy(key, score, valueBytes),
+                r -> r instanceof Double d ? d : 0d);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> PipelineResult<List<T>> get(ISortSetCache<T> cache, long start, long stop, Sort sort,
+            Object... args) throws Exception {
+        if (!(cache instanceof SortSetCache<T> c))
+            throw notSupported(cache);
+        IPipelineCommand command = sort == Sort.Asc
+                ? (redis, key) -> redis.zSetCommands().zRange(key, start, stop)
+                : (redis, key) -> redis.zSetCommands().zRevRange(key, start, stop);
+
+        return this.add(c, args, command, r -> this.toList(c, (Collection<byte[]>) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<Boolean> delete(ISortSetCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof SortSetCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.zSetCommands().zRem(key, valueBytes), r -> toLong(r) > 0);
+    }
+
+    @Override
+    public <T> PipelineResult<Long> pushLeft(ILinkListCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.listCommands().lPush(key, valueBytes),
+                r -> r instanceof Long l ? l : -1L);
+    }
+
+    @Override
+    public <T> PipelineResult<Long> pushRight(ILinkListCache<T> cache, T value, Object... args) throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        if (value == null)
+            throw new Exception("value is null!");
+        var valueBytes = c.serialize(value);
+
+        return this.add(c, args, (redis, key) -> redis.listCommands().rPush(key, valueBytes),
+                r -> r instanceof Long l ? l : -1L);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> PipelineResult<List<T>> getRange(ILinkListCache<T> cache, long start, long stop, Object... args)
+            throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        if (start < 0)
+            throw new Exception("start = " + start + " is error!");
+        if (stop != -1 && stop < start)
+            throw new Exception("stop = " + stop + " is error!");
+
+        return this.add(c, args, (redis, key) -> redis.listCommands().lRange(key, start, stop),
+                r -> this.toList(c, (List<byte[]>) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<T> popLeft(ILinkListCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.listCommands().lPop(key),
+                r -> c.deserialize((byte[]) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<T> popRight(ILinkListCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.listCommands().rPop(key),
+                r -> c.deserialize((byte[]) r, c.clazz));
+    }
+
+    @Override
+    public <T> PipelineResult<Long> getCount(ILinkListCache<T> cache, Object... args) throws Exception {
+        if (!(cache instanceof LinkListCache<T> c))
+            throw notSupported(cache);
+        return this.add(c, args, (redis, key) -> redis.listCommands().lLen(key), r -> toLong(r));
+    }
+
+    @Override
+    public PipelineResult<Boolean> addOrUpdate(IGeoCache cache, String name, double lon, double lat,
+            Object... args) throws Exception {
+        if (!(cache instanceof GeoCache c))
+            throw notSupported(cache);
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var point = GeoPos.toPoint(lon, lat);
+        var nameBytes = c.getBytes(name);
+
+        return this.add(c, args, (redis, key) -> redis.geoCommands().geoAdd(key, point, nameBytes),
+                r -> toLong(r) > 0);
+    }
+
+    @Override
+    public PipelineResult<GeoPos> get(IGeoCache cache, String name, Object... args) throws Exception {
+        if (!(cache instanceof GeoCache c))
+            throw notSupported(cache);
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var nameBytes = c.getBytes(name);
+
+        return this.add(c, args, (redis, key) -> redis.geoCommands().geoPos(key, nameBytes), r -> {
+            GeoPos m = null;
+            if (r instanceof List<?> rlist && rlist.size() > 0 && rlist.get(0) instanceof Point p)
+                m = GeoPos.toGeoPos(p);
+            return m;
+        });
+    }
+
+    @Override
+    public PipelineResult<Boolean> delete(IGeoCache cache, String name, Object... args) throws Exception {
+        if (!(cache instanceof GeoCache c))
+            throw notSupported(cache);
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var nameBytes = c.getBytes(name);
+
+        return this.add(c, args, (redis, key) -> redis.geoCommands().geoRemove(key, nameBytes),
+                r -> toLong(r) > 0);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private List<Object> send(int db, List<PipelineItem<?>> list) throws Exception {
+        var redis = this.provider.getConnection(db);
+        redis.openPipeline();
+        try {
+            for (var item : list) {
+                item.command.execute(redis, item.cachekey);
+            }
+        } catch (Exception ex) {
+            try {
+                redis.closePipeline();
+            } catch (Exception e) {
+            }
+            throw ex;
+        }
+        List<Object> rlist = null;
+        try {
+            rlist = redis.closePipeline();
+        } catch (RedisPipelineException ex) {
+            rlist = ex.getPipelineResult();
+        }
+        if (rlist == null || rlist.size() != list.size())
+            throw new Exception("pipeline(db=" + db + ") result count is error!");
+
+        return rlist;
+    }
+
+    @Override
+    public void execute() throws Exception {
+        if (this.provider == null)
+            throw new Exception("pipeline is closed!");
+        if (this.size == 0)
+            return;
+        var map = this.dbMap;
+        this.dbMap = new LinkedHashMap<>();
+        this.size = 0;
+        Exception error = null;
+        for (var kv : map.entrySet()) {
+            var list = kv.getValue();
+            try {
+                var rlist = this.send(kv.getKey(), list);
+                for (var i = 0; i < list.size(); i++) {
+                    list.get(i).r = rlist.get(i);
+                }
+            } catch (Exception ex) {
+                for (var item : list) {
+                    item.r = ex;
+                }
+                if (error == null)
+                    error = ex;
+            }
+        }
+        // 全部db返回后再反序列化
+        for (var list : map.values()) {
+            for (var item : list) {
+                item.complete();
+            }
+        }
+        for (var list : map.values()) {
+            for (var item : list) {
+                if (item.near == null)
+                    continue;
+                try {
+                    item.near.invalidate(new BoundKey(item.cachekey, item.near.getCacheDb(item.cachekey)));
+                } catch (Exception ex) {
+                    if (error == null)
+                        error = ex;
+                }
+            }
+        }
+        if (error != null)
+            throw error;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.provider != null) {
+            this.provider.close();
+            this.provider = null;
+            this.dbMap = null;
+            this.size = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cn.myafx.cache.base;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内置 db 分配算法
+ */
+public final class DbStrategies {
+    /**
+     * 字符累加取模, 兼容已有数据, 默认
+     */
+    public static final IDbStrategy LEGACY = (cachekey, count) -> CacheKeyEncoder.hash(cachekey) % count;
+    /**
+     * jump consistent hash, db 列表末尾追加 db 时只迁移约 1/n key
+     */
+    public static final IDbStrategy JUMP = (cachekey, count) -> jump(hash64(cachekey), count);
+
+    private static final Map<String, IDbStrategy> strategyMap = new ConcurrentHashMap<>();
+
+    private DbStrategies() {
+    }
+
+    /**
+     * 根据配置获取 db 分配算法
+     * 
+     * @param name 空或 legacy, jump, IDbStrategy 实现类全名
+     * @return
+     * @throws Exception
+     */
+    public static IDbStrategy get(String name) throws Exception {
+        if (name == null || name.isEmpty() || "legacy".equalsIgnoreCase(name))
+            return LEGACY;
+        if ("jump".equalsIgnoreCase(name))
+            return JUMP;
+        var strategy = strategyMap.get(name);
+        if (strategy == null) {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(name, true, DbStrategies.class.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new Exception("dbhash=" + name + " is error!", ex);
+            }
+            if (!IDbStrategy.class.isAssignableFrom(clazz))
+                throw new Exception("dbhash=" + name + " is not IDbStrategy!");
+            strategy = (IDbStrategy) clazz.getDeclaredConstructor().newInstance();
+            var old = strategyMap.putIfAbsent(name, strategy);
+            if (old != null)
+                strategy = old;
+        }
+
+        return strategy;
+    }
+
+    /**
+     * FNV-1a 64 + murmur3 fmix64
+     */
+    private static long hash64(byte[] cachekey) {
+        long h = 0xcbf29ce484222325L;
+        for (var b : cachekey) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Lamping &amp; Veach, A Fast, Minimal Memory, Consistent Hash Algorithm
+     */
+    private static int jump(long key, int count) {
+        long b = -1, j = 0;
+        while (j < count) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
@@ -0,0 +1,94 @@
+package cn.myafx.cache.base;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import cn.myafx.cache.ICacheCompressor;
+
+/**
+ * deflate 压缩, 首字节 0x01; 内容为 4 字节原长度 + zlib 数据;
+ * Deflater、Inflater 线程内复用
+ */
+public final class DeflateCompressor implements ICacheCompressor {
+    /**
+     * 首字节
+     */
+    public static final byte HEADER = 0x01;
+    /**
+     * deflate 最大压缩比约 1032:1, 原长度超过时视为错误值, 避免按错误长度分配内存
+     */
+    private static final long MAX_RATIO = 1032;
+
+    private final ThreadLocal<Deflater> deflater;
+    private final ThreadLocal<Inflater> inflater = ThreadLocal.withInitial(Inflater::new);
+
+    /**
+     * DeflateCompressor, 默认压缩级别
+     */
+    public DeflateCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * DeflateCompressor
+     * 
+     * @param level 压缩级别, -1 或 [1, 9]
+     */
+    public DeflateCompressor(int level) {
+        this.deflater = ThreadLocal.withInitial(() -> new Deflater(level));
+    }
+
+    @Override
+    public byte getHeader() {
+        return HEADER;
+    }
+
+    @Override
+    public byte[] compress(byte[] buffer) throws Exception {
+        var d = this.deflater.get();
+        d.reset();
+        d.setInput(buffer);
+        d.finish();
+        var out = new byte[4 + Math.max(64, buffer.length / 2)];
+        ByteBuffer.wrap(out).putInt(buffer.length);
+        int pos = 4;
+        while (!d.finished()) {
+            if (pos == out.length)
+                out = Arrays.copyOf(out, out.length * 2);
+            pos += d.deflate(out, pos, out.length - pos);
+        }
+
+        return pos == out.length ? out : Arrays.copyOf(out, pos);
+    }
+
+    @Override
+    public byte[] decompress(byte[] buffer, int offset, int length) throws Exception {
+        if (length < 4)
+            throw new Exception("deflate value is error!");
+        var size = ByteBuffer.wrap(buffer, offset, 4).getInt();
+        if (size < 0 || size > (length - 4) * MAX_RATIO)
+            throw new Exception("deflate value is error!");
+        var inf = this.inflater.get();
+        inf.reset();
+        inf.setInput(buffer, offset + 4, length - 4);
+        var out = new byte[size];
+        try {
+            int pos = 0;
+            while (pos < size) {
+                var n = inf.inflate(out, pos, size - pos);
+                if (n == 0 && (inf.finished() || inf.needsInput() || inf.needsDictionary()))
+                    break;
+                pos += n;
+            }
+            if (pos != size)
+                throw new Exception("deflate value is error!");
+        } catch (DataFormatException ex) {
+            throw new Exception("deflate value is error!", ex);
+        }
+
+        return out;
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metric;
 import org.springframework.data.geo.Point;
-import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisGeoCommands.GeoRadiusCommandArgs;
 import org.springframework.data.redis.domain.geo.Metrics;
 
@@ -27,16 +26,16 @@ public class GeoCache extends RedisCache implements IGeoCache {
     /**
      * GeoCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
      * @throws Exception
      */
-    public GeoCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix)
+    public GeoCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix)
             throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
     }
 
     /**
@@ -54,10 +53,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
         if (name == null || name.isEmpty())
             throw new Exception("name is null!");
         var point = GeoPos.toPoint(lon, lat);
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var r = this.redis.geoCommands().geoAdd(getBytes(cachekey), point, getBytes(name));
+        var redis = this.getConnection(db);
+        var r = redis.geoCommands().geoAdd(cachekey, point, getBytes(name));
 
         return r != null && r > 0;
     }
@@ -118,10 +117,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
             map.put(getBytes(gm.Name), new Point(gm.Position.Lon, gm.Position.Lat));
         }
 
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var r = this.redis.geoCommands().geoAdd(getBytes(cachekey), map);
+        var redis = this.getConnection(db);
+        var r = redis.geoCommands().geoAdd(cachekey, map);
 
         return r == null ? 0 : r;
     }
@@ -138,10 +137,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
     public GeoPos get(String name, Object... args) throws Exception {
         if (name == null || name.isEmpty())
             throw new Exception("name is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var rlist = this.redis.geoCommands().geoPos(getBytes(cachekey), getBytes(name));
+        var redis = this.getConnection(db);
+        var rlist = redis.geoCommands().geoPos(cachekey, getBytes(name));
         GeoPos m = null;
         if (rlist != null && rlist.size() > 0) {
             var p = rlist.get(0);
@@ -172,10 +171,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
                 throw new Exception("name is null!");
             marr[i] = getBytes(name);
         }
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var rlist = this.redis.geoCommands().geoPos(getBytes(cachekey), marr);
+        var redis = this.getConnection(db);
+        var rlist = redis.geoCommands().geoPos(cachekey, marr);
         List<GeoPos> list = null;
         if (rlist != null) {
             list = new ArrayList<GeoPos>(rlist.size());
@@ -217,10 +216,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
             throw new Exception("firstName is null!");
         if (secondName == null || secondName.isEmpty())
             throw new Exception("secondName is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var r = this.redis.geoCommands().geoDist(getBytes(cachekey), getBytes(firstName), getBytes(secondName),
+        var redis = this.getConnection(db);
+        var r = redis.geoCommands().geoDist(cachekey, getBytes(firstName), getBytes(secondName),
                 this.getMetric(unit));
 
         return r != null ? r.getValue() : null;
@@ -238,10 +237,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
     public String getGeoHash(String name, Object... args) throws Exception {
         if (name == null || name.isEmpty())
             throw new Exception("name is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var rlist = this.redis.geoCommands().geoHash(getBytes(cachekey), getBytes(name));
+        var redis = this.getConnection(db);
+        var rlist = redis.geoCommands().geoHash(cachekey, getBytes(name));
 
         return rlist != null && rlist.size() > 0 ? rlist.get(0) : null;
     }
@@ -267,10 +266,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
                 throw new Exception("name is null!");
             marr[i] = getBytes(name);
         }
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var rlist = this.redis.geoCommands().geoHash(getBytes(cachekey), marr);
+        var redis = this.getConnection(db);
+        var rlist = redis.geoCommands().geoHash(cachekey, marr);
 
         return rlist;
     }
@@ -287,10 +286,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
     public boolean delete(String name, Object... args) throws Exception {
         if (name == null || name.isEmpty())
             throw new Exception("name is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var r = this.redis.geoCommands().geoRemove(getBytes(cachekey), getBytes(name));
+        var redis = this.getConnection(db);
+        var r = redis.geoCommands().geoRemove(cachekey, getBytes(name));
 
         return r != null && r > 0;
     }
@@ -330,12 +329,12 @@ public class GeoCache extends RedisCache implements IGeoCache {
             throw new Exception("name is null!");
         if (radius < 0)
             throw new Exception("radius = " + radius + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
+        var redis = this.getConnection(db);
         var distance = new Distance(radius, getMetric(unit));
         var op = this.getOption(radiusOptions, count, sort);
-        var rlist = this.redis.geoCommands().geoRadiusByMember(getBytes(cachekey), getBytes(name), distance, op);
+        var rlist = redis.geoCommands().geoRadiusByMember(cachekey, getBytes(name), distance, op);
         ArrayList<GeoRadius> list = null;
         if (rlist != null) {
             var rclist = rlist.getContent();
@@ -376,13 +375,13 @@ public class GeoCache extends RedisCache implements IGeoCache {
     public List<GeoRadius> getRadius(double lon, double lat, double radius, DistUnit unit, int count, Sort sort,
             int radiusOptions, Object... args) throws Exception {
         var point = GeoPos.toPoint(lon, lat);
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
+        var redis = this.getConnection(db);
         var distance = new Distance(radius, getMetric(unit));
         var circle = new Circle(point, distance);
         var op = this.getOption(radiusOptions, count, sort);
-        var rlist = this.redis.geoCommands().geoRadius(getBytes(cachekey), circle, op);
+        var rlist = redis.geoCommands().geoRadius(cachekey, circle, op);
         ArrayList<GeoRadius> list = null;
         if (rlist != null) {
             var rclist = rlist.getContent();
@@ -414,10 +413,10 @@ public class GeoCache extends RedisCache implements IGeoCache {
      */
     @Override
     public long getCount(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var count = this.redis.zSetCommands().zCount(getBytes(cachekey), Double.MIN_VALUE, Double.MAX_VALUE);
+        var redis = this.getConnection(db);
+        var count = redis.zSetCommands().zCount(cachekey, Double.MIN_VALUE, Double.MAX_VALUE);
 
         return count == null ? 0 : count;
     }
@@ -1,43 +1,62 @@
 package cn.myafx.cache.base;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 
 import cn.myafx.cache.ICacheCursor;
 import cn.myafx.cache.ICacheKey;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 
 public class HashCache<TField, TValue> extends RedisCache implements IHashCache<TField, TValue> {
-    private Class<TField> fieldClass;
-    private Class<TValue> valueClass;
+    private static final byte[] GETALL_TTL_SCRIPT = ("local v = redis.call('hgetall', KEYS[1]) "
+            + "if #v == 0 then return nil end return {v, redis.call('pttl', KEYS[1])}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    protected Class<TField> fieldClass;
+    protected Class<TValue> valueClass;
+    /**
+     * 并发 getValue 合并, 未配置 batchwindow 时为 null
+     */
+    private ReadBatcher readBatcher;
 
     /**
      * HashCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
-     * @param fieldClass      TField.class
-     * @param valueClass      TValue.class
+     * @param node       缓存key配置db节点
+     * @param item       缓存key配置项
+     * @param provider   IRedisConnectionProvider
+     * @param cacheKey   ICacheKey
+     * @param prefix     缓存前缀
+     * @param fieldClass TField.class
+     * @param valueClass TValue.class
      * @throws Exception
      */
-    public HashCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix,
+    public HashCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix,
             Class<TField> fieldClass, Class<TValue> valueClass) throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
         if (fieldClass == null)
             throw new Exception("fieldClass is null!");
         if (valueClass == null)
             throw new Exception("valueClass is null!");
         this.fieldClass = fieldClass;
         this.valueClass = valueClass;
+        this.enableNearCache();
+        this.readBatcher = ReadBatcher.create(this.keyConfig.BatchWindow, this.keyConfig.BatchSize,
+                this::fetchBatch);
     }
 
     /**
@@ -51,20 +70,23 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public boolean set(TField field, TValue value, Object... args) throws Exception {
+        return this.set(field, value, this.bindKey(args));
+    }
+
+    protected boolean set(TField field, TValue value, BoundKey key) throws Exception {
         if (field == null)
             throw new Exception("field is null!");
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hSet(cachekeyBytes, serialize(field), serialize(value));
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hSet(key.Key, serialize(field), serialize(value));
+        this.invalidate(key);
 
         return r == null ? false : true;
     }
 
     /// <param name="args">缓存key参数</param>
     /**
-     * 添加或更新数据
+     * 添加或更新数据, value 为 null 的 hash key 删除;
+     * 按 CHUNK_SIZE 分多个 HSET、HDEL 命令, lettuce 连接时连续发送后统一等待
      * 
      * @param map  Map
      * @param args 缓存key参数
@@ -72,31 +94,97 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public void addOrUpdate(Map<TField, TValue> map, Object... args) throws Exception {
+        this.addOrUpdate(map, false, this.bindKey(args));
+    }
+
+    /**
+     * 添加或更新数据, 并按配置 expire 刷新过期时间
+     * 
+     * @param map  Map
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public void addOrUpdateAndExpire(Map<TField, TValue> map, Object... args) throws Exception {
+        this.addOrUpdate(map, true, this.bindKey(args));
+    }
+
+    protected void addOrUpdate(Map<TField, TValue> map, BoundKey key) throws Exception {
+        this.addOrUpdate(map, false, key);
+    }
+
+    protected void addOrUpdate(Map<TField, TValue> map, boolean expire, BoundKey key) throws Exception {
         if (map == null)
             throw new Exception("map is null!");
-        var hmap = new HashMap<byte[], byte[]>(map.size());
+        var commands = this.getAsyncCommands(key.Db);
+        var redis = commands == null ? this.getConnection(key.Db) : null;
+        List<Future<?>> futures = new ArrayList<>();
+        Map<byte[], byte[]> hmap = new HashMap<>();
         List<byte[]> dels = new ArrayList<>();
         for (var h : map.entrySet()) {
             if (h.getKey() == null)
                 throw new Exception("map.key is null!");
-            if (h.getValue() == null)
+            if (h.getValue() == null) {
                 dels.add(serialize(h.getKey()));
+                if (dels.size() == CHUNK_SIZE) {
+                    this.hDel(commands, redis, key, dels, futures);
+                    dels = new ArrayList<>();
+                }
+            } else {
+                hmap.put(serialize(h.getKey()), serialize(h.getValue()));
+                if (hmap.size() == CHUNK_SIZE) {
+                    this.hSet(commands, redis, key, hmap, futures);
+                    hmap = new HashMap<>();
+                }
+            }
+        }
+        if (hmap.size() > 0)
+            this.hSet(commands, redis, key, hmap, futures);
+        if (dels.size() > 0)
+            this.hDel(commands, redis, key, dels, futures);
+        var expireSeconds = expire ? this.getExpire() : null;
+        if (expireSeconds != null && expireSeconds > 0) {
+            if (commands != null)
+                futures.add(commands.expire(key.Key, expireSeconds));
             else
-                hmap.put(serialize(h.getValue()), serialize(h.getValue()));
+                redis.keyCommands().expire(key.Key, expireSeconds);
         }
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        this.redis.hashCommands().hMSet(cachekeyBytes, hmap);
-        if (dels.size() > 0) {
-            var delarr = new byte[dels.size()][];
-            for (var i = 0; i < dels.size(); i++)
-                delarr[i] = dels.get(i);
-            this.redis.hashCommands().hDel(cachekeyBytes, delarr);
+        try {
+            this.await(futures);
+        } finally {
+            this.invalidate(key);
         }
     }
 
+    private void hSet(RedisClusterAsyncCommands<byte[], byte[]> commands, RedisConnection redis, BoundKey key,
+            Map<byte[], byte[]> hmap, List<Future<?>> futures) {
+        if (commands != null)
+            futures.add(commands.hset(key.Key, hmap));
+        else
+            redis.hashCommands().hMSet(key.Key, hmap);
+    }
+
+    private void hDel(RedisClusterAsyncCommands<byte[], byte[]> commands, RedisConnection redis, BoundKey key,
+            List<byte[]> dels, List<Future<?>> futures) {
+        var delarr = dels.toArray(new byte[dels.size()][]);
+        if (commands != null)
+            futures.add(commands.hdel(key.Key, delarr));
+        else
+            redis.hashCommands().hDel(key.Key, delarr);
+    }
+
+    /**
+     * 绑定缓存key, key 及 db 只解析一次, 同一key多次操作时使用
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public IBoundHashCache<TField, TValue> bind(Object... args) throws Exception {
+        return new BoundHashCache<>(this, this.bindKey(args));
+    }
+
     /**
      * 获取数据
      * 
@@ -106,11 +194,12 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public Map<TField, TValue> get(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var rmap = this.redis.hashCommands().hGetAll(cachekeyBytes);
+        return this.get(this.bindKey(args));
+    }
+
+    protected Map<TField, TValue> get(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var rmap = redis.hashCommands().hGetAll(key.Key);
         Map<TField, TValue> map = null;
         if (rmap != null) {
             map = new HashMap<>(rmap.size());
@@ -131,13 +220,26 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public TValue getValue(TField field, Object... args) throws Exception {
+        return this.getValue(field, this.bindKey(args));
+    }
+
+    protected TValue getValue(TField field, BoundKey key) throws Exception {
         if (field == null)
             throw new Exception("field is null!");
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hGet(cachekeyBytes, serialize(field));
+        var fieldBytes = serialize(field);
+        var near = this.getNearCache();
+        long version = 0;
+        if (near != null) {
+            version = near.getVersion();
+            var nv = near.get(key.Key, fieldBytes);
+            if (nv != null)
+                return deserialize(nv == NearCache.NULL_VALUE ? null : (byte[]) nv, valueClass);
+        }
+        var batcher = this.readBatcher;
+        var r = batcher != null ? batcher.get(key, fieldBytes)
+                : this.getConnection(key.Db).hashCommands().hGet(key.Key, fieldBytes);
+        if (near != null)
+            near.put(key.Key, fieldBytes, r == null ? NearCache.NULL_VALUE : r, version);
         var v = deserialize(r, valueClass);
 
         return v;
@@ -153,6 +255,10 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public List<TValue> getValue(List<TField> fields, Object... args) throws Exception {
+        return this.getValue(fields, this.bindKey(args));
+    }
+
+    protected List<TValue> getValue(List<TField> fields, BoundKey key) throws Exception {
         if (fields == null)
             throw new Exception("fields is null!");
         if (fields.size() == 0)
@@ -164,20 +270,45 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
                 throw new Exception("fields item is null!");
             karr[i] = serialize(k);
         }
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hMGet(cachekeyBytes, karr);
-        List<TValue> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var b : r) {
-                list.add(deserialize(b, valueClass));
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hMGet(key.Key, karr);
+
+        return r != null ? deserializeList(r, valueClass) : null;
+    }
+
+    /**
+     * 合并的 getValue, 同一 key 的 field 一次 HMGET, lettuce 连接时各 key 同时发送
+     */
+    private byte[][] fetchBatch(List<ReadBatcher.Request> requests) throws Exception {
+        int n = requests.size();
+        Map<ByteArrayWrapper, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            groups.computeIfAbsent(new ByteArrayWrapper(requests.get(i).key.Key), k -> new ArrayList<>()).add(i);
+        }
+        var buffers = new byte[n][];
+        List<Future<?>> futures = new ArrayList<>(groups.size());
+        for (var index : groups.values()) {
+            var key = requests.get(index.get(0)).key;
+            var farr = new byte[index.size()][];
+            for (int j = 0; j < farr.length; j++)
+                farr[j] = requests.get(index.get(j)).field;
+            var commands = this.getAsyncCommands(key.Db);
+            if (commands != null) {
+                futures.add(commands.hmget(key.Key, farr).thenAccept(r -> {
+                    for (int j = 0; j < r.size(); j++)
+                        buffers[index.get(j)] = r.get(j).getValueOrElse(null);
+                }).toCompletableFuture());
+            } else {
+                var r = this.getConnection(key.Db).hashCommands().hMGet(key.Key, farr);
+                if (r != null) {
+                    for (int j = 0; j < r.size(); j++)
+                        buffers[index.get(j)] = r.get(j);
+                }
             }
         }
+        this.await(futures);
 
-        return list;
+        return buffers;
     }
 
     /**
@@ -189,11 +320,12 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public List<TField> geTFields(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hKeys(cachekeyBytes);
+        return this.geTFields(this.bindKey(args));
+    }
+
+    protected List<TField> geTFields(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hKeys(key.Key);
         List<TField> list = null;
         if (r != null) {
             list = new ArrayList<>(r.size());
@@ -214,20 +346,14 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public List<TValue> getValues(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hVals(cachekeyBytes);
-        List<TValue> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var b : r) {
-                list.add(deserialize(b, valueClass));
-            }
-        }
+        return this.getValues(this.bindKey(args));
+    }
 
-        return list;
+    protected List<TValue> getValues(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hVals(key.Key);
+
+        return r != null ? deserializeList(r, valueClass) : null;
     }
 
     /**
@@ -239,11 +365,12 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public long getCount(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hLen(cachekeyBytes);
+        return this.getCount(this.bindKey(args));
+    }
+
+    protected long getCount(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hLen(key.Key);
 
         return r == null ? 0 : r;
     }
@@ -258,11 +385,12 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public boolean exists(TField field, Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hExists(cachekeyBytes, serialize(field));
+        return this.exists(field, this.bindKey(args));
+    }
+
+    protected boolean exists(TField field, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hExists(key.Key, serialize(field));
 
         return r == null ? false : r;
     }
@@ -277,11 +405,13 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public boolean delete(TField field, Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hDel(cachekeyBytes, serialize(field));
+        return this.delete(field, this.bindKey(args));
+    }
+
+    protected boolean delete(TField field, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hDel(key.Key, serialize(field));
+        this.invalidate(key);
 
         return r != null && r > 0;
     }
@@ -296,6 +426,10 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public long delete(List<TField> fields, Object... args) throws Exception {
+        return this.delete(fields, this.bindKey(args));
+    }
+
+    protected long delete(List<TField> fields, BoundKey key) throws Exception {
         if (fields == null)
             throw new Exception("fields is null!");
         if (fields.size() == 0)
@@ -307,11 +441,9 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
                 throw new Exception("fields item is null!");
             karr[i] = serialize(k);
         }
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hDel(cachekeyBytes, karr);
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hDel(key.Key, karr);
+        this.invalidate(key);
 
         return r == null ? 0 : r;
     }
@@ -327,13 +459,15 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public long increment(TField field, long incrementValue, Object... args) throws Exception {
+        return this.increment(field, incrementValue, this.bindKey(args));
+    }
+
+    protected long increment(TField field, long incrementValue, BoundKey key) throws Exception {
         if (field == null)
             throw new Exception("field is null!");
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hIncrBy(cachekeyBytes, serialize(field), incrementValue);
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hIncrBy(key.Key, serialize(field), incrementValue);
+        this.invalidate(key);
 
         return r == null ? 0 : r;
     }
@@ -349,13 +483,15 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public long decrement(TField field, long decrementValue, Object... args) throws Exception {
+        return this.decrement(field, decrementValue, this.bindKey(args));
+    }
+
+    protected long decrement(TField field, long decrementValue, BoundKey key) throws Exception {
         if (field == null)
             throw new Exception("field is null!");
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.hashCommands().hIncrBy(cachekeyBytes, serialize(field), -decrementValue);
+        var redis = this.getConnection(key.Db);
+        var r = redis.hashCommands().hIncrBy(key.Key, serialize(field), -decrementValue);
+        this.invalidate(key);
 
         return r == null ? 0 : r;
     }
@@ -371,18 +507,182 @@ public class HashCache<TField, TValue> extends RedisCache implements IHashCache<
      */
     @Override
     public ICacheCursor<Map.Entry<TField, TValue>> scan(String pattern, int count, Object... args) throws Exception {
+        return this.scan(pattern, count, this.bindKey(args));
+    }
+
+    protected ICacheCursor<Map.Entry<TField, TValue>> scan(String pattern, int count, BoundKey key) throws Exception {
         if (pattern == null)
             throw new Exception("pattern is null!");
-        String cachekey = this.getCacheKey(args);
-        int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var op = ScanOptions.scanOptions().count(count).match(serialize(pattern)).build();
-        var r = this.redis.hashCommands().hScan(cachekeyBytes, op);
+        var redis = this.getConnection(key.Db);
+        var op = ScanOptions.scanOptions().count(count).match(getBytes(pattern)).build();
+        var r = redis.hashCommands().hScan(key.Key, op);
+
+        return new HashCursor(r, fieldClass, valueClass);
+    }
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大 hash 的 get
+     * 
+     * @param count 游标页大小
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public ICacheCursor<Map.Entry<TField, TValue>> getCursor(int count, Object... args) throws Exception {
+        return this.getCursor(count, this.bindKey(args));
+    }
+
+    protected ICacheCursor<Map.Entry<TField, TValue>> getCursor(int count, BoundKey key) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var redis = this.getConnection(key.Db);
+        var op = ScanOptions.scanOptions().count(count).build();
+        var r = redis.hashCommands().hScan(key.Key, op);
 
         return new HashCursor(r, fieldClass, valueClass);
     }
 
+    /**
+     * 获取数据, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * 
+     * @param loader 加载
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Map<TField, TValue> getOrLoad(Callable<Map<TField, TValue>> loader, Object... args) throws Exception {
+        return this.getOrLoad(loader, this.bindKey(args));
+    }
+
+    protected Map<TField, TValue> getOrLoad(Callable<Map<TField, TValue>> loader, BoundKey key) throws Exception {
+        if (loader == null)
+            throw new Exception("loader is null!");
+        var map = this.refreshAhead != null ? this.getAndRefresh(loader, key) : this.get(key);
+        if (map != null && map.size() > 0)
+            return map;
+
+        return this.singleFlight.execute(key.Key, () -> this.load(loader, key));
+    }
+
+    /**
+     * 获取数据, 同时读取剩余过期时间, 已过 refresh 比例时后台刷新
+     * 
+     * @param loader 加载
+     * @param key    已解析的缓存key
+     * @return 不存在返回 null
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<TField, TValue> getAndRefresh(Callable<Map<TField, TValue>> loader, BoundKey key)
+            throws Exception {
+        var redis = this.getConnection(key.Db);
+        List<Object> r = redis.scriptingCommands().eval(GETALL_TTL_SCRIPT, ReturnType.MULTI, 1, key.Key);
+        if (r == null || r.size() != 2)
+            return null;
+        var list = (List<byte[]>) r.get(0);
+        Map<TField, TValue> map = new HashMap<>(list.size() / 2);
+        for (int i = 0; i + 1 < list.size(); i += 2) {
+            map.put(deserialize(list.get(i), fieldClass), deserialize(list.get(i + 1), valueClass));
+        }
+        this.refreshAhead.check(key.Key, (Long) r.get(1), () -> this.loadAndSet(loader, key, true));
+
+        return map;
+    }
+
+    /**
+     * 调用 loader 加载并写入缓存, 加载前再检查一次, 避免刚完成的加载被重复执行;
+     * 配置 loadlock 时多进程只有一个进程加载
+     * 
+     * @param loader 加载
+     * @param key    已解析的缓存key
+     * @return
+     * @throws Exception
+     */
+    protected Map<TField, TValue> load(Callable<Map<TField, TValue>> loader, BoundKey key) throws Exception {
+        var map = this.get(key);
+        if (map != null && map.size() > 0)
+            return map;
+
+        return this.leaseLoad(key, () -> {
+            var m = this.get(key);
+            return m != null && m.size() > 0 ? m : null;
+        }, () -> this.loadAndSet(loader, key, false));
+    }
+
+    /**
+     * 调用 loader 加载并写入缓存, 按 CHUNK_SIZE 分多个 HSET、HDEL 命令
+     * 
+     * @param loader  加载
+     * @param key     已解析的缓存key
+     * @param replace 是否移除加载结果中已不存在的 hash key, 刷新时使用
+     * @return
+     * @throws Exception
+     */
+    private Map<TField, TValue> loadAndSet(Callable<Map<TField, TValue>> loader, BoundKey key, boolean replace)
+            throws Exception {
+        var map = loader.call();
+        if (map == null || map.size() == 0)
+            return map;
+        var commands = this.getAsyncCommands(key.Db);
+        var redis = commands == null ? this.getConnection(key.Db) : null;
+        List<Future<?>> futures = new ArrayList<>();
+        var fields = new HashSet<ByteArrayWrapper>(map.size());
+        Map<byte[], byte[]> hmap = new HashMap<>();
+        for (var h : map.entrySet()) {
+            if (h.getKey() == null)
+                throw new Exception("map.key is null!");
+            if (h.getValue() == null)
+                continue;
+            var f = serialize(h.getKey());
+            fields.add(new ByteArrayWrapper(f));
+            hmap.put(f, serialize(h.getValue()));
+            if (hmap.size() == CHUNK_SIZE) {
+                this.hSet(commands, redis, key, hmap, futures);
+                hmap = new HashMap<>();
+            }
+        }
+        if (fields.size() == 0)
+            return map;
+        if (hmap.size() > 0)
+            this.hSet(commands, redis, key, hmap, futures);
+        try {
+            if (replace) {
+                this.await(futures);
+                futures.clear();
+                var keys = this.getConnection(key.Db).hashCommands().hKeys(key.Key);
+                List<byte[]> dels = new ArrayList<>();
+                if (keys != null) {
+                    for (var f : keys) {
+                        if (fields.contains(new ByteArrayWrapper(f)))
+                            continue;
+                        dels.add(f);
+                        if (dels.size() == CHUNK_SIZE) {
+                            this.hDel(commands, redis, key, dels, futures);
+                            dels = new ArrayList<>();
+                        }
+                    }
+                }
+                if (dels.size() > 0)
+                    this.hDel(commands, redis, key, dels, futures);
+            }
+            var expire = this.getExpire();
+            if (expire != null && expire > 0) {
+                if (commands != null)
+                    futures.add(commands.expire(key.Key, expire));
+                else
+                    redis.keyCommands().expire(key.Key, expire);
+            }
+            this.await(futures);
+        } finally {
+            this.invalidate(key);
+        }
+
+        return map;
+    }
+
     public class HEntry implements Entry<TField, TValue> {
 
         private TField key;
@@ -1,8 +1,83 @@
 package cn.myafx.cache.base;
 
+import java.util.concurrent.Executor;
+
+import cn.myafx.cache.CacheKeyConfig;
+import cn.myafx.cache.ICacheCodec;
+import cn.myafx.cache.IJsonMapper;
+
 /**
  *  IBaseCache 
  */
 public abstract interface IBaseCache extends AutoCloseable {
-    
+    /**
+     * setJsonMapper
+     */
+    void setJsonMapper(IJsonMapper mapper);
+
+    /**
+     * 设置值编解码, 覆盖 codec 配置; null 使用 IJsonMapper
+     */
+    void setCodec(ICacheCodec codec);
+
+    /**
+     * 设置并行反序列化线程池, 配置 paralleldecode 时使用; null 不并行
+     */
+    void setDecodeExecutor(Executor executor);
+
+    /**
+     * 缓存key配置
+     * 
+     * @return
+     */
+    CacheKeyConfig getKeyConfig();
+
+    /**
+     * 配置过期时间, 已加 jitter 随机抖动
+     * 
+     * @return 秒, 未配置返回 null
+     */
+    Integer getExpire();
+
+    /**
+     * 获取完整缓存key
+     * 
+     * @param args 缓存key参数
+     * @return key
+     * @throws Exception
+     */
+    String getCacheKey(Object[] args) throws Exception;
+
+    /**
+     * 获取完整key所在db
+     * 
+     * @param cachekey 完整缓存key
+     * @return
+     */
+    int getCacheDb(String cachekey);
+
+    /**
+     * 获取完整key所在db
+     * 
+     * @param cachekey 完整缓存key utf-8 字节
+     * @return
+     */
+    int getCacheDb(byte[] cachekey);
+
+    /**
+     * 获取完整key所在集群 slot
+     * 
+     * @param cachekey 完整缓存key
+     * @return
+     * @throws Exception
+     */
+    int getCacheSlot(String cachekey) throws Exception;
+
+    /**
+     * 获取完整key所在集群 slot
+     * 
+     * @param cachekey 完整缓存key utf-8 字节
+     * @return
+     */
+    int getCacheSlot(byte[] cachekey);
 }
@@ -0,0 +1,147 @@
+package cn.myafx.cache.base;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import cn.myafx.cache.ICacheCursor;
+
+/**
+ * 绑定缓存key的 hash 操作句柄
+ */
+public interface IBoundHashCache<TField, TValue> extends IBoundRedisCache {
+    /**
+     * 添加或更新数据
+     * @param field hash key
+     * @param value hash value
+     * @return
+     * @throws Exception
+     */
+    boolean set(TField field, TValue value) throws Exception;
+
+    /**
+     * 添加或更新数据
+     * @param map Map
+     * @throws Exception
+     */
+    void addOrUpdate(Map<TField, TValue> map) throws Exception;
+
+    /**
+     * 添加或更新数据, 并按配置 expire 刷新过期时间
+     * @param map Map
+     * @throws Exception
+     */
+    void addOrUpdateAndExpire(Map<TField, TValue> map) throws Exception;
+
+    /**
+     * 获取数据
+     * @return
+     * @throws Exception
+     */
+    Map<TField, TValue> get() throws Exception;
+
+    /**
+     * 获取数据
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    TValue getValue(TField field) throws Exception;
+
+    /**
+     * 获取数据
+     * @param fields hash key
+     * @return
+     * @throws Exception
+     */
+    List<TValue> getValue(List<TField> fields) throws Exception;
+
+    /**
+     * 获取hash key
+     * @return
+     * @throws Exception
+     */
+    List<TField> geTFields() throws Exception;
+
+    /**
+     * 获取hash value
+     * @return
+     * @throws Exception
+     */
+    List<TValue> getValues() throws Exception;
+
+    /**
+     * 获取hash key 数量
+     * @return
+     * @throws Exception
+     */
+    long getCount() throws Exception;
+
+    /**
+     * 是否存在hash key
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    boolean exists(TField field) throws Exception;
+
+    /**
+     * 移除hash key
+     * @param field hash key
+     * @return
+     * @throws Exception
+     */
+    boolean delete(TField field) throws Exception;
+
+    /**
+     * 移除hash key
+     * @param fields hash key
+     * @return
+     * @throws Exception
+     */
+    long delete(List<TField> fields) throws Exception;
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * @param field hash key
+     * @param incrementValue 增量
+     * @return
+     * @throws Exception
+     */
+    long increment(TField field, long incrementValue) throws Exception;
+
+    /**
+     * hash value 原子自减，TValue 必须是 long、int类型
+     * @param field hash key
+     * @param decrementValue 自减量
+     * @return
+     * @throws Exception
+     */
+    long decrement(TField field, long decrementValue) throws Exception;
+
+    /**
+     * 游标方式读取数据
+     * @param pattern 搜索表达式
+     * @param count 游标页大小
+     * @return
+     * @throws Exception
+     */
+    ICacheCursor<Map.Entry<TField, TValue>> scan(String pattern, int count) throws Exception;
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大 hash 的 get
+     * @param count 游标页大小
+     * @return
+     * @throws Exception
+     */
+    ICacheCursor<Map.Entry<TField, TValue>> getCursor(int count) throws Exception;
+
+    /**
+     * 获取数据, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * @param loader 加载
+     * @return
+     * @throws Exception
+     */
+    Map<TField, TValue> getOrLoad(Callable<Map<TField, TValue>> loader) throws Exception;
+}
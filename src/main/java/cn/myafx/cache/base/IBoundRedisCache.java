@@ -0,0 +1,39 @@
+package cn.myafx.cache.base;
+
+/**
+ * 绑定缓存key的操作句柄, key 及 db 只解析一次
+ */
+public interface IBoundRedisCache {
+    /**
+     * 缓存key是否存在
+     * 
+     * @return
+     * @throws Exception
+     */
+    boolean contains() throws Exception;
+
+    /**
+     * 移除缓存
+     * 
+     * @return
+     * @throws Exception
+     */
+    boolean remove() throws Exception;
+
+    /**
+     * 设置缓存有效时间
+     * 
+     * @param expireSeconds 缓存有效时间, 秒, null or &lt;= 0 永久
+     * @return
+     * @throws Exception
+     */
+    boolean expire(Integer expireSeconds) throws Exception;
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     * 
+     * @return
+     * @throws Exception
+     */
+    boolean expire() throws Exception;
+}
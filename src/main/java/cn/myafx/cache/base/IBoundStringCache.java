@@ -0,0 +1,75 @@
+package cn.myafx.cache.base;
+
+import java.util.concurrent.Callable;
+
+import cn.myafx.cache.CacheValue;
+import cn.myafx.cache.OpWhen;
+
+/**
+ * 绑定缓存key的 string key value 操作句柄
+ */
+public interface IBoundStringCache<T> extends IBoundRedisCache {
+    /**
+     * 获取缓存
+     * @return
+     * @throws Exception
+     */
+    T get() throws Exception;
+
+    /**
+     * 获取缓存, 区分未缓存与已缓存不存在标记
+     * @return
+     * @throws Exception
+     */
+    CacheValue<T> find() throws Exception;
+
+    /**
+     * 写入不存在标记, 过期时间为配置 missexpire, 未配置抛出异常
+     * @throws Exception
+     */
+    void markMissing() throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param when when
+     * @return
+     * @throws Exception
+     */
+    boolean set(T m, OpWhen when) throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when 操作类型
+     * @return
+     * @throws Exception
+     */
+    boolean set(T m, int expireSeconds, OpWhen when) throws Exception;
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * @param incrementValue 增量
+     * @return
+     * @throws Exception
+     */
+    long increment(long incrementValue) throws Exception;
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * @param decrementValue 减量
+     * @return
+     * @throws Exception
+     */
+    long decrement(long decrementValue) throws Exception;
+
+    /**
+     * 获取缓存, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * @param loader 加载
+     * @return
+     * @throws Exception
+     */
+    T getOrLoad(Callable<T> loader) throws Exception;
+}
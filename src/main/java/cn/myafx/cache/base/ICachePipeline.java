@@ -0,0 +1,407 @@
+package cn.myafx.cache.base;
+
+import java.util.List;
+import java.util.Map;
+
+import cn.myafx.cache.GeoPos;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.Sort;
+
+/**
+ * 缓存命令管道, 命令先入队, execute 时按db分组, 每个db一次发送
+ */
+public interface ICachePipeline extends AutoCloseable {
+
+    /**
+     * 移除缓存
+     * 
+     * @param cache 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<Boolean> remove(IRedisCache cache, Object... args) throws Exception;
+
+    /**
+     * 缓存key是否存在
+     * 
+     * @param cache 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<Boolean> contains(IRedisCache cache, Object... args) throws Exception;
+
+    /**
+     * 设置缓存有效时间
+     * 
+     * @param cache         缓存
+     * @param expireSeconds 缓存有效时间, 秒, null or &lt;= 0 永久
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<Boolean> expire(IRedisCache cache, Integer expireSeconds, Object... args) throws Exception;
+
+    /**
+     * 获取缓存
+     * 
+     * @param cache string 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<T> get(IStringCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * 
+     * @param cache string 缓存
+     * @param m     缓存数据
+     * @param when  操作类型
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> set(IStringCache<T> cache, T m, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * 
+     * @param cache         string 缓存
+     * @param m             缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when          操作类型
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> set(IStringCache<T> cache, T m, int expireSeconds, OpWhen when, Object... args)
+            throws Exception;
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * 
+     * @param cache          string 缓存
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> increment(IStringCache<T> cache, long incrementValue, Object... args) throws Exception;
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * 
+     * @param cache          string 缓存
+     * @param decrementValue 减量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> decrement(IStringCache<T> cache, long decrementValue, Object... args) throws Exception;
+
+    /**
+     * 添加或更新 hash 数据
+     * 
+     * @param cache hash 缓存
+     * @param field hash key
+     * @param value hash value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<Boolean> set(IHashCache<TField, TValue> cache, TField field, TValue value,
+            Object... args) throws Exception;
+
+    /**
+     * 获取 hash 数据
+     * 
+     * @param cache hash 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<Map<TField, TValue>> get(IHashCache<TField, TValue> cache, Object... args)
+            throws Exception;
+
+    /**
+     * 获取 hash 数据
+     * 
+     * @param cache hash 缓存
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<TValue> getValue(IHashCache<TField, TValue> cache, TField field, Object... args)
+            throws Exception;
+
+    /**
+     * 获取 hash 数据
+     * 
+     * @param cache  hash 缓存
+     * @param fields hash key
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<List<TValue>> getValue(IHashCache<TField, TValue> cache, List<TField> fields,
+            Object... args) throws Exception;
+
+    /**
+     * 移除 hash key
+     * 
+     * @param cache hash 缓存
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<Boolean> delete(IHashCache<TField, TValue> cache, TField field, Object... args)
+            throws Exception;
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * 
+     * @param cache          hash 缓存
+     * @param field          hash key
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<Long> increment(IHashCache<TField, TValue> cache, TField field,
+            long incrementValue, Object... args) throws Exception;
+
+    /**
+     * 获取 hash key 数量
+     * 
+     * @param cache hash 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <TField, TValue> PipelineResult<Long> getCount(IHashCache<TField, TValue> cache, Object... args)
+            throws Exception;
+
+    /**
+     * 添加 set 数据
+     * 
+     * @param cache set 缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> add(ISetCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * 获取 set 集合
+     * 
+     * @param cache set 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<List<T>> get(ISetCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * set value是否存在
+     * 
+     * @param cache set 缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> exist(ISetCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * 移除 set 对象
+     * 
+     * @param cache set 缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> delete(ISetCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * set 集合数量
+     * 
+     * @param cache set 缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> getCount(ISetCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * 添加或更新有序集合数据
+     * 
+     * @param cache 有序集合缓存
+     * @param value value
+     * @param score 排序分
+     * @param when  操作类型
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> addOrUpdate(ISortSetCache<T> cache, T value, double score, OpWhen when,
+            Object... args) throws Exception;
+
+    /**
+     * 增加 score
+     * 
+     * @param cache 有序集合缓存
+     * @param value value
+     * @param score 排序分
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Double> increment(ISortSetCache<T> cache, T value, double score, Object... args)
+            throws Exception;
+
+    /**
+     * 获取有序集合
+     * 
+     * @param cache 有序集合缓存
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<List<T>> get(ISortSetCache<T> cache, long start, long stop, Sort sort, Object... args)
+            throws Exception;
+
+    /**
+     * 移除有序集合数据
+     * 
+     * @param cache 有序集合缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Boolean> delete(ISortSetCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * 添加到链表左边第一个
+     * 
+     * @param cache 链表缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> pushLeft(ILinkListCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * 添加到链表右边第一个
+     * 
+     * @param cache 链表缓存
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> pushRight(ILinkListCache<T> cache, T value, Object... args) throws Exception;
+
+    /**
+     * 获取链表一个范围数据
+     * 
+     * @param cache 链表缓存
+     * @param start 开始位置
+     * @param stop  结束位置，-1.全部
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<List<T>> getRange(ILinkListCache<T> cache, long start, long stop, Object... args)
+            throws Exception;
+
+    /**
+     * 移除并返回链表左边第一个
+     * 
+     * @param cache 链表缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<T> popLeft(ILinkListCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * 移除并返回链表右边第一个
+     * 
+     * @param cache 链表缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<T> popRight(ILinkListCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * 链表数量
+     * 
+     * @param cache 链表缓存
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    <T> PipelineResult<Long> getCount(ILinkListCache<T> cache, Object... args) throws Exception;
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param cache geo 缓存
+     * @param name  位置名称
+     * @param lon   经度
+     * @param lat   纬度
+     * @param args  key 参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<Boolean> addOrUpdate(IGeoCache cache, String name, double lon, double lat, Object... args)
+            throws Exception;
+
+    /**
+     * 获取坐标
+     * 
+     * @param cache geo 缓存
+     * @param name  位置名称
+     * @param args  key 参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<GeoPos> get(IGeoCache cache, String name, Object... args) throws Exception;
+
+    /**
+     * 删除位置点
+     * 
+     * @param cache geo 缓存
+     * @param name  位置名称
+     * @param args  key 参数
+     * @return
+     * @throws Exception
+     */
+    PipelineResult<Boolean> delete(IGeoCache cache, String name, Object... args) throws Exception;
+
+    /**
+     * 已入队未执行命令数量
+     * 
+     * @return
+     */
+    int size();
+
+    /**
+     * 执行已入队命令, 每个db一次发送, 全部返回后再反序列化结果
+     * 
+     * @throws Exception
+     */
+    void execute() throws Exception;
+}
@@ -0,0 +1,15 @@
+package cn.myafx.cache.base;
+
+/**
+ * 多db key 分配算法, 在 cache-key.xml 中通过 dbhash 配置
+ */
+public interface IDbStrategy {
+    /**
+     * 获取完整key 分配的 db 序号
+     * 
+     * @param cachekey 完整缓存key utf-8 字节
+     * @param count    db 数量, &gt; 1
+     * @return db 序号, [0, count)
+     */
+    int getIndex(byte[] cachekey, int count);
+}
@@ -2,6 +2,7 @@ package cn.myafx.cache.base;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import cn.myafx.cache.ICacheCursor;
 
@@ -21,12 +22,20 @@ public interface IHashCache<TField, TValue> extends IRedisCache {
 
     /// <param name="args">缓存key参数</param>
     /**
-     * 添加或更新数据
+     * 添加或更新数据, value 为 null 的 hash key 删除; 大 map 分多个命令写入
      * @param map Map
      * @param args 缓存key参数
      * @throws Exception
      */
     void addOrUpdate(Map<TField, TValue> map, Object... args) throws Exception;
+
+    /**
+     * 添加或更新数据, 并按配置 expire 刷新过期时间
+     * @param map Map
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    void addOrUpdateAndExpire(Map<TField, TValue> map, Object... args) throws Exception;
     /**
      * 获取数据
      * @param args 缓存key参数
@@ -133,4 +142,31 @@ public interface IHashCache<TField, TValue> extends IRedisCache {
      * @throws Exception
      */
     ICacheCursor<Map.Entry<TField, TValue>> scan(String pattern, int count, Object... args) throws Exception;
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大 hash 的 get
+     * @param count 游标页大小
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    ICacheCursor<Map.Entry<TField, TValue>> getCursor(int count, Object... args) throws Exception;
+
+    /**
+     * 绑定缓存key, key 及 db 只解析一次, 同一key多次操作时使用
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    IBoundHashCache<TField, TValue> bind(Object... args) throws Exception;
+
+    /**
+     * 获取数据, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果
+     * @param loader 加载
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Map<TField, TValue> getOrLoad(Callable<Map<TField, TValue>> loader, Object... args) throws Exception;
 }
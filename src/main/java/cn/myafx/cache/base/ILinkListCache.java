@@ -2,6 +2,8 @@ package cn.myafx.cache.base;
 
 import java.util.List;
 
+import cn.myafx.cache.ICacheCursor;
+
 /**
  * 链表接口
  */
@@ -60,6 +62,17 @@ public interface ILinkListCache<T> extends IValueCache<T> {
      * @throws Exception
      */
     List<T> getRange(long start, long stop, Object... args)throws Exception;
+    /**
+     * 游标方式获取一个范围数据, 每页 LRANGE count 个, 逐个反序列化, 代替大范围的 getRange;
+     * 翻页期间列表变化时结果可能重复或遗漏
+     * @param start 开始位置
+     * @param stop 结束位置，-1.全部
+     * @param count 每页数量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    ICacheCursor<T> getRangeCursor(long start, long stop, int count, Object... args) throws Exception;
     /**
      * 插入到那个value后面
      * @param pivot 要插入到那个value后面
@@ -1,38 +1,8 @@
 package cn.myafx.cache.base;
 
-import cn.myafx.cache.CacheKeyConfig;
-import cn.myafx.cache.IJsonMapper;
+import java.util.concurrent.Executor;
 
 public interface IRedisCache extends IBaseCache {
-    /**
-     * setJsonMapper
-     */
-    void setJsonMapper(IJsonMapper mapper);
-
-    /**
-     * 缓存key配置
-     * 
-     * @return
-     */
-    CacheKeyConfig getKeyConfig();
-
-    /**
-     * 获取完整缓存key
-     * 
-     * @param args 缓存key参数
-     * @return key
-     * @throws Exception
-     */
-    String getCacheKey(Object[] args) throws Exception;
-
-    /**
-     * 获取完整key所在db
-     * 
-     * @param cachekey 完整缓存key
-     * @return
-     */
-    int getCacheDb(String cachekey);
-
     /**
      * 缓存key是否存在
      * 
@@ -75,5 +45,12 @@ public interface IRedisCache extends IBaseCache {
      * 
      * @return
      */
-    String ping();
+    String ping() throws Exception;
+
+    /**
+     * 设置提前刷新线程池, 配置 refresh 时使用; null 使用默认有界线程池
+     * 
+     * @param executor 线程池
+     */
+    void setRefreshExecutor(Executor executor);
 }
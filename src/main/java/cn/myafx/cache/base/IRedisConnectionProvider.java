@@ -0,0 +1,36 @@
+package cn.myafx.cache.base;
+
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * redis 连接提供, 按 db 提供连接
+ */
+public interface IRedisConnectionProvider extends AutoCloseable {
+    /**
+     * 获取 db 连接, 返回的连接已在该 db 上
+     * 
+     * @param db redis db
+     * @return RedisConnection
+     * @throws Exception
+     */
+    RedisConnection getConnection(int db) throws Exception;
+
+    /**
+     * 订阅频道, 所有频道共用一个订阅连接, provider close 时取消订阅
+     * 
+     * @param channel  频道
+     * @param listener MessageListener
+     * @throws Exception
+     */
+    void subscribe(byte[] channel, MessageListener listener) throws Exception;
+
+    /**
+     * 是否支持 subscribe, 不支持时不启用本地缓存
+     * 
+     * @return
+     */
+    default boolean canSubscribe() {
+        return true;
+    }
+}
@@ -145,4 +145,13 @@ public interface ISetCache<T> extends IValueCache<T> {
      * @throws Exception
      */
     ICacheCursor<T> scan(String pattern, int count, Object... args) throws Exception;
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大集合的 get
+     * @param count 游标页大小
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    ICacheCursor<T> getCursor(int count, Object... args) throws Exception;
 }
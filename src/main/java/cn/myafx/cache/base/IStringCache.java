@@ -1,5 +1,10 @@
 package cn.myafx.cache.base;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import cn.myafx.cache.CacheValue;
 import cn.myafx.cache.OpWhen;
 
 /**
@@ -53,4 +58,54 @@ public interface IStringCache<T> extends IValueCache<T> {
      * @throws Exception
      */
     long decrement(long decrementValue, Object... args) throws Exception;
+
+    /**
+     * 绑定缓存key, key 及 db 只解析一次, 同一key多次操作时使用
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    IBoundStringCache<T> bind(Object... args) throws Exception;
+
+    /**
+     * 批量获取缓存, 按 db 分组每组一次 MGET
+     * @param argsList 每个缓存key参数
+     * @return 与 argsList 顺序一致, 不存在为 null
+     * @throws Exception
+     */
+    List<T> getMany(List<Object[]> argsList) throws Exception;
+
+    /**
+     * 批量添加或更新, value 为 null 时删除; 按 db 分组连续发送
+     * @param map 缓存key参数 - 缓存数据
+     * @param expireSeconds 缓存有效时间,秒, &lt;= 0 不过期
+     * @throws Exception
+     */
+    void setMany(Map<Object[], T> map, int expireSeconds) throws Exception;
+
+    /**
+     * 获取缓存, 区分未缓存与已缓存不存在标记
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    CacheValue<T> find(Object... args) throws Exception;
+
+    /**
+     * 写入不存在标记, 过期时间为配置 missexpire, 未配置抛出异常
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    void markMissing(Object... args) throws Exception;
+
+    /**
+     * 获取缓存, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果;
+     * 配置 missexpire 时已缓存不存在标记直接返回 null, 不调用 loader
+     * @param loader 加载
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    T getOrLoad(Callable<T> loader, Object... args) throws Exception;
 }
@@ -0,0 +1,92 @@
+package cn.myafx.cache.base;
+
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.myafx.cache.ICacheCodec;
+
+/**
+ * Jackson utf-8 json 编解码, String 原样写入, 与 IJsonMapper 格式兼容;
+ * 默认 ObjectMapper 时基本类型等不经过 ObjectMapper
+ */
+public class JacksonCodec implements ICacheCodec {
+    protected final ObjectMapper mapper;
+    /**
+     * 基本类型包装类、UUID、enum 等是否直接读写, 不经过 ObjectMapper
+     */
+    protected final boolean scalar;
+
+    /**
+     * JacksonCodec, 默认 ObjectMapper 并注册 classpath 上的模块, 基本类型等直接读写
+     */
+    public JacksonCodec() {
+        this(new ObjectMapper().findAndRegisterModules(), true);
+    }
+
+    /**
+     * JacksonCodec, String 以外的值都经过 mapper
+     * 
+     * @param mapper ObjectMapper
+     */
+    public JacksonCodec(ObjectMapper mapper) {
+        this(mapper, false);
+    }
+
+    /**
+     * JacksonCodec
+     * 
+     * @param mapper ObjectMapper
+     * @param scalar 基本类型等是否直接读写, 输出与默认 ObjectMapper 一致, mapper 有自定义序列化时应为 false
+     */
+    public JacksonCodec(ObjectMapper mapper, boolean scalar) {
+        if (mapper == null)
+            throw new IllegalArgumentException("mapper is null!");
+        this.mapper = mapper;
+        this.scalar = scalar;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        if (value == null)
+            return null;
+        if (value instanceof String s)
+            return s.getBytes(StandardCharsets.UTF_8);
+        var buffer = this.scalar ? ScalarCodec.encode(value) : null;
+
+        return buffer != null ? buffer : this.mapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] buffer, Class<T> clazz) throws Exception {
+        return this.decode(buffer, 0, buffer.length, clazz);
+    }
+
+    /**
+     * 解码 buffer 中的一段
+     * 
+     * @param <T>    T
+     * @param buffer buffer
+     * @param offset 开始位置
+     * @param length 长度
+     * @param clazz  clazz
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] buffer, int offset, int length, Class<T> clazz) throws Exception {
+        if (length == 0)
+            return null;
+        if (clazz == String.class) {
+            Object obj = new String(buffer, offset, length, StandardCharsets.UTF_8);
+            return (T) obj;
+        }
+        if (this.scalar) {
+            var v = ScalarCodec.decode(buffer, offset, length, clazz);
+            if (v != ScalarCodec.UNHANDLED)
+                return (T) v;
+        }
+
+        return this.mapper.readValue(buffer, offset, length, clazz);
+    }
+}
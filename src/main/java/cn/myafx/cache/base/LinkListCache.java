@@ -1,33 +1,33 @@
 package cn.myafx.cache.base;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
-import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisListCommands.Position;
 
+import cn.myafx.cache.ICacheCursor;
 import cn.myafx.cache.ICacheKey;
 
 /**
  * 
  */
 public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
-    private Class<T> clazz;
+    protected Class<T> clazz;
 
     /**
      * LinkListCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
      * 
      * @throws Exception
      */
-    public LinkListCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix,
+    public LinkListCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix,
             Class<T> clazz) throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
         if (clazz == null)
             throw new Exception("clazz is null!");
         this.clazz = clazz;
@@ -44,11 +44,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
     public long pushLeft(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lPush(cachekeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lPush(cachekey, serialize(value));
 
         return r == null ? -1 : r;
     }
@@ -66,10 +65,9 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         byte[][] arr = new byte[list.size()][];
         for (int i = 0; i < list.size(); i++) {
             var v = list.get(i);
@@ -77,7 +75,7 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
                 throw new Exception("list item is null!");
             arr[i] = serialize(v);
         }
-        var r = this.redis.listCommands().lPush(cachekeyBytes, arr);
+        var r = redis.listCommands().lPush(cachekey, arr);
 
         return r == null ? -1 : r;
     }
@@ -93,11 +91,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
     public long pushRight(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().rPush(cachekeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().rPush(cachekey, serialize(value));
 
         return r == null ? -1 : r;
     }
@@ -115,10 +112,9 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         byte[][] arr = new byte[list.size()][];
         for (int i = 0; i < list.size(); i++) {
             var v = list.get(i);
@@ -126,7 +122,7 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
                 throw new Exception("list item is null!");
             arr[i] = serialize(v);
         }
-        var r = this.redis.listCommands().rPush(cachekeyBytes, arr);
+        var r = redis.listCommands().rPush(cachekey, arr);
 
         return r == null ? -1 : r;
     }
@@ -142,11 +138,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
     public T get(long index, Object... args) throws Exception {
         if (index < 0)
             throw new Exception("index = " + index + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lIndex(cachekeyBytes, index);
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lIndex(cachekey, index);
         T m = deserialize(r, clazz);
 
         return m;
@@ -166,20 +161,37 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("start = " + start + " is error!");
         if (stop != -1 && stop < start)
             throw new Exception("stop = " + stop + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lRange(cachekey, start, stop);
+
+        return r != null ? deserializeList(r, clazz) : null;
+    }
+
+    /**
+     * 游标方式获取一个范围数据, 每页 LRANGE count 个, 逐个反序列化, 代替大范围的 getRange;
+     * 翻页期间列表变化时结果可能重复或遗漏
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置，-1.全部
+     * @param count 每页数量
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public ICacheCursor<T> getRangeCursor(long start, long stop, int count, Object... args) throws Exception {
+        if (start < 0)
+            throw new Exception("start = " + start + " is error!");
+        if (stop != -1 && stop < start)
+            throw new Exception("stop = " + stop + " is error!");
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lRange(cachekeyBytes, start, stop);
-        List<T> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var b : r) {
-                list.add(deserialize(b, clazz));
-            }
-        }
 
-        return list;
+        return new ListCursor(cachekey, db, start, stop, count);
     }
 
     /**
@@ -196,11 +208,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("pivot is null!");
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lInsert(cachekeyBytes, Position.AFTER, serialize(pivot), serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lInsert(cachekey, Position.AFTER, serialize(pivot), serialize(value));
 
         return r == null ? -1 : r;
     }
@@ -219,11 +230,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("pivot is null!");
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lInsert(cachekeyBytes, Position.BEFORE, serialize(pivot), serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lInsert(cachekey, Position.BEFORE, serialize(pivot), serialize(value));
 
         return r == null ? -1 : r;
     }
@@ -238,11 +248,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
     public T popLeft(Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lPop(cachekeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lPop(cachekey);
         T m = deserialize(r, clazz);
 
         return m;
@@ -258,11 +267,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
     public T popRight(Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().rPop(cachekeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().rPop(cachekey);
         T m = deserialize(r, clazz);
 
         return m;
@@ -282,11 +290,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("index=" + index + " is error!");
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        this.redis.listCommands().lSet(cachekeyBytes, index, serialize(value));
+        var redis = this.getConnection(db);
+        redis.listCommands().lSet(cachekey, index, serialize(value));
 
         return true;
     }
@@ -305,11 +312,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("count=" + count + " is error!");
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lRem(cachekeyBytes, count, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lRem(cachekey, count, serialize(value));
 
         return r == null ? -1 : r;
     }
@@ -327,11 +333,10 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
             throw new Exception("start=" + start + " is error!");
         if (stop < start)
             throw new Exception("stop=" + stop + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        this.redis.listCommands().lTrim(cachekeyBytes, start, stop);
+        var redis = this.getConnection(db);
+        redis.listCommands().lTrim(cachekey, start, stop);
     }
 
     /**
@@ -342,12 +347,78 @@ public class LinkListCache<T> extends RedisCache implements ILinkListCache<T> {
      */
     @Override
     public long getCount(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cachekeyBytes = getBytes(cachekey);
-        var r = this.redis.listCommands().lLen(cachekeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.listCommands().lLen(cachekey);
 
         return r == null ? 0 : r;
     }
+
+    public class ListCursor implements ICacheCursor<T> {
+
+        private byte[] cachekey;
+        private final int db;
+        private final long stop;
+        private final int count;
+        private long start;
+        private List<byte[]> page;
+        private int index;
+        private boolean end;
+
+        public ListCursor(byte[] cachekey, int db, long start, long stop, int count) {
+            this.cachekey = cachekey;
+            this.db = db;
+            this.start = start;
+            this.stop = stop;
+            this.count = count;
+        }
+
+        @Override
+        public void close() {
+            this.cachekey = null;
+            this.page = null;
+            this.end = true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.page != null && this.index < this.page.size())
+                return true;
+            if (this.end)
+                return false;
+            var last = this.start + this.count - 1;
+            if (this.stop != -1 && last >= this.stop) {
+                last = this.stop;
+                this.end = true;
+            }
+            try {
+                var redis = getConnection(this.db);
+                this.page = redis.listCommands().lRange(this.cachekey, this.start, last);
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+            this.index = 0;
+            if (this.page == null || this.page.size() < last - this.start + 1)
+                this.end = true;
+            this.start = last + 1;
+
+            return this.page != null && this.index < this.page.size();
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            var buffer = this.page.get(this.index);
+            this.page.set(this.index++, null);
+            try {
+                T v = deserialize(buffer, clazz);
+                return v;
+            } catch (Exception ex) {
+            }
+
+            return null;
+        }
+    }
 }
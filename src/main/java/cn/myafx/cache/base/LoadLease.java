@@ -0,0 +1,94 @@
+package cn.myafx.cache.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.springframework.data.redis.connection.ReturnType;
+
+import cn.myafx.cache.OpWhen;
+
+/**
+ * 加载租约, 使用 DistributedLockDb 配置项, key 为被加载的完整缓存key;
+ * 租约时间取锁配置项 expire, 未取得租约的等待时间取被加载配置项 loadwait
+ */
+final class LoadLease {
+    /**
+     * 未取得租约时轮询缓存的间隔, 毫秒
+     */
+    static final long POLL_MILLIS = 50;
+    /**
+     * 锁未配置 expire 时的默认租约时间, 秒
+     */
+    static final int DEFAULT_EXPIRE = 10;
+    /**
+     * 未配置 loadwait 时未取得租约的最多等待时间, 毫秒
+     */
+    static final int DEFAULT_WAIT_MILLIS = 3000;
+    private static final byte[] RELEASE_SCRIPT = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) else return 0 end").getBytes(StandardCharsets.UTF_8);
+
+    private final StringCache<String> lockCache;
+    private final int expireSeconds;
+    private final long waitMillis;
+
+    /**
+     * LoadLease
+     *
+     * @param lockCache  DistributedLockDb 配置项缓存
+     * @param waitMillis 未取得租约时最多等待时间, 毫秒, null 或 <=0 使用默认
+     */
+    LoadLease(StringCache<String> lockCache, Integer waitMillis) {
+        this.lockCache = lockCache;
+        var expire = lockCache.keyConfig.Expire;
+        this.expireSeconds = expire == null || expire <= 0 ? DEFAULT_EXPIRE : expire;
+        long wait = waitMillis == null || waitMillis <= 0 ? DEFAULT_WAIT_MILLIS : waitMillis;
+        this.waitMillis = Math.min(wait, this.getExpireMillis());
+    }
+
+    /**
+     * 租约时间, 毫秒
+     *
+     * @return
+     */
+    long getExpireMillis() {
+        return this.expireSeconds * 1000L;
+    }
+
+    /**
+     * 未取得租约时最多等待时间, 毫秒, 不超过租约时间
+     *
+     * @return
+     */
+    long getWaitMillis() {
+        return this.waitMillis;
+    }
+
+    /**
+     * 尝试取得租约
+     *
+     * @param cachekey 被加载的完整缓存key
+     * @return 取得返回 token, 否则 null
+     * @throws Exception
+     */
+    String tryAcquire(byte[] cachekey) throws Exception {
+        var token = UUID.randomUUID().toString();
+        var ok = this.lockCache.set(token, this.expireSeconds, OpWhen.NotExists,
+                new String(cachekey, StandardCharsets.UTF_8));
+
+        return ok ? token : null;
+    }
+
+    /**
+     * 释放租约, 只删除自己持有的租约
+     *
+     * @param cachekey 被加载的完整缓存key
+     * @param token    tryAcquire 返回的 token
+     * @throws Exception
+     */
+    void release(byte[] cachekey, String token) throws Exception {
+        var key = this.lockCache.bindKey(new Object[] { new String(cachekey, StandardCharsets.UTF_8) });
+        var redis = this.lockCache.getConnection(key.Db);
+        redis.scriptingCommands().eval(RELEASE_SCRIPT, ReturnType.INTEGER, 1, key.Key,
+                this.lockCache.serialize(token));
+    }
+}
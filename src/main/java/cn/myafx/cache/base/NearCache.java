@@ -0,0 +1,213 @@
+package cn.myafx.cache.base;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
+
+/**
+ * 进程内本地缓存, 按数量 LRU 淘汰, 按时间过期; hash 按 (key, field) 缓存, 每个 field 计数;
+ * 写入及收到失效通知时按 key 移除, 同时移除该 key 的所有 field
+ */
+public final class NearCache {
+    /**
+     * redis 中不存在的值
+     */
+    public static final Object NULL_VALUE = new Object();
+
+    private final int maxSize;
+    private final long expireMillis;
+    private final LinkedHashMap<Object, Entry> map;
+    /**
+     * key 已缓存的 field
+     */
+    private final Map<ByteArrayWrapper, Set<FieldKey>> fieldMap = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private static final class Entry {
+        final Object value;
+        final long expireAt;
+
+        Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static final class FieldKey {
+        final ByteArrayWrapper key;
+        final ByteArrayWrapper field;
+
+        FieldKey(ByteArrayWrapper key, ByteArrayWrapper field) {
+            this.key = key;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof FieldKey k && k.key.equals(this.key) && k.field.equals(this.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key.hashCode() * 31 + this.field.hashCode();
+        }
+    }
+
+    /**
+     * NearCache
+     *
+     * @param maxSize       最大数量
+     * @param expireSeconds 过期时间, 秒
+     * @throws Exception
+     */
+    public NearCache(int maxSize, int expireSeconds) throws Exception {
+        if (maxSize <= 0)
+            throw new Exception("maxSize(" + maxSize + ") is error!");
+        if (expireSeconds <= 0)
+            throw new Exception("expireSeconds(" + expireSeconds + ") is error!");
+        this.maxSize = maxSize;
+        this.expireMillis = expireSeconds * 1000L;
+        this.map = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (this.size() <= NearCache.this.maxSize)
+                    return false;
+                if (eldest.getKey() instanceof FieldKey k)
+                    NearCache.this.unindex(k);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 当前版本, 每次移除递增; 从 redis 读取前获取, put 时版本已变化则不缓存, 避免写回旧值
+     *
+     * @return
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * 获取本地缓存
+     *
+     * @param key 完整缓存key
+     * @return 不存在或已过期返回 null
+     */
+    public Object get(byte[] key) {
+        return this.get((Object) new ByteArrayWrapper(key));
+    }
+
+    /**
+     * 获取 hash field 本地缓存
+     *
+     * @param key   完整缓存key
+     * @param field 序列化后的 field
+     * @return 不存在或已过期返回 null
+     */
+    public Object get(byte[] key, byte[] field) {
+        return this.get(new FieldKey(new ByteArrayWrapper(key), new ByteArrayWrapper(field)));
+    }
+
+    private Object get(Object k) {
+        synchronized (this.map) {
+            var e = this.map.get(k);
+            if (e == null)
+                return null;
+            if (e.expireAt < System.currentTimeMillis()) {
+                this.map.remove(k);
+                if (k instanceof FieldKey fk)
+                    this.unindex(fk);
+                return null;
+            }
+
+            return e.value;
+        }
+    }
+
+    /**
+     * 添加本地缓存
+     *
+     * @param key     完整缓存key
+     * @param value   value
+     * @param version 读取 redis 前的版本
+     */
+    public void put(byte[] key, Object value, long version) {
+        var e = new Entry(value, System.currentTimeMillis() + this.expireMillis);
+        synchronized (this.map) {
+            if (this.version.get() == version)
+                this.map.put(new ByteArrayWrapper(key), e);
+        }
+    }
+
+    /**
+     * 添加 hash field 本地缓存, 过期时间按 field 计算
+     *
+     * @param key     完整缓存key
+     * @param field   序列化后的 field
+     * @param value   value
+     * @param version 读取 redis 前的版本
+     */
+    public void put(byte[] key, byte[] field, Object value, long version) {
+        var k = new FieldKey(new ByteArrayWrapper(key), new ByteArrayWrapper(field));
+        var e = new Entry(value, System.currentTimeMillis() + this.expireMillis);
+        synchronized (this.map) {
+            if (this.version.get() != version)
+                return;
+            this.fieldMap.computeIfAbsent(k.key, m -> new HashSet<>()).add(k);
+            this.map.put(k, e);
+        }
+    }
+
+    private void unindex(FieldKey k) {
+        var fields = this.fieldMap.get(k.key);
+        if (fields != null && fields.remove(k) && fields.isEmpty())
+            this.fieldMap.remove(k.key);
+    }
+
+    /**
+     * 移除本地缓存
+     *
+     * @param key 完整缓存key
+     */
+    public void remove(byte[] key) {
+        var k = new ByteArrayWrapper(key);
+        synchronized (this.map) {
+            this.version.incrementAndGet();
+            this.map.remove(k);
+            var fields = this.fieldMap.remove(k);
+            if (fields != null) {
+                for (var f : fields) {
+                    this.map.remove(f);
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void clear() {
+        synchronized (this.map) {
+            this.version.incrementAndGet();
+            this.map.clear();
+            this.fieldMap.clear();
+        }
+    }
+
+    /**
+     * 本地缓存数量
+     *
+     * @return
+     */
+    public int size() {
+        synchronized (this.map) {
+            return this.map.size();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package cn.myafx.cache.base;
+
+/**
+ * 管道命令结果, execute 之后可用
+ */
+public final class PipelineResult<T> {
+    private volatile boolean done;
+    private T value;
+    private Exception error;
+
+    PipelineResult() {
+    }
+
+    void complete(T value) {
+        this.value = value;
+        this.done = true;
+    }
+
+    void fail(Exception error) {
+        this.error = error;
+        this.done = true;
+    }
+
+    /**
+     * 是否已执行
+     * 
+     * @return
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * 获取结果
+     * 
+     * @return
+     * @throws Exception 管道未执行或命令执行失败
+     */
+    public T get() throws Exception {
+        if (!this.done)
+            throw new Exception("pipeline is not executed!");
+        if (this.error != null)
+            throw this.error;
+
+        return this.value;
+    }
+}
@@ -0,0 +1,156 @@
+package cn.myafx.cache.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 并发单 key 读取合并, 窗口内或达到最大数量时由调用线程执行一次批量读取, 其他线程等待各自结果;
+ * 不使用额外线程
+ */
+final class ReadBatcher {
+    /**
+     * 默认合并最大数量
+     */
+    static final int DEFAULT_SIZE = 64;
+
+    /**
+     * 批量读取
+     */
+    interface Fetcher {
+        /**
+         * 执行一批读取
+         *
+         * @param requests 读取请求
+         * @return 与 requests 顺序一致, 不存在为 null
+         * @throws Exception
+         */
+        byte[][] fetch(List<Request> requests) throws Exception;
+    }
+
+    /**
+     * 读取请求
+     */
+    static final class Request {
+        /**
+         * 缓存key
+         */
+        final BoundKey key;
+        /**
+         * hash field, string 为 null
+         */
+        final byte[] field;
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+
+        Request(BoundKey key, byte[] field) {
+            this.key = key;
+            this.field = field;
+        }
+    }
+
+    private final long windowNanos;
+    private final int maxSize;
+    private final Fetcher fetcher;
+    private List<Request> pending;
+
+    private ReadBatcher(long windowNanos, int maxSize, Fetcher fetcher) {
+        this.windowNanos = windowNanos;
+        this.maxSize = maxSize;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * 根据 batchwindow、batchsize 配置创建
+     *
+     * @param windowMicros 合并窗口, 微秒
+     * @param size         合并最大数量
+     * @param fetcher      批量读取
+     * @return 未配置返回 null
+     */
+    static ReadBatcher create(Integer windowMicros, Integer size, Fetcher fetcher) {
+        if (windowMicros == null || windowMicros <= 0)
+            return null;
+        int maxSize = size == null || size <= 0 ? DEFAULT_SIZE : size;
+        if (maxSize == 1)
+            return null;
+
+        return new ReadBatcher(windowMicros * 1000L, maxSize, fetcher);
+    }
+
+    /**
+     * 读取, 加入当前批次; 批次第一个请求的线程等待窗口后执行, 达到最大数量时由加入的线程立即执行,
+     * 第一个请求的线程同时结束等待
+     *
+     * @param key   缓存key
+     * @param field hash field, string 为 null
+     * @return
+     * @throws Exception
+     */
+    byte[] get(BoundKey key, byte[] field) throws Exception {
+        var request = new Request(key, field);
+        List<Request> batch;
+        List<Request> full = null;
+        boolean leader = false;
+        synchronized (this) {
+            batch = this.pending;
+            if (batch == null) {
+                batch = new ArrayList<>();
+                this.pending = batch;
+                leader = true;
+            }
+            batch.add(request);
+            if (batch.size() >= this.maxSize) {
+                this.pending = null;
+                full = batch;
+            }
+        }
+        if (full != null) {
+            this.dispatch(full);
+        } else if (leader) {
+            boolean expired = false;
+            try {
+                request.future.get(this.windowNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                expired = true;
+            } catch (InterruptedException ex) {
+                // 批次仍需执行, 保留中断状态
+                Thread.currentThread().interrupt();
+                expired = true;
+            } catch (ExecutionException ex) {
+            }
+            if (expired) {
+                synchronized (this) {
+                    if (this.pending == batch)
+                        this.pending = null;
+                    else
+                        batch = null;
+                }
+                if (batch != null)
+                    this.dispatch(batch);
+            }
+        }
+        try {
+            return request.future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception e)
+                throw e;
+            throw ex;
+        }
+    }
+
+    private void dispatch(List<Request> batch) {
+        try {
+            var r = this.fetcher.fetch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(r[i]);
+            }
+        } catch (Throwable ex) {
+            for (var request : batch) {
+                request.future.completeExceptionally(ex);
+            }
+        }
+    }
+}
@@ -1,320 +1,308 @@
 package cn.myafx.cache.base;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.data.redis.connection.RedisConnection;
 
-import cn.myafx.cache.CacheKeyConfig;
 import cn.myafx.cache.ICacheKey;
-import cn.myafx.cache.IJsonMapper;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 
 /**
  * redis 缓存
  */
 public class RedisCache extends BaseCache implements IRedisCache {
-    public static IJsonMapper DefaultJsonMapper;
-    // .setTimeZone(TimeZone.getTimeZone("GMT+8"));
-    protected IJsonMapper mapper = DefaultJsonMapper;
+    private static final Log log = LogFactory.getLog(RedisCache.class);
+    private static final String LOCK_NODE = "DistributedLockDb";
+    /**
+     * redis 连接提供
+     */
+    protected IRedisConnectionProvider provider;
     /**
-     * redis
+     * 本地缓存, 未配置 near 时为 null
      */
-    protected RedisConnection redis;
+    protected NearCache nearCache;
+    private byte[] nearChannel;
+    private volatile boolean nearSubscribed;
     /**
-     * 缓存key配置
+     * 同一 key 并发加载合并
      */
-    protected CacheKeyConfig keyConfig;
+    protected final SingleFlight singleFlight = new SingleFlight();
     /**
-     * 缓存前缀
+     * 多进程加载租约, 未配置 loadlock 时为 null
      */
-    protected String prefix;
+    private LoadLease loadLease;
     /**
-     * NodeName
+     * 提前刷新, 未配置 refresh 时为 null
      */
-    protected String nodeName;
+    RefreshAhead refreshAhead;
 
     /**
      * RedisCache
-     * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
+     *
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
      * @throws Exception
      */
-    public RedisCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix)
+    public RedisCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix)
             throws Exception {
-        if (DefaultJsonMapper == null)
-            throw new Exception("RedisCache.DefaultJsonMapper is null !");
-        if (node == null || node.isEmpty())
-            throw new Exception("node is null !");
-        if (item == null || item.isEmpty())
-            throw new Exception("item is null !");
-        if (redisConnection == null)
-            throw new Exception("redis is null !");
-        if (cacheKey == null)
-            throw new Exception("cacheKey is null !");
-        this.keyConfig = cacheKey.get(node, item);
-        if (this.keyConfig == null)
-            throw new Exception(node + "/" + item + " 未配置！");
-        this.redis = redisConnection;
-        this.prefix = prefix != null ? prefix : "";
-
-        StringBuilder stringBuilder = new StringBuilder();
-        for (var c : this.keyConfig.Node.toCharArray()) {
-            if ('A' <= c && c <= 'Z') {
-                if (stringBuilder.length() > 0)
-                    stringBuilder.append("_");
-                stringBuilder.append((char) (c + 32));
-            } else {
-                stringBuilder.append(c);
-            }
-        }
-        stringBuilder.append(":");
-        this.nodeName = stringBuilder.toString();
+        super(node, item, cacheKey, prefix);
+        if (provider == null)
+            throw new Exception("provider is null !");
+        this.provider = provider;
+        this.refreshAhead = RefreshAhead.parse(this.keyConfig.Refresh, this.keyConfig.Expire);
+        var lockItem = this.keyConfig.LoadLock;
+        if (lockItem != null && !LOCK_NODE.equals(this.keyConfig.Node))
+            this.loadLease = new LoadLease(
+                    new StringCache<>(LOCK_NODE, lockItem, provider, cacheKey, prefix, String.class),
+                    this.keyConfig.LoadWait);
     }
 
     /**
-     * set ObjectMapper
+     * 获取 db 连接
+     * 
+     * @param db db
+     * @return
+     * @throws Exception
      */
-    @Override
-    public void setJsonMapper(IJsonMapper mapper) {
-        if (mapper != null)
-            this.mapper = mapper;
+    protected RedisConnection getConnection(int db) throws Exception {
+        return this.provider.getConnection(db);
     }
 
     /**
-     * getDefault
+     * 获取 db lettuce 异步命令, 多个命令不等待结果连续发送, 共享连接线程安全
      * 
-     * @param clazz clazz
-     * @return clazz default value
+     * @param db db
+     * @return 非 lettuce 连接返回 null
      * @throws Exception
      */
-    protected Object getDefault(Class<?> clazz) throws Exception {
-        Object obj = null;
-        if (clazz.isPrimitive()) {
-            if (clazz == boolean.class)
-                obj = false;
-            else if (clazz == char.class)
-                obj = '\0';
-            else if (clazz == byte.class)
-                obj = (byte) 0;
-            else if (clazz == short.class)
-                obj = (short) 0;
-            else if (clazz == int.class)
-                obj = 0;
-            else if (clazz == long.class)
-                obj = 0l;
-            else if (clazz == float.class)
-                obj = 0f;
-            else if (clazz == double.class)
-                obj = 0d;
-        }
-        return obj;
-    }
-
-    protected byte[] getBytes(String cachekey) throws Exception {
-        if (cachekey == null)
-            return null;
+    @SuppressWarnings("unchecked")
+    protected RedisClusterAsyncCommands<byte[], byte[]> getAsyncCommands(int db) throws Exception {
+        var c = this.getConnection(db).getNativeConnection();
+        if (c instanceof RedisClusterAsyncCommands<?, ?> commands)
+            return (RedisClusterAsyncCommands<byte[], byte[]>) commands;
 
-        return cachekey.getBytes("utf-8");//
+        return null;
     }
 
-    protected String getString(byte[] buffer) throws Exception {
-        if (buffer == null || buffer.length == 0)
-            return null;
+    /**
+     * 等待异步命令全部完成
+     * 
+     * @param futures 异步命令结果
+     * @throws Exception 命令异常
+     */
+    protected void await(List<? extends Future<?>> futures) throws Exception {
+        try {
+            for (var f : futures) {
+                f.get();
+            }
+        } catch (ExecutionException ex) {
+            var cause = ex.getCause();
+            throw cause instanceof Exception e ? e : ex;
+        }
+    }
 
-        return new String(buffer, "utf-8");
+    /**
+     * 设置提前刷新线程池, 配置 refresh 时使用; null 使用默认有界线程池
+     */
+    @Override
+    public void setRefreshExecutor(Executor executor) {
+        var refresh = this.refreshAhead;
+        if (refresh != null)
+            refresh.setExecutor(executor);
     }
 
     /**
-     * Serialize
+     * 根据 near、nearexpire 配置启用本地缓存, 失效通知通过 pub/sub 频道广播;
+     * provider 不支持 subscribe 时无法收到失效通知, 不启用
      * 
-     * @param value Object
-     * @return byte[]
      * @throws Exception
      */
-    protected byte[] serialize(Object value) throws Exception {
-        if (value == null)
-            return null;
-        if (value instanceof byte[] buf)
-            return buf;
-
-        var json = this.mapper.serialize(value);
-
-        return getBytes(json);
+    protected void enableNearCache() throws Exception {
+        var size = this.keyConfig.NearSize;
+        if (size == null || size <= 0)
+            return;
+        if (!this.provider.canSubscribe()) {
+            log.warn(this.keyConfig.Node + "/" + this.keyConfig.Item + " near is disabled, "
+                    + this.provider.getClass().getSimpleName() + " can not subscribe");
+            return;
+        }
+        var expire = this.keyConfig.NearExpire;
+        this.nearCache = new NearCache(size, expire == null || expire <= 0 ? 60 : expire);
+        this.nearChannel = this.getNearChannel();
     }
 
     /**
-     * Deserialize
+     * 获取本地缓存, 首次使用时订阅失效通知
      * 
-     * @param <T>    T
-     * @param buffer buffer
-     * @param clazz  clazz
-     * @return T
+     * @return 未启用返回 null
      * @throws Exception
      */
-    @SuppressWarnings("unchecked")
-    protected <T> T deserialize(byte[] buffer, Class<T> clazz) throws Exception {
-        if (clazz == null)
-            throw new Exception("clazz is null!");
-        if (clazz == byte[].class) {
-            Object obj = buffer;
-            return (T) obj;
-        }
-        var json = getString(buffer);
-        if (clazz == String.class) {
-            Object obj = json;
-            return (T) obj;
-        }
-        if (json == null || json.isEmpty()) {
-            return (T) getDefault(clazz);
+    protected NearCache getNearCache() throws Exception {
+        var near = this.nearCache;
+        if (near == null || this.nearSubscribed)
+            return near;
+        synchronized (near) {
+            if (!this.nearSubscribed) {
+                this.provider.subscribe(this.nearChannel, (message, pattern) -> near.remove(message.getBody()));
+                this.nearSubscribed = true;
+            }
         }
-        var m = this.mapper.deserialize(json, clazz);
 
-        return m;
+        return near;
     }
 
     /**
-     * 缓存key配置
+     * 写入后移除本地缓存, 并通知其他进程
      * 
-     * @return
+     * @param key 已解析的缓存key
+     * @throws Exception
      */
-    @Override
-    public CacheKeyConfig getKeyConfig() {
-        return this.keyConfig;
+    protected void invalidate(BoundKey key) throws Exception {
+        var near = this.nearCache;
+        if (near == null)
+            return;
+        near.remove(key.Key);
+        this.getConnection(key.Db).publish(this.nearChannel, key.Key);
     }
 
     /**
-     * 获取完整缓存key
+     * 未命中加载, 配置 loadlock 时多进程只有取得租约的进程调用 loader,
+     * 其他进程轮询缓存, 租约释放后重新竞争, 等待超过 loadwait 时自行加载
      * 
-     * @param args 缓存key参数
-     * @return key
+     * @param <V>    V
+     * @param key    已解析的缓存key
+     * @param reader 读取缓存, 未命中返回 null
+     * @param loader 加载并写入缓存
+     * @return
+     * @throws Exception
      */
-    @Override
-    public String getCacheKey(Object[] args) throws Exception {
-        if (this.keyConfig.Key == null || this.keyConfig.Key.isEmpty())
-            throw new Exception(
-                    "cache key(Node=" + this.keyConfig.Node + ", Item=" + this.keyConfig.Item + ") is null!");
-        var key = this.keyConfig.Key;
-        if (args != null && args.length > 0) {
-            StringBuilder stringBuilder = new StringBuilder();
-            for (int i = 0; i < args.length; i++) {
-                var o = args[i];
-                if (o instanceof Enum<?> e)
-                    o = e.ordinal();
-                stringBuilder.append(":" + (o == null ? "null" : o.toString().toLowerCase()));
+    protected <V> V leaseLoad(BoundKey key, Callable<V> reader, Callable<V> loader) throws Exception {
+        var lease = this.loadLease;
+        if (lease == null)
+            return loader.call();
+        var deadline = System.currentTimeMillis() + lease.getWaitMillis();
+        while (true) {
+            var token = lease.tryAcquire(key.Key);
+            if (token != null) {
+                try {
+                    var v = reader.call();
+                    return v != null ? v : loader.call();
+                } finally {
+                    lease.release(key.Key, token);
+                }
             }
-            key = key + stringBuilder.toString();
+            var wait = deadline - System.currentTimeMillis();
+            if (wait <= 0)
+                return loader.call();
+            Thread.sleep(Math.min(wait, LoadLease.POLL_MILLIS));
+            var v = reader.call();
+            if (v != null)
+                return v;
         }
-
-        return this.prefix + this.nodeName + key;
     }
 
     /**
-     * 获取完整key所在db
-     * 
-     * @param cachekey 完整缓存key
+     * 解析缓存key 及所在 db
+     *
+     * @param args 缓存key参数
      * @return
+     * @throws Exception
      */
-    @Override
-    public int getCacheDb(String cachekey) {
-        var list = this.keyConfig.Db;
-        if (list == null || list.size() == 0)
-            return 0;
-        if (list.size() == 1)
-            return list.get(0);
-        int hash = 0;
-        for (var c : cachekey.toCharArray()) {
-            hash += c;
-            if (hash > 255)
-                hash = hash % 255;
-        }
-        var db = list.get(hash % list.size());
+    protected BoundKey bindKey(Object[] args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
 
-        return db == null ? 0 : db;
+        return new BoundKey(cachekey, this.getCacheDb(cachekey));
     }
 
     /**
      * 移除缓存
-     * 
+     *
      * @param args 缓存key参数
      * @return
      */
     @Override
     public boolean remove(Object[] args) throws Exception {
-        String key = this.getCacheKey(args);
-        int db = this.getCacheDb(key);
+        return this.remove(this.bindKey(args));
+    }
 
-        this.redis.select(db);
-        var r = this.redis.keyCommands().del(getBytes(key));
+    protected boolean remove(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.keyCommands().del(key.Key);
+        this.invalidate(key);
         return r != null && r > 0;
     }
 
     /**
      * 缓存key是否存在
-     * 
+     *
      * @param args 缓存key参数
      * @return
      */
     @Override
     public boolean contains(Object[] args) throws Exception {
-        String key = this.getCacheKey(args);
-        int db = this.getCacheDb(key);
-        this.redis.select(db);
+        return this.contains(this.bindKey(args));
+    }
 
-        var r = this.redis.keyCommands().exists(getBytes(key));
+    protected boolean contains(BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+
+        var r = redis.keyCommands().exists(key.Key);
         return r == null ? false : r;
     }
 
     /**
      * 设置缓存有效时间
-     * 
+     *
      * @param expireSeconds 缓存有效时间, 秒
      * @param args          缓存key参数
      * @return
      */
     @Override
     public boolean expire(Integer expireSeconds, Object[] args) throws Exception {
-        String key = this.getCacheKey(args);
-        int db = this.getCacheDb(key);
-        this.redis.select(db);
+        return this.expire(expireSeconds, this.bindKey(args));
+    }
+
+    protected boolean expire(Integer expireSeconds, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
 
         var r = expireSeconds != null && expireSeconds > 0
-                ? this.redis.keyCommands().expire(getBytes(key), expireSeconds)
-                : this.redis.keyCommands().persist(getBytes(key));
+                ? redis.keyCommands().expire(key.Key, expireSeconds)
+                : redis.keyCommands().persist(key.Key);
+        this.invalidate(key);
 
         return r == null ? false : r;
     }
 
     /**
      * 根据系统配置设置缓存有效时间
-     * 
+     *
      * @param args 缓存key参数
      * @return
      */
     @Override
     public boolean expire(Object[] args) throws Exception {
-        return this.expire(this.keyConfig.Expire, args);
+        return this.expire(this.getExpire(), args);
     }
 
     /**
      * ping
-     * 
+     *
      * @return
      */
     @Override
-    public String ping() {
-        return this.redis.ping();
-    }
+    public String ping() throws Exception {
+        var list = this.keyConfig.Db;
+        int db = list == null || list.size() == 0 || list.get(0) == null ? 0 : list.get(0);
 
-    /**
-     * close
-     */
-    @Override
-    public void close() throws Exception {
-        this.keyConfig = null;
-        this.nodeName = null;
-        this.redis = null;
-        this.prefix = null;
-        this.mapper = null;
+        return this.getConnection(db).ping();
     }
 }
@@ -0,0 +1,296 @@
+package cn.myafx.cache.base;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisSocketConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * lettuce 连接提供, 每个 db 一个专用连接, 命令前不再发送 SELECT, 连接线程安全由所有缓存共享;
+ * 非默认 db 由 lettuce 单机、哨兵、静态主从或 socket 配置复制出对应 db 的连接工厂;
+ * 非 lettuce 连接非线程安全, 使用 SelectConnectionProvider;
+ * 集群不支持多 db, 忽略 db 只使用一个集群连接, 按 key slot 路由
+ */
+public class RedisConnectionProvider implements IRedisConnectionProvider {
+    private LettuceConnectionFactory connectionFactory;
+    private final Map<Integer, RedisConnection> connectionMap = new ConcurrentHashMap<>();
+    private final Map<Integer, LettuceConnectionFactory> factoryMap = new ConcurrentHashMap<>();
+    private final Map<ByteArrayWrapper, List<MessageListener>> listenerMap = new ConcurrentHashMap<>();
+    private RedisConnection subscribeConnection;
+
+    /**
+     * RedisConnectionProvider
+     * 
+     * @param connectionFactory RedisConnectionFactory
+     * @throws Exception
+     */
+    public RedisConnectionProvider(RedisConnectionFactory connectionFactory) throws Exception {
+        if (connectionFactory == null)
+            throw new Exception("connectionFactory is null!");
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce))
+            throw new Exception("connectionFactory is not LettuceConnectionFactory, use SelectConnectionProvider!");
+        this.connectionFactory = lettuce;
+    }
+
+    /**
+     * 复制 lettuce 单机、哨兵、静态主从或 unix socket 配置及客户端配置, 创建指定 db 的连接工厂
+     * 
+     * @param factory LettuceConnectionFactory
+     * @param db      redis db
+     * @return 已初始化的 LettuceConnectionFactory, 使用完需 destroy
+     * @throws Exception 集群或无法复制的配置
+     */
+    public static LettuceConnectionFactory createDbFactory(LettuceConnectionFactory factory, int db)
+            throws Exception {
+        if (factory.isClusterAware())
+            throw new Exception("db(" + db + ") is not supported!");
+        RedisConfiguration config;
+        var configuration = getConfiguration(factory);
+        if (configuration instanceof RedisSentinelConfiguration sentinel) {
+            var c = new RedisSentinelConfiguration();
+            c.setMaster(sentinel.getMaster());
+            c.setSentinels(sentinel.getSentinels());
+            c.setUsername(sentinel.getUsername());
+            c.setPassword(sentinel.getPassword());
+            c.setSentinelUsername(sentinel.getSentinelUsername());
+            c.setSentinelPassword(sentinel.getSentinelPassword());
+            c.setDatabase(db);
+            config = c;
+        } else if (configuration instanceof RedisSocketConfiguration socket) {
+            var c = new RedisSocketConfiguration(socket.getSocket());
+            c.setUsername(socket.getUsername());
+            c.setPassword(socket.getPassword());
+            c.setDatabase(db);
+            config = c;
+        } else if (configuration instanceof RedisStaticMasterReplicaConfiguration masterReplica
+                && !masterReplica.getNodes().isEmpty()) {
+            var nodes = masterReplica.getNodes();
+            var c = new RedisStaticMasterReplicaConfiguration(nodes.get(0).getHostName(), nodes.get(0).getPort());
+            for (int i = 1; i < nodes.size(); i++) {
+                c.addNode(nodes.get(i).getHostName(), nodes.get(i).getPort());
+            }
+            c.setUsername(masterReplica.getUsername());
+            c.setPassword(masterReplica.getPassword());
+            c.setDatabase(db);
+            config = c;
+        } else if (configuration instanceof RedisStandaloneConfiguration standalone) {
+            var c = new RedisStandaloneConfiguration(standalone.getHostName(), standalone.getPort());
+            c.setUsername(standalone.getUsername());
+            c.setPassword(standalone.getPassword());
+            c.setDatabase(db);
+            config = c;
+        } else {
+            throw new Exception("db(" + db + ") is not supported by "
+                    + (configuration == null ? "null" : configuration.getClass().getName()) + "!");
+        }
+        var dbFactory = new LettuceConnectionFactory(config, factory.getClientConfiguration());
+        dbFactory.afterPropertiesSet();
+
+        return dbFactory;
+    }
+
+    /**
+     * 连接工厂的 RedisConfiguration; 静态主从及以 RedisConfiguration 构造的单机配置没有公开 getter,
+     * getStandaloneConfiguration 为默认 localhost, 读取字段 configuration
+     */
+    private static RedisConfiguration getConfiguration(LettuceConnectionFactory factory) {
+        var field = ReflectionUtils.findField(LettuceConnectionFactory.class, "configuration",
+                RedisConfiguration.class);
+        if (field != null) {
+            ReflectionUtils.makeAccessible(field);
+            if (ReflectionUtils.getField(field, factory) instanceof RedisConfiguration c)
+                return c;
+        }
+        if (factory.getSentinelConfiguration() != null)
+            return factory.getSentinelConfiguration();
+        if (factory.getSocketConfiguration() != null)
+            return factory.getSocketConfiguration();
+
+        return factory.getStandaloneConfiguration();
+    }
+
+    /**
+     * 是否集群
+     * 
+     * @return
+     */
+    public boolean isCluster() {
+        var factory = this.connectionFactory;
+        return factory != null && factory.isClusterAware();
+    }
+
+    @Override
+    public RedisConnection getConnection(int db) throws Exception {
+        var factory = this.connectionFactory;
+        if (factory == null)
+            throw new Exception("provider is closed!");
+        if (this.isCluster())
+            db = 0;
+        var c = this.connectionMap.get(db);
+        if (c != null)
+            return c;
+        synchronized (this.connectionMap) {
+            c = this.connectionMap.get(db);
+            if (c == null) {
+                c = this.createConnection(factory, db);
+                this.connectionMap.put(db, c);
+            }
+        }
+
+        return c;
+    }
+
+    private RedisConnection createConnection(LettuceConnectionFactory factory, int db) throws Exception {
+        if (factory.isClusterAware())
+            return factory.getClusterConnection();
+        if (factory.getDatabase() == db)
+            return factory.getConnection();
+
+        return this.getDbFactory(factory, db).getConnection();
+    }
+
+    private LettuceConnectionFactory getDbFactory(LettuceConnectionFactory factory, int db) throws Exception {
+        var dbFactory = this.factoryMap.get(db);
+        if (dbFactory != null)
+            return dbFactory;
+        synchronized (this.factoryMap) {
+            dbFactory = this.factoryMap.get(db);
+            if (dbFactory == null) {
+                dbFactory = createDbFactory(factory, db);
+                this.factoryMap.put(db, dbFactory);
+            }
+        }
+
+        return dbFactory;
+    }
+
+    /**
+     * 创建独占连接提供, 每个 db 一个新的 RedisConnection, 只由调用方使用, 可 openPipeline;
+     * 复用本 provider 的 db 连接工厂, 调用方关闭
+     * 
+     * @return IRedisConnectionProvider
+     * @throws Exception
+     */
+    public IRedisConnectionProvider openExclusive() throws Exception {
+        if (this.connectionFactory == null)
+            throw new Exception("provider is closed!");
+
+        return new ExclusiveConnectionProvider();
+    }
+
+    private final class ExclusiveConnectionProvider implements IRedisConnectionProvider {
+        private final Map<Integer, RedisConnection> connectionMap = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized RedisConnection getConnection(int db) throws Exception {
+            var factory = RedisConnectionProvider.this.connectionFactory;
+            if (factory == null)
+                throw new Exception("provider is closed!");
+            if (factory.isClusterAware())
+                db = 0;
+            var c = this.connectionMap.get(db);
+            if (c == null) {
+                c = RedisConnectionProvider.this.createConnection(factory, db);
+                this.connectionMap.put(db, c);
+            }
+
+            return c;
+        }
+
+        @Override
+        public void subscribe(byte[] channel, MessageListener listener) throws Exception {
+            throw new Exception("subscribe is not supported!");
+        }
+
+        @Override
+        public boolean canSubscribe() {
+            return false;
+        }
+
+        @Override
+        public synchronized void close() throws Exception {
+            for (var c : this.connectionMap.values()) {
+                c.close();
+            }
+            this.connectionMap.clear();
+        }
+    }
+
+    /**
+     * 订阅频道, 所有频道共用一个订阅连接, 仅支持 lettuce
+     * 
+     * @param channel  频道
+     * @param listener MessageListener
+     * @throws Exception
+     */
+    @Override
+    public void subscribe(byte[] channel, MessageListener listener) throws Exception {
+        if (channel == null || channel.length == 0)
+            throw new Exception("channel is null!");
+        if (listener == null)
+            throw new Exception("listener is null!");
+        synchronized (this.listenerMap) {
+            var factory = this.connectionFactory;
+            if (factory == null)
+                throw new Exception("provider is closed!");
+            var key = new ByteArrayWrapper(channel);
+            var list = this.listenerMap.get(key);
+            if (list != null) {
+                list.add(listener);
+                return;
+            }
+            list = new CopyOnWriteArrayList<>();
+            list.add(listener);
+            this.listenerMap.put(key, list);
+            if (this.subscribeConnection == null) {
+                var c = this.isCluster() ? factory.getClusterConnection() : factory.getConnection();
+                c.subscribe(this::onMessage, channel);
+                this.subscribeConnection = c;
+            } else {
+                this.subscribeConnection.getSubscription().subscribe(channel);
+            }
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        var list = this.listenerMap.get(new ByteArrayWrapper(message.getChannel()));
+        if (list != null) {
+            for (var listener : list)
+                listener.onMessage(message, pattern);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this.listenerMap) {
+            if (this.subscribeConnection != null)
+                this.subscribeConnection.close();
+            this.subscribeConnection = null;
+            this.listenerMap.clear();
+        }
+        synchronized (this.connectionMap) {
+            for (var c : this.connectionMap.values()) {
+                c.close();
+            }
+            this.connectionMap.clear();
+            for (var f : this.factoryMap.values()) {
+                f.destroy();
+            }
+            this.factoryMap.clear();
+            this.connectionFactory = null;
+        }
+    }
+}
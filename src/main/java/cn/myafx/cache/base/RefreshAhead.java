@@ -0,0 +1,141 @@
+package cn.myafx.cache.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
+
+/**
+ * 提前刷新, key 已过 expire 一定比例时后台重新加载, 读取方继续使用当前值;
+ * 未设置线程池时使用进程内共享的有界线程池, 队列满时放弃本次刷新
+ */
+final class RefreshAhead {
+    private static final Log log = LogFactory.getLog(RefreshAhead.class);
+    /**
+     * 默认线程池最大线程数
+     */
+    static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    /**
+     * 默认线程池队列长度
+     */
+    static final int DEFAULT_QUEUE = 1024;
+    private static volatile ThreadPoolExecutor defaultExecutor;
+
+    private volatile Executor executor;
+
+    private final double ratio;
+    private final boolean probabilistic;
+    private final long expireMillis;
+    private final Set<ByteArrayWrapper> refreshing = ConcurrentHashMap.newKeySet();
+
+    private RefreshAhead(double ratio, boolean probabilistic, int expireSeconds) {
+        this.ratio = ratio;
+        this.probabilistic = probabilistic;
+        this.expireMillis = expireSeconds * 1000L;
+    }
+
+    /**
+     * 解析 refresh 配置
+     *
+     * @param refresh       0.8 或 ~0.8
+     * @param expireSeconds 配置过期时间, 秒
+     * @return 未配置或未配置 expire 返回 null
+     * @throws Exception
+     */
+    static RefreshAhead parse(String refresh, Integer expireSeconds) throws Exception {
+        if (refresh == null || refresh.isEmpty() || expireSeconds == null || expireSeconds <= 0)
+            return null;
+        var probabilistic = refresh.startsWith("~");
+        double ratio;
+        try {
+            ratio = Double.parseDouble(probabilistic ? refresh.substring(1) : refresh);
+        } catch (NumberFormatException ex) {
+            throw new Exception("refresh=" + refresh + " is error!");
+        }
+        if (!(ratio > 0 && ratio < 1))
+            throw new Exception("refresh=" + refresh + " is error!");
+
+        return new RefreshAhead(ratio, probabilistic, expireSeconds);
+    }
+
+    private static Executor getDefaultExecutor() {
+        var e = defaultExecutor;
+        if (e == null) {
+            synchronized (RefreshAhead.class) {
+                e = defaultExecutor;
+                if (e == null) {
+                    e = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, 60, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(DEFAULT_QUEUE), r -> {
+                                var t = new Thread(r, "cache-refresh");
+                                t.setDaemon(true);
+                                return t;
+                            });
+                    e.allowCoreThreadTimeOut(true);
+                    defaultExecutor = e;
+                }
+            }
+        }
+
+        return e;
+    }
+
+    /**
+     * 设置刷新线程池
+     *
+     * @param executor 线程池, null 使用默认有界线程池
+     */
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 根据剩余过期时间判断是否刷新, 需要时后台执行 refresher, 同一 key 同时只有一个刷新;
+     * 刷新失败或线程池拒绝时保留当前值, 过期后由读取方重新加载
+     *
+     * @param cachekey  完整缓存key
+     * @param ttlMillis 剩余过期时间, 毫秒
+     * @param refresher 加载并写入缓存
+     */
+    void check(byte[] cachekey, long ttlMillis, Callable<?> refresher) {
+        if (ttlMillis <= 0)
+            return;
+        var elapsed = 1 - (double) ttlMillis / this.expireMillis;
+        if (elapsed < this.ratio)
+            return;
+        if (this.probabilistic
+                && ThreadLocalRandom.current().nextDouble() >= (elapsed - this.ratio) / (1 - this.ratio))
+            return;
+        var k = new ByteArrayWrapper(cachekey);
+        if (!this.refreshing.add(k))
+            return;
+        var e = this.executor;
+        try {
+            (e != null ? e : getDefaultExecutor()).execute(() -> {
+                try {
+                    refresher.call();
+                } catch (Exception ex) {
+                    log.warn("refresh(" + new String(cachekey, StandardCharsets.UTF_8) + ") failed", ex);
+                } finally {
+                    this.refreshing.remove(k);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            this.refreshing.remove(k);
+            if (log.isDebugEnabled())
+                log.debug("refresh(" + new String(cachekey, StandardCharsets.UTF_8) + ") rejected");
+        } catch (RuntimeException ex) {
+            this.refreshing.remove(k);
+            log.warn("refresh(" + new String(cachekey, StandardCharsets.UTF_8) + ") execute failed", ex);
+        }
+    }
+}
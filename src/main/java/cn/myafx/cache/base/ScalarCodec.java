@@ -0,0 +1,230 @@
+package cn.myafx.cache.base;
+
+import java.lang.reflect.AnnotatedElement;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 基本类型包装类、String、enum、UUID 直接读写字节, 不经过 json mapper, 默认 IJsonMapper 及默认 JacksonCodec 使用;
+ * 格式与 Jackson 默认输出一致, 整数为 ASCII 十进制, 可与 INCRBY、HINCRBY 共用;
+ * 带 Jackson 注解的 enum 及无法直接解析的值仍由 mapper 处理
+ */
+final class ScalarCodec {
+    /**
+     * decode 未处理
+     */
+    static final Object UNHANDLED = new Object();
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final ClassValue<Boolean> PLAIN_ENUM = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+            if (hasJacksonAnnotation(clazz))
+                return false;
+            for (var f : clazz.getDeclaredFields()) {
+                if (hasJacksonAnnotation(f))
+                    return false;
+            }
+            for (var m : clazz.getDeclaredMethods()) {
+                if (hasJacksonAnnotation(m))
+                    return false;
+            }
+            return true;
+        }
+    };
+
+    private ScalarCodec() {
+    }
+
+    private static boolean hasJacksonAnnotation(AnnotatedElement element) {
+        for (var a : element.getDeclaredAnnotations()) {
+            if (a.annotationType().getName().startsWith("com.fasterxml.jackson."))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 编码
+     *
+     * @param value 非 null
+     * @return 未处理返回 null
+     */
+    static byte[] encode(Object value) {
+        if (value instanceof String s)
+            return s.getBytes(StandardCharsets.UTF_8);
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            var buf = new byte[20];
+            return Arrays.copyOf(buf, CacheKeyEncoder.writeLong(buf, 0, ((Number) value).longValue()));
+        }
+        if (value instanceof Boolean b)
+            return (b ? TRUE : FALSE).clone();
+        if (value instanceof Double d)
+            return Double.isFinite(d) ? ascii(Double.toString(d)) : null;
+        if (value instanceof Float f)
+            return Float.isFinite(f) ? ascii(Float.toString(f)) : null;
+        if (value instanceof UUID u)
+            return quote(u.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (value instanceof Character c)
+            return c >= 0x20 && c != '"' && c != '\\' && !Character.isSurrogate(c)
+                    ? quote(String.valueOf(c).getBytes(StandardCharsets.UTF_8))
+                    : null;
+        if (value instanceof Enum<?> e && PLAIN_ENUM.get(e.getDeclaringClass()))
+            return quote(e.name().getBytes(StandardCharsets.UTF_8));
+
+        return null;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] quote(byte[] buffer) {
+        var r = new byte[buffer.length + 2];
+        r[0] = '"';
+        System.arraycopy(buffer, 0, r, 1, buffer.length);
+        r[r.length - 1] = '"';
+
+        return r;
+    }
+
+    /**
+     * 解码
+     *
+     * @param buffer buffer
+     * @param offset 开始位置
+     * @param length 长度, &gt; 0
+     * @param clazz  clazz
+     * @return 未处理或无法直接解析返回 UNHANDLED
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static Object decode(byte[] buffer, int offset, int length, Class<?> clazz) {
+        if (clazz == String.class)
+            return new String(buffer, offset, length, StandardCharsets.UTF_8);
+        if (clazz == Long.class || clazz == long.class) {
+            var v = parseLong(buffer, offset, length);
+            return v != null ? v : UNHANDLED;
+        }
+        if (clazz == Integer.class || clazz == int.class) {
+            var v = parseLong(buffer, offset, length);
+            return v != null && v == v.intValue() ? (Object) v.intValue() : UNHANDLED;
+        }
+        if (clazz == Short.class || clazz == short.class) {
+            var v = parseLong(buffer, offset, length);
+            return v != null && v == v.shortValue() ? (Object) v.shortValue() : UNHANDLED;
+        }
+        if (clazz == Byte.class || clazz == byte.class) {
+            var v = parseLong(buffer, offset, length);
+            return v != null && v == v.byteValue() ? (Object) v.byteValue() : UNHANDLED;
+        }
+        if (clazz == Boolean.class || clazz == boolean.class) {
+            if (equals(buffer, offset, length, TRUE))
+                return Boolean.TRUE;
+            if (equals(buffer, offset, length, FALSE))
+                return Boolean.FALSE;
+            return UNHANDLED;
+        }
+        if (clazz == Double.class || clazz == double.class || clazz == Float.class || clazz == float.class) {
+            var s = decimal(buffer, offset, length);
+            if (s != null) {
+                try {
+                    var d = Double.parseDouble(s);
+                    return clazz == Double.class || clazz == double.class ? (Object) d : (Object) (float) d;
+                } catch (NumberFormatException ex) {
+                }
+            }
+            return UNHANDLED;
+        }
+        if (clazz == UUID.class) {
+            if (length == 38 && buffer[offset] == '"' && buffer[offset + 37] == '"') {
+                try {
+                    return UUID.fromString(new String(buffer, offset + 1, 36, StandardCharsets.ISO_8859_1));
+                } catch (IllegalArgumentException ex) {
+                }
+            }
+            return UNHANDLED;
+        }
+        if (clazz == Character.class || clazz == char.class) {
+            var s = unquote(buffer, offset, length);
+            return s != null && s.length() == 1 ? (Object) s.charAt(0) : UNHANDLED;
+        }
+        if (clazz.isEnum() && PLAIN_ENUM.get(clazz)) {
+            var s = unquote(buffer, offset, length);
+            if (s != null) {
+                try {
+                    return Enum.valueOf((Class<Enum>) clazz, s);
+                } catch (IllegalArgumentException ex) {
+                }
+            }
+            return UNHANDLED;
+        }
+
+        return UNHANDLED;
+    }
+
+    /**
+     * ASCII 十进制整数, 按 Long.parseLong 方式以负数累加检查溢出
+     *
+     * @return 格式不符或溢出返回 null
+     */
+    private static Long parseLong(byte[] buffer, int offset, int length) {
+        int i = offset, end = offset + length;
+        boolean neg = buffer[i] == '-';
+        if (neg)
+            i++;
+        if (i == end || end - i > 19)
+            return null;
+        long limit = neg ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = limit / 10;
+        long v = 0;
+        for (; i < end; i++) {
+            int d = buffer[i] - '0';
+            if (d < 0 || d > 9 || v < multmin)
+                return null;
+            v *= 10;
+            if (v < limit + d)
+                return null;
+            v -= d;
+        }
+
+        return neg ? v : -v;
+    }
+
+    /**
+     * 只含数字、符号、小数点、指数的 ASCII 字符串
+     *
+     * @return 格式不符返回 null
+     */
+    private static String decimal(byte[] buffer, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            var c = buffer[i];
+            if (!(('0' <= c && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E'))
+                return null;
+        }
+        if (buffer[offset + length - 1] == '.' || buffer[offset] == '.')
+            return null;
+
+        return new String(buffer, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 不含转义的 json 字符串
+     *
+     * @return 格式不符返回 null
+     */
+    private static String unquote(byte[] buffer, int offset, int length) {
+        if (length < 2 || buffer[offset] != '"' || buffer[offset + length - 1] != '"')
+            return null;
+        for (int i = offset + 1, end = offset + length - 1; i < end; i++) {
+            if (buffer[i] == '\\' || buffer[i] == '"')
+                return null;
+        }
+
+        return new String(buffer, offset + 1, length - 2, StandardCharsets.UTF_8);
+    }
+
+    private static boolean equals(byte[] buffer, int offset, int length, byte[] value) {
+        return length == value.length && Arrays.equals(buffer, offset, offset + length, value, 0, value.length);
+    }
+}
@@ -0,0 +1,55 @@
+package cn.myafx.cache.base;
+
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+
+/**
+ * 单连接提供, 记录连接当前 db, db 改变时才发送 SELECT
+ */
+public class SelectConnectionProvider implements IRedisConnectionProvider {
+    private RedisConnection redis;
+    private int db = -1;
+
+    /**
+     * SelectConnectionProvider
+     * 
+     * @param redisConnection RedisConnection
+     * @throws Exception
+     */
+    public SelectConnectionProvider(RedisConnection redisConnection) throws Exception {
+        if (redisConnection == null)
+            throw new Exception("redisConnection is null!");
+        this.redis = redisConnection;
+    }
+
+    @Override
+    public synchronized RedisConnection getConnection(int db) throws Exception {
+        var c = this.redis;
+        if (c == null)
+            throw new Exception("provider is closed!");
+        if (this.db != db) {
+            c.select(db);
+            this.db = db;
+        }
+
+        return c;
+    }
+
+    @Override
+    public void subscribe(byte[] channel, MessageListener listener) throws Exception {
+        throw new Exception("subscribe is not supported!");
+    }
+
+    @Override
+    public boolean canSubscribe() {
+        return false;
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (this.redis != null)
+            this.redis.close();
+        this.redis = null;
+        this.db = -1;
+    }
+}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ScanOptions.ScanOptionsBuilder;
@@ -17,22 +16,22 @@ import cn.myafx.cache.SetOp;
  * set 集合
  */
 public class SetCache<T> extends RedisCache implements ISetCache<T> {
-    private Class<T> clazz;
+    protected Class<T> clazz;
 
     /**
      * SetCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
-     * @param clazz           T.class
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
      * @throws Exception
      */
-    public SetCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix,
+    public SetCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix,
             Class<T> clazz) throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
         if (clazz == null)
             throw new Exception("clazz is null!");
         this.clazz = clazz;
@@ -50,11 +49,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public boolean add(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sAdd(cacheKeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sAdd(cachekey, serialize(value));
 
         return r != null && r > 0;
     }
@@ -73,10 +71,9 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         byte[][] arr = new byte[list.size()][];
         for (var i = 0; i < list.size(); i++) {
             var m = list.get(i);
@@ -84,7 +81,7 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
                 throw new Exception("list item is null!");
             arr[i] = serialize(m);
         }
-        var r = this.redis.setCommands().sAdd(cacheKeyBytes, arr);
+        var r = redis.setCommands().sAdd(cachekey, arr);
 
         return r == null ? 0 : r;
     }
@@ -100,20 +97,12 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public List<T> get(Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sMembers(cacheKeyBytes);
-        List<T> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var b : r) {
-                list.add(deserialize(b, clazz));
-            }
-        }
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sMembers(cachekey);
 
-        return list;
+        return r != null ? deserializeList(r, clazz) : null;
     }
 
     /**
@@ -129,23 +118,21 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public List<T> join(Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String firstCachekey = this.getCacheKey(firstArgs);
-        String secondCachekey = this.getCacheKey(secondArgs);
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
         int db = this.getCacheDb(firstCachekey);
-        this.redis.select(db);
-        var firstCachekeyBytes = getBytes(firstCachekey);
-        var secondCachekeyBytes = getBytes(secondCachekey);
+        var redis = this.getConnection(db);
         List<T> list = null;
         Set<byte[]> r = null;
         switch (op) {
             case Union:
-                r = this.redis.setCommands().sUnion(firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sUnion(firstCachekey, secondCachekey);
                 break;
             case Intersect:
-                r = this.redis.setCommands().sInter(firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sInter(firstCachekey, secondCachekey);
                 break;
             case Difference:
-                r = this.redis.setCommands().sDiff(firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sDiff(firstCachekey, secondCachekey);
                 break;
         }
         if (r != null) {
@@ -170,24 +157,21 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
      */
     @Override
     public long joinAndAdd(Object[] addArgs, Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception {
-        String addCachekey = this.getCacheKey(addArgs);
-        String firstCachekey = this.getCacheKey(firstArgs);
-        String secondCachekey = this.getCacheKey(secondArgs);
+        var addCachekey = this.getCacheKeyBytes(addArgs);
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
         int db = this.getCacheDb(firstCachekey);
-        this.redis.select(db);
-        var addCachekeyBytes = getBytes(addCachekey);
-        var firstCachekeyBytes = getBytes(firstCachekey);
-        var secondCachekeyBytes = getBytes(secondCachekey);
+        var redis = this.getConnection(db);
         Long r = null;
         switch (op) {
             case Union:
-                r = this.redis.setCommands().sUnionStore(addCachekeyBytes, firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sUnionStore(addCachekey, firstCachekey, secondCachekey);
                 break;
             case Intersect:
-                r = this.redis.setCommands().sInterStore(addCachekeyBytes, firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sInterStore(addCachekey, firstCachekey, secondCachekey);
                 break;
             case Difference:
-                r = this.redis.setCommands().sDiffStore(addCachekeyBytes, firstCachekeyBytes, secondCachekeyBytes);
+                r = redis.setCommands().sDiffStore(addCachekey, firstCachekey, secondCachekey);
                 break;
         }
 
@@ -206,11 +190,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public boolean exist(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sIsMember(cacheKeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sIsMember(cachekey, serialize(value));
 
         return r == null ? false : r;
     }
@@ -224,11 +207,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
      */
     @Override
     public long getCount(Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sCard(cacheKeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sCard(cachekey);
 
         return r == null ? 0 : r;
     }
@@ -244,13 +226,11 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
      */
     @Override
     public boolean move(Object[] sourceArgs, Object[] desArgs, T value) throws Exception {
-        String sourceCachekey = this.getCacheKey(sourceArgs);
-        String desCachekey = this.getCacheKey(desArgs);
+        var sourceCachekey = this.getCacheKeyBytes(sourceArgs);
+        var desCachekey = this.getCacheKeyBytes(desArgs);
         int db = this.getCacheDb(sourceCachekey);
-        this.redis.select(db);
-        var sourceCachekeyBytes = getBytes(sourceCachekey);
-        var desCachekeyBytes = getBytes(desCachekey);
-        var r = this.redis.setCommands().sMove(sourceCachekeyBytes, desCachekeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sMove(sourceCachekey, desCachekey, serialize(value));
 
         return r == null ? false : r;
     }
@@ -266,11 +246,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public T pop(Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sPop(cacheKeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sPop(cachekey);
         T m = deserialize(r, clazz);
 
         return m;
@@ -290,11 +269,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
             throw new Exception("count=" + count + " is error!");
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sPop(cacheKeyBytes, count);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sPop(cachekey, count);
         List<T> list = null;
         if (r != null) {
             list = new ArrayList<>(r.size());
@@ -317,11 +295,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public T getRandomValue(Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sRandMember(cacheKeyBytes);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sRandMember(cachekey);
         T m = deserialize(r, clazz);
 
         return m;
@@ -341,11 +318,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
             throw new Exception("count=" + count + " is error!");
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sRandMember(cacheKeyBytes, count);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sRandMember(cachekey, count);
         List<T> list = null;
         if (r != null) {
             list = new ArrayList<>(r.size());
@@ -369,11 +345,10 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
     public boolean delete(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.setCommands().sRem(cacheKeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sRem(cachekey, serialize(value));
 
         return r != null && r > 0;
     }
@@ -392,10 +367,9 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         byte[][] arr = new byte[list.size()][];
         for (var i = 0; i < list.size(); i++) {
             var m = list.get(i);
@@ -403,7 +377,7 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
                 throw new Exception("list item is null!");
             arr[i] = serialize(m);
         }
-        var r = this.redis.setCommands().sRem(cacheKeyBytes, arr);
+        var r = redis.setCommands().sRem(cachekey, arr);
 
         return r == null ? 0 : r;
     }
@@ -425,13 +399,34 @@ public class SetCache<T> extends RedisCache implements ISetCache<T> {
             throw new Exception("count=" + count + " is error!");
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
 
         ScanOptionsBuilder opbu = ScanOptions.scanOptions().count(count).match(getBytes(pattern));
-        var r = this.redis.setCommands().sScan(cacheKeyBytes, opbu.build());
+        var r = redis.setCommands().sScan(cachekey, opbu.build());
+
+        return new SetCursor(r, clazz);
+    }
+
+    /**
+     * 游标方式读取全部数据, 按页读取, 逐个反序列化, 代替大集合的 get
+     * 
+     * @param count 游标页大小
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public ICacheCursor<T> getCursor(int count, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var r = redis.setCommands().sScan(cachekey, ScanOptions.scanOptions().count(count).build());
 
         return new SetCursor(r, clazz);
     }
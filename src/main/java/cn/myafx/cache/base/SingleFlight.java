@@ -0,0 +1,51 @@
+package cn.myafx.cache.base;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.data.redis.connection.util.ByteArrayWrapper;
+
+/**
+ * 同一 key 的并发加载合并为一次, 其他线程等待并共享结果
+ */
+public final class SingleFlight {
+    private final Map<ByteArrayWrapper, CompletableFuture<Object>> flightMap = new ConcurrentHashMap<>();
+
+    /**
+     * 执行加载, 同一 key 已有加载进行中时等待其结果
+     *
+     * @param <V>    V
+     * @param key    完整缓存key
+     * @param loader 加载
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(byte[] key, Callable<V> loader) throws Exception {
+        var k = new ByteArrayWrapper(key);
+        var future = new CompletableFuture<Object>();
+        var flight = this.flightMap.putIfAbsent(k, future);
+        if (flight != null) {
+            try {
+                return (V) flight.get();
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Exception e)
+                    throw e;
+                throw ex;
+            }
+        }
+        try {
+            var v = loader.call();
+            future.complete(v);
+            return v;
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.flightMap.remove(k, future);
+        }
+    }
+}
@@ -7,7 +7,6 @@ import java.util.Set;
 
 import org.springframework.data.domain.Range;
 import org.springframework.data.redis.connection.Limit;
-import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
 import org.springframework.data.redis.connection.zset.Tuple;
 import org.springframework.data.redis.core.ScanOptions.ScanOptionsBuilder;
@@ -27,28 +26,28 @@ import org.springframework.data.redis.core.ScanOptions;
  */
 public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
 
-    private Class<T> clazz;
+    protected Class<T> clazz;
 
     /**
      * SortSetCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
-     * @param clazz           T.class
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
      * @throws Exception
      */
-    public SortSetCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix,
+    public SortSetCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix,
             Class<T> clazz) throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
         if (clazz == null)
             throw new Exception("clazz is null!");
         this.clazz = clazz;
     }
 
-    private ZAddArgs toZAddArgs(OpWhen when) {
+    protected ZAddArgs toZAddArgs(OpWhen when) {
         switch (when) {
             case Exists:
                 return ZAddArgs.ifExists();
@@ -74,11 +73,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public boolean addOrUpdate(T value, double score, OpWhen when, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zAdd(cacheKeyBytes, score, serialize(value), toZAddArgs(when));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zAdd(cachekey, score, serialize(value), toZAddArgs(when));
 
         return r == null ? false : true;
     }
@@ -98,11 +96,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("m is null!");
         if (m.Value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zAdd(cacheKeyBytes, m.Score, serialize(m.Value), toZAddArgs(when));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zAdd(cachekey, m.Score, serialize(m.Value), toZAddArgs(when));
 
         return r == null ? false : true;
     }
@@ -122,10 +119,9 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         Set<Tuple> hashset = new HashSet<>(list.size());
         for (var sm : list) {
             if (sm == null)
@@ -134,7 +130,7 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
                 throw new Exception("list item.value is null!");
             hashset.add(new SortSetTuple(serialize(sm.Value), sm.Score));
         }
-        var r = this.redis.zSetCommands().zAdd(cacheKeyBytes, hashset, toZAddArgs(when));
+        var r = redis.zSetCommands().zAdd(cachekey, hashset, toZAddArgs(when));
 
         return r == null ? 0 : r;
     }
@@ -152,11 +148,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public double decdrement(T value, double score, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zIncrBy(cacheKeyBytes, -score, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zIncrBy(cachekey, -score, serialize(value));
 
         return r == null ? 0 : r;
     }
@@ -174,11 +169,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public double increment(T value, double score, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zIncrBy(cacheKeyBytes, score, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zIncrBy(cachekey, score, serialize(value));
 
         return r == null ? 0 : r;
     }
@@ -195,11 +189,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
      */
     @Override
     public long getCount(double minScore, double maxScore, ExcludeType excType, Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zCount(cacheKeyBytes, minScore, maxScore);
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zCount(cachekey, minScore, maxScore);
 
         return r == null ? 0 : r;
     }
@@ -216,15 +209,14 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public SortSetModel<T> pop(Sort sort, Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         Tuple r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zPopMax(cacheKeyBytes);
+            r = redis.zSetCommands().zPopMax(cachekey);
         else
-            r = this.redis.zSetCommands().zPopMin(cacheKeyBytes);
+            r = redis.zSetCommands().zPopMin(cachekey);
         SortSetModel<T> m = null;
         if (r != null) {
             m = new SortSetModel<T>(deserialize(r.getValue(), clazz), r.getScore());
@@ -248,24 +240,15 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("clazz is null!");
         if (count <= 0)
             throw new Exception("count=" + count + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         Set<Tuple> r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zPopMax(cacheKeyBytes, count);
+            r = redis.zSetCommands().zPopMax(cachekey, count);
         else
-            r = this.redis.zSetCommands().zPopMin(cacheKeyBytes, count);
-        List<SortSetModel<T>> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var rt : r) {
-                list.add(new SortSetModel<T>(deserialize(rt.getValue(), clazz), rt.getScore()));
-            }
-        }
-
-        return list;
+            r = redis.zSetCommands().zPopMin(cachekey, count);
+        return r != null ? toModelList(r) : null;
     }
 
     /**
@@ -282,15 +265,14 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public List<T> get(long start, long stop, Sort sort, Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         Set<byte[]> r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zRange(cacheKeyBytes, start, stop);
+            r = redis.zSetCommands().zRange(cachekey, start, stop);
         else
-            r = this.redis.zSetCommands().zRevRange(cacheKeyBytes, start, stop);
+            r = redis.zSetCommands().zRevRange(cachekey, start, stop);
         List<T> list = null;
         if (r != null) {
             list = new ArrayList<>(r.size());
@@ -316,21 +298,34 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public List<SortSetModel<T>> getWithScores(long start, long stop, Sort sort, Object... args) throws Exception {
         if (clazz == null)
             throw new Exception("clazz is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         Set<Tuple> r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zRangeWithScores(cacheKeyBytes, start, stop);
+            r = redis.zSetCommands().zRangeWithScores(cachekey, start, stop);
         else
-            r = this.redis.zSetCommands().zRevRangeWithScores(cacheKeyBytes, start, stop);
-        List<SortSetModel<T>> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var rt : r) {
-                list.add(new SortSetModel<T>(deserialize(rt.getValue(), clazz), rt.getScore()));
-            }
+            r = redis.zSetCommands().zRevRangeWithScores(cachekey, start, stop);
+        return r != null ? toModelList(r) : null;
+    }
+
+    /**
+     * 反序列化带分数结果, 保持顺序
+     * 
+     * @param r redis 返回值
+     * @return
+     * @throws Exception
+     */
+    protected List<SortSetModel<T>> toModelList(Set<Tuple> r) throws Exception {
+        List<byte[]> buffers = new ArrayList<>(r.size());
+        for (var rt : r) {
+            buffers.add(rt.getValue());
+        }
+        var values = deserializeList(buffers, clazz);
+        List<SortSetModel<T>> list = new ArrayList<>(r.size());
+        int i = 0;
+        for (var rt : r) {
+            list.add(new SortSetModel<T>(values.get(i++), rt.getScore()));
         }
 
         return list;
@@ -377,17 +372,16 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("clazz is null!");
         if (skip < 0)
             throw new Exception("skip=" + skip + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         var range = toRange(startScore, stopScore, excType);
         var limit = Limit.limit().offset(skip).count(take);
         Set<byte[]> r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zRangeByScore(cacheKeyBytes, range, limit);
+            r = redis.zSetCommands().zRangeByScore(cachekey, range, limit);
         else
-            r = this.redis.zSetCommands().zRevRangeByScore(cacheKeyBytes, range, limit);
+            r = redis.zSetCommands().zRevRangeByScore(cachekey, range, limit);
         List<T> list = null;
         if (r != null) {
             list = new ArrayList<>(r.size());
@@ -419,26 +413,17 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("clazz is null!");
         if (skip < 0)
             throw new Exception("skip=" + skip + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         var range = toRange(startScore, stopScore, excType);
         var limit = Limit.limit().offset(skip).count(take);
         Set<Tuple> r = null;
         if (sort == Sort.Asc)
-            r = this.redis.zSetCommands().zRangeByScoreWithScores(cacheKeyBytes, range, limit);
+            r = redis.zSetCommands().zRangeByScoreWithScores(cachekey, range, limit);
         else
-            r = this.redis.zSetCommands().zRevRangeByScoreWithScores(cacheKeyBytes, range, limit);
-        List<SortSetModel<T>> list = null;
-        if (r != null) {
-            list = new ArrayList<>(r.size());
-            for (var rt : r) {
-                list.add(new SortSetModel<T>(deserialize(rt.getValue(), clazz), rt.getScore()));
-            }
-        }
-
-        return list;
+            r = redis.zSetCommands().zRevRangeByScoreWithScores(cachekey, range, limit);
+        return r != null ? toModelList(r) : null;
     }
 
     /**
@@ -453,11 +438,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     public boolean delete(T value, Object... args) throws Exception {
         if (value == null)
             throw new Exception("value is null!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zRem(cacheKeyBytes, serialize(value));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zRem(cachekey, serialize(value));
 
         return r != null && r > 0;
     }
@@ -476,10 +460,9 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("list is null!");
         if (list.size() == 0)
             return 0;
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         byte[][] arr = new byte[list.size()][];
         for (var i = 0; i < list.size(); i++) {
             var m = list.get(i);
@@ -487,7 +470,7 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
                 throw new Exception("list item is null!");
             arr[i] = serialize(m);
         }
-        var r = this.redis.zSetCommands().zRem(cacheKeyBytes, arr);
+        var r = redis.zSetCommands().zRem(cachekey, arr);
 
         return r == null ? 0 : r;
     }
@@ -503,11 +486,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
      */
     @Override
     public long delete(long start, long stop, Object... args) throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zRemRange(cacheKeyBytes, start, stop);
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zRemRange(cachekey, start, stop);
 
         return r == null ? 0 : r;
     }
@@ -525,11 +507,10 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
     @Override
     public long deleteByScore(double startScore, double stopScore, ExcludeType excType, Object... args)
             throws Exception {
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
-        var r = this.redis.zSetCommands().zRemRangeByScore(cacheKeyBytes, toRange(startScore, stopScore, excType));
+        var redis = this.getConnection(db);
+        var r = redis.zSetCommands().zRemRangeByScore(cachekey, toRange(startScore, stopScore, excType));
 
         return r == null ? 0 : r;
     }
@@ -549,12 +530,11 @@ public class SortSetCache<T> extends RedisCache implements ISortSetCache<T> {
             throw new Exception("pattern is null!");
         if (pageSize <= 0)
             throw new Exception("pageSize=" + pageSize + " is error!");
-        String cachekey = this.getCacheKey(args);
+        var cachekey = this.getCacheKeyBytes(args);
         int db = this.getCacheDb(cachekey);
-        this.redis.select(db);
-        var cacheKeyBytes = getBytes(cachekey);
+        var redis = this.getConnection(db);
         ScanOptionsBuilder opbu = ScanOptions.scanOptions().match(pattern).count(pageSize);
-        var r = this.redis.zSetCommands().zScan(cacheKeyBytes, opbu.build());
+        var r = redis.zSetCommands().zScan(cachekey, opbu.build());
 
         return new SortSetCursor(r, clazz);
     }
@@ -1,33 +1,66 @@
 package cn.myafx.cache.base;
 
-import org.springframework.data.redis.connection.RedisConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
 import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.types.Expiration;
 
+import cn.myafx.cache.CacheValue;
 import cn.myafx.cache.ICacheKey;
 import cn.myafx.cache.OpWhen;
+import io.lettuce.core.SetArgs;
 
 public class StringCache<T> extends RedisCache implements IStringCache<T> {
 
-    private Class<T> clazz;
+    private static final byte[] GET_TTL_SCRIPT = ("local v = redis.call('get', KEYS[1]) "
+            + "if v then return {v, redis.call('pttl', KEYS[1])} end return nil").getBytes(StandardCharsets.UTF_8);
+
+    protected Class<T> clazz;
+    /**
+     * 并发 get 合并, 未配置 batchwindow 时为 null
+     */
+    private ReadBatcher readBatcher;
 
     /**
      * StringCache
      * 
-     * @param node            缓存key配置db节点
-     * @param item            缓存key配置项
-     * @param redisConnection RedisConnection
-     * @param cacheKey        ICacheKey
-     * @param prefix          缓存前缀
-     * @param clazz           T.class
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IRedisConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
      * @throws Exception
      */
-    public StringCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix,
+    public StringCache(String node, String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix,
             Class<T> clazz) throws Exception {
-        super(node, item, redisConnection, cacheKey, prefix);
+        super(node, item, provider, cacheKey, prefix);
         if (clazz == null)
             throw new Exception("clazz is null!");
         this.clazz = clazz;
+        this.enableNearCache();
+        this.readBatcher = ReadBatcher.create(this.keyConfig.BatchWindow, this.keyConfig.BatchSize,
+                this::fetchBatch);
+    }
+
+    /**
+     * 绑定缓存key, key 及 db 只解析一次, 同一key多次操作时使用
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public IBoundStringCache<T> bind(Object... args) throws Exception {
+        return new BoundStringCache<>(this, this.bindKey(args));
     }
 
     /**
@@ -39,17 +72,217 @@ public class StringCache<T> extends RedisCache implements IStringCache<T> {
      */
     @Override
     public T get(Object... args) throws Exception {
-        String caheKey = this.getCacheKey(args);
-        int db = this.getCacheDb(caheKey);
-        this.redis.select(db);
-        var caheKeyBytes = getBytes(caheKey);
-        var r = this.redis.stringCommands().get(caheKeyBytes);
+        return this.get(this.bindKey(args));
+    }
+
+    protected T get(BoundKey key) throws Exception {
+        var m = this.find(key).getValue();
+
+        return m != null ? m : deserialize(null, clazz);
+    }
+
+    /**
+     * 获取缓存, 区分未缓存与已缓存不存在标记
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public CacheValue<T> find(Object... args) throws Exception {
+        return this.find(this.bindKey(args));
+    }
+
+    protected CacheValue<T> find(BoundKey key) throws Exception {
+        var near = this.getNearCache();
+        long version = 0;
+        if (near != null) {
+            var v = near.get(key.Key);
+            if (v != null)
+                return this.toValue(v == NearCache.NULL_VALUE ? null : (byte[]) v);
+            version = near.getVersion();
+        }
+        var batcher = this.readBatcher;
+        var r = batcher != null ? batcher.get(key, null) : this.getConnection(key.Db).stringCommands().get(key.Key);
+        if (near != null)
+            near.put(key.Key, r == null ? NearCache.NULL_VALUE : r, version);
+
+        return this.toValue(r);
+    }
+
+    private CacheValue<T> toValue(byte[] r) throws Exception {
+        if (r == null)
+            return CacheValue.none();
+        if (this.isMissing(r))
+            return CacheValue.missing();
         T m = deserialize(r, clazz);
 
-        return m;
+        return m == null ? CacheValue.none() : CacheValue.of(m);
+    }
+
+    /**
+     * 写入不存在标记, 过期时间为配置 missexpire
+     * 
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public void markMissing(Object... args) throws Exception {
+        this.markMissing(this.bindKey(args));
+    }
+
+    protected void markMissing(BoundKey key) throws Exception {
+        var missExpire = this.keyConfig.MissExpire;
+        if (missExpire == null)
+            throw new Exception(this.keyConfig.Node + "/" + this.keyConfig.Item + " missexpire 未配置！");
+        var redis = this.getConnection(key.Db);
+        redis.stringCommands().set(key.Key, MISSING_VALUE, Expiration.seconds(missExpire), SetOption.UPSERT);
+        this.invalidate(key);
+    }
+
+    /**
+     * 批量获取缓存, 按 db 分组每组一次 MGET, lettuce 连接时各组同时发送;
+     * 集群时 lettuce 按 slot 拆分 MGET
+     * 
+     * @param argsList 每个缓存key参数
+     * @return 与 argsList 顺序一致, 不存在为 null
+     * @throws Exception
+     */
+    @Override
+    public List<T> getMany(List<Object[]> argsList) throws Exception {
+        if (argsList == null)
+            throw new Exception("argsList is null!");
+        var keys = new BoundKey[argsList.size()];
+        int i = 0;
+        for (var args : argsList) {
+            if (args == null)
+                throw new Exception("argsList item is null!");
+            keys[i++] = this.bindKey(args);
+        }
+
+        return this.getMany(keys);
+    }
+
+    protected List<T> getMany(BoundKey[] keys) throws Exception {
+        int n = keys.length;
+        var buffers = new byte[n][];
+        var near = this.getNearCache();
+        long version = near != null ? near.getVersion() : 0;
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (near != null) {
+                var v = near.get(keys[i].Key);
+                if (v != null) {
+                    buffers[i] = v == NearCache.NULL_VALUE ? null : (byte[]) v;
+                    continue;
+                }
+            }
+            groups.computeIfAbsent(keys[i].Db, k -> new ArrayList<>()).add(i);
+        }
+        this.mGet(keys, groups, buffers);
+        if (near != null) {
+            for (var index : groups.values()) {
+                for (var i : index)
+                    near.put(keys[i].Key, buffers[i] == null ? NearCache.NULL_VALUE : buffers[i], version);
+            }
+        }
+
+        return this.deserializeList(Arrays.asList(buffers), clazz);
+    }
+
+    /**
+     * 按 db 分组 MGET, lettuce 连接时各组同时发送
+     * 
+     * @param keys    缓存key
+     * @param groups  db - keys 序号
+     * @param buffers 结果, 写入对应序号
+     * @throws Exception
+     */
+    private void mGet(BoundKey[] keys, Map<Integer, List<Integer>> groups, byte[][] buffers) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(groups.size());
+        for (var g : groups.entrySet()) {
+            var index = g.getValue();
+            var karr = new byte[index.size()][];
+            for (int j = 0; j < karr.length; j++)
+                karr[j] = keys[index.get(j)].Key;
+            var commands = this.getAsyncCommands(g.getKey());
+            if (commands != null) {
+                futures.add(commands.mget(karr).thenAccept(r -> {
+                    for (int j = 0; j < r.size(); j++)
+                        buffers[index.get(j)] = r.get(j).getValueOrElse(null);
+                }).toCompletableFuture());
+            } else {
+                var r = this.getConnection(g.getKey()).stringCommands().mGet(karr);
+                if (r != null) {
+                    for (int j = 0; j < r.size(); j++)
+                        buffers[index.get(j)] = r.get(j);
+                }
+            }
+        }
+        this.await(futures);
     }
 
-    private SetOption toSetOption(OpWhen when) {
+    private byte[][] fetchBatch(List<ReadBatcher.Request> requests) throws Exception {
+        int n = requests.size();
+        var keys = new BoundKey[n];
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            keys[i] = requests.get(i).key;
+            groups.computeIfAbsent(keys[i].Db, k -> new ArrayList<>()).add(i);
+        }
+        var buffers = new byte[n][];
+        this.mGet(keys, groups, buffers);
+
+        return buffers;
+    }
+
+    /**
+     * 批量添加或更新, value 为 null 时删除; 按 db 分组, lettuce 连接时所有 SET 连续发送后统一等待
+     * 
+     * @param map           缓存key参数 - 缓存数据
+     * @param expireSeconds 缓存有效时间,秒, &lt;= 0 不过期
+     * @throws Exception
+     */
+    @Override
+    public void setMany(Map<Object[], T> map, int expireSeconds) throws Exception {
+        if (map == null)
+            throw new Exception("map is null!");
+        List<BoundKey> keys = new ArrayList<>(map.size());
+        List<Future<?>> futures = new ArrayList<>(map.size());
+        try {
+            for (var e : map.entrySet()) {
+                if (e.getKey() == null)
+                    throw new Exception("map.key is null!");
+                var key = this.bindKey(e.getKey());
+                keys.add(key);
+                var value = serialize(e.getValue());
+                var commands = this.getAsyncCommands(key.Db);
+                if (commands != null) {
+                    if (value == null)
+                        futures.add(commands.del(key.Key));
+                    else if (expireSeconds > 0)
+                        futures.add(commands.set(key.Key, value, SetArgs.Builder.ex(expireSeconds)));
+                    else
+                        futures.add(commands.set(key.Key, value));
+                } else {
+                    var redis = this.getConnection(key.Db);
+                    if (value == null)
+                        redis.keyCommands().del(key.Key);
+                    else
+                        redis.stringCommands().set(key.Key, value,
+                                expireSeconds > 0 ? Expiration.seconds(expireSeconds) : Expiration.persistent(),
+                                SetOption.UPSERT);
+                }
+            }
+            this.await(futures);
+        } finally {
+            for (var key : keys) {
+                this.invalidate(key);
+            }
+        }
+    }
+
+    protected SetOption toSetOption(OpWhen when) {
         switch (when) {
             case Exists:
                 return SetOption.SET_IF_PRESENT;
@@ -72,19 +305,22 @@ public class StringCache<T> extends RedisCache implements IStringCache<T> {
      */
     @Override
     public boolean set(T m, OpWhen when, Object... args) throws Exception {
-        String caheKey = this.getCacheKey(args);
-        int db = this.getCacheDb(caheKey);
-        this.redis.select(db);
-        var caheKeyBytes = getBytes(caheKey);
+        return this.set(m, when, this.bindKey(args));
+    }
+
+    protected boolean set(T m, OpWhen when, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        boolean result = true;
         if (m == null) {
-            this.redis.keyCommands().del(caheKeyBytes);
-            return true;
+            redis.keyCommands().del(key.Key);
         } else {
-            var r = this.redis.stringCommands().set(caheKeyBytes, serialize(m), Expiration.persistent(),
+            var r = redis.stringCommands().set(key.Key, serialize(m), Expiration.persistent(),
                     toSetOption(when));
-
-            return r == null ? false : r;
+            result = r == null ? false : r;
         }
+        this.invalidate(key);
+
+        return result;
     }
 
     /**
@@ -99,19 +335,22 @@ public class StringCache<T> extends RedisCache implements IStringCache<T> {
      */
     @Override
     public boolean set(T m, int expireSeconds, OpWhen when, Object... args) throws Exception {
-        String caheKey = this.getCacheKey(args);
-        int db = this.getCacheDb(caheKey);
-        this.redis.select(db);
-        var caheKeyBytes = getBytes(caheKey);
+        return this.set(m, expireSeconds, when, this.bindKey(args));
+    }
+
+    protected boolean set(T m, int expireSeconds, OpWhen when, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        boolean result = true;
         if (m == null) {
-            this.redis.keyCommands().del(caheKeyBytes);
-            return true;
+            redis.keyCommands().del(key.Key);
         } else {
-            var r = this.redis.stringCommands().set(caheKeyBytes, serialize(m), Expiration.seconds(expireSeconds),
+            var r = redis.stringCommands().set(key.Key, serialize(m), Expiration.seconds(expireSeconds),
                     toSetOption(when));
-
-            return r == null ? false : r;
+            result = r == null ? false : r;
         }
+        this.invalidate(key);
+
+        return result;
     }
 
     /**
@@ -124,11 +363,13 @@ public class StringCache<T> extends RedisCache implements IStringCache<T> {
      */
     @Override
     public long increment(long incrementValue, Object... args) throws Exception {
-        String caheKey = this.getCacheKey(args);
-        int db = this.getCacheDb(caheKey);
-        this.redis.select(db);
-        var caheKeyBytes = getBytes(caheKey);
-        var r = this.redis.stringCommands().incrBy(caheKeyBytes, incrementValue);
+        return this.increment(incrementValue, this.bindKey(args));
+    }
+
+    protected long increment(long incrementValue, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.stringCommands().incrBy(key.Key, incrementValue);
+        this.invalidate(key);
 
         return r == null ? 0 : r;
     }
@@ -143,12 +384,111 @@ public class StringCache<T> extends RedisCache implements IStringCache<T> {
      */
     @Override
     public long decrement(long decrementValue, Object... args) throws Exception {
-        String caheKey = this.getCacheKey(args);
-        int db = this.getCacheDb(caheKey);
-        this.redis.select(db);
-        var caheKeyBytes = getBytes(caheKey);
-        var r = this.redis.stringCommands().incrBy(caheKeyBytes, -decrementValue);
+        return this.decrement(decrementValue, this.bindKey(args));
+    }
+
+    protected long decrement(long decrementValue, BoundKey key) throws Exception {
+        var redis = this.getConnection(key.Db);
+        var r = redis.stringCommands().incrBy(key.Key, -decrementValue);
+        this.invalidate(key);
 
         return r == null ? 0 : r;
     }
+
+    /**
+     * 获取缓存, 不存在时调用 loader 加载并按配置 expire 写入缓存;
+     * 同一 key 并发未命中只调用一次 loader, 其他线程共享结果;
+     * 配置 missexpire 时已缓存不存在标记直接返回 null, 不调用 loader
+     * 
+     * @param loader 加载
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public T getOrLoad(Callable<T> loader, Object... args) throws Exception {
+        return this.getOrLoad(loader, this.bindKey(args));
+    }
+
+    protected T getOrLoad(Callable<T> loader, BoundKey key) throws Exception {
+        if (loader == null)
+            throw new Exception("loader is null!");
+        var v = this.refreshAhead != null ? this.getAndRefresh(loader, key) : this.find(key);
+        if (v.isCached())
+            return v.getValue();
+
+        return this.singleFlight.execute(key.Key, () -> this.load(loader, key));
+    }
+
+    /**
+     * 获取缓存, 同时读取剩余过期时间, 已过 refresh 比例时后台刷新
+     * 
+     * @param loader 加载
+     * @param key    已解析的缓存key
+     * @return
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    protected CacheValue<T> getAndRefresh(Callable<T> loader, BoundKey key) throws Exception {
+        var near = this.getNearCache();
+        long version = 0;
+        if (near != null) {
+            var v = near.get(key.Key);
+            if (v != null)
+                return this.toValue(v == NearCache.NULL_VALUE ? null : (byte[]) v);
+            version = near.getVersion();
+        }
+        var redis = this.getConnection(key.Db);
+        List<Object> r = redis.scriptingCommands().eval(GET_TTL_SCRIPT, ReturnType.MULTI, 1, key.Key);
+        var value = r != null && r.size() == 2 ? (byte[]) r.get(0) : null;
+        if (near != null)
+            near.put(key.Key, value == null ? NearCache.NULL_VALUE : value, version);
+        if (value != null && !this.isMissing(value))
+            this.refreshAhead.check(key.Key, (Long) r.get(1), () -> this.loadAndSet(loader, key));
+
+        return this.toValue(value);
+    }
+
+    /**
+     * 调用 loader 加载并写入缓存, 加载前再检查一次, 避免刚完成的加载被重复执行;
+     * 配置 loadlock 时多进程只有一个进程加载
+     * 
+     * @param loader 加载
+     * @param key    已解析的缓存key
+     * @return
+     * @throws Exception
+     */
+    protected T load(Callable<T> loader, BoundKey key) throws Exception {
+        var v = this.find(key);
+        if (v.isCached())
+            return v.getValue();
+
+        return this.leaseLoad(key, () -> {
+            var c = this.find(key);
+            return c.isCached() ? c : null;
+        }, () -> CacheValue.of(this.loadAndSet(loader, key))).getValue();
+    }
+
+    /**
+     * 调用 loader 加载并写入缓存, 加载为 null 且配置 missexpire 时写入不存在标记
+     * 
+     * @param loader 加载
+     * @param key    已解析的缓存key
+     * @return
+     * @throws Exception
+     */
+    private T loadAndSet(Callable<T> loader, BoundKey key) throws Exception {
+        var m = loader.call();
+        if (m != null) {
+            var expire = this.getExpire();
+            if (expire != null && expire > 0)
+                this.set(m, expire, OpWhen.Always, key);
+            else
+                this.set(m, OpWhen.Always, key);
+        } else if (this.keyConfig.MissExpire != null) {
+            this.markMissing(key);
+        }
+
+        return m;
+    }
 }
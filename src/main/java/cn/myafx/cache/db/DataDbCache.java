@@ -1,21 +1,20 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 import cn.myafx.cache.base.StringCache;
 
 public class DataDbCache<T> extends StringCache<T> implements IDataDbCache<T> {
     /**
      * DataDb
      * @param item 缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param clazz T.class
      * @throws Exception
      */
-    public DataDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
-        super("DataDb", item, redisConnection, cacheKey, prefix, clazz);
+    public DataDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
+        super("DataDb", item, provider, cacheKey, prefix, clazz);
     }
 }
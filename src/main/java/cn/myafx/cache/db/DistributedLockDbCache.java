@@ -1,8 +1,7 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 import cn.myafx.cache.base.StringCache;
 /**
  * 分布式锁db接口
@@ -10,17 +9,16 @@ import cn.myafx.cache.base.StringCache;
 public class DistributedLockDbCache<T> extends StringCache<T> implements IDistributedLockDbCache<T> {
     
     /**
-     * StringCache
-     * @param node 缓存key配置db节点
-     * @param item 缓存key配置项
-     * @param redisConnection RedisConnection
+     * 分布式锁db
+     * @param item 缓存item
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param clazz T.class
      * @throws Exception
      */
-    public DistributedLockDbCache(String node, String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception {
-        super("DistributedLockDbCache", item, redisConnection, cacheKey, prefix, clazz);
+    public DistributedLockDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception {
+        super("DistributedLockDb", item, provider, cacheKey, prefix, clazz);
     }
 
     
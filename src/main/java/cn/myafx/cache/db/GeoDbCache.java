@@ -1,9 +1,8 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
 import cn.myafx.cache.base.GeoCache;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 
 /**
  * gps位置信息db
@@ -14,13 +13,13 @@ public class GeoDbCache extends GeoCache implements IGeoDbCache {
      * gps位置信息db
      * 
      * @param item            缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey        ICacheKey
      * @param prefix          缓存前缀
      * @throws Exception
      */
-    public GeoDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix)
+    public GeoDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix)
             throws Exception {
-        super("GeoDb", item, redisConnection, cacheKey, prefix);
+        super("GeoDb", item, provider, cacheKey, prefix);
     }
 }
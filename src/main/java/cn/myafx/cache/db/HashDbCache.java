@@ -1,9 +1,8 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
 import cn.myafx.cache.base.HashCache;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 
 /**
  * 哈希db
@@ -13,14 +12,14 @@ public class HashDbCache<TField, TValue> extends HashCache<TField, TValue> imple
     /**
      * 哈希db
      * @param item 缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param fieldClass TField.class
      * @param valueClass TValue.class
      * @throws Exception
      */
-    public HashDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<TField> fieldClass, Class<TValue> valueClass) throws Exception{
-        super("HashDb", item, redisConnection, cacheKey, prefix,fieldClass,valueClass);
+    public HashDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<TField> fieldClass, Class<TValue> valueClass) throws Exception{
+        super("HashDb", item, provider, cacheKey, prefix,fieldClass,valueClass);
     }
 }
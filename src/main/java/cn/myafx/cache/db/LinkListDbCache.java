@@ -1,8 +1,7 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 import cn.myafx.cache.base.LinkListCache;
 
 /**
@@ -13,13 +12,13 @@ public class LinkListDbCache<T> extends LinkListCache<T> implements ILinkListDbC
     /**
      * 链接db
      * @param item 缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param clazz T.class
      * @throws Exception
      */
-    public LinkListDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
-        super("LinkListDb", item, redisConnection, cacheKey, prefix, clazz);
+    public LinkListDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
+        super("LinkListDb", item, provider, cacheKey, prefix, clazz);
     }
 }
@@ -1,8 +1,7 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 import cn.myafx.cache.base.StringCache;
 
 /**
@@ -12,13 +11,13 @@ public class ParamDbCache<T> extends StringCache<T> implements IParamDbCache<T>
     /**
      * 常规带参数数据db
      * @param item 缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param clazz T.class
      * @throws Exception
      */
-    public ParamDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
-        super("ParamDb", item, redisConnection, cacheKey, prefix, clazz);
+    public ParamDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
+        super("ParamDb", item, provider, cacheKey, prefix, clazz);
     }
 }
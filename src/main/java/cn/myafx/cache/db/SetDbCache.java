@@ -1,8 +1,7 @@
 package cn.myafx.cache.db;
 
-import org.springframework.data.redis.connection.RedisConnection;
-
 import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.IRedisConnectionProvider;
 import cn.myafx.cache.base.SetCache;
 
 /**
@@ -12,13 +11,13 @@ public class SetDbCache<T> extends SetCache<T> implements ISetDbCache<T> {
     /**
      * set集合db
      * @param item 缓存item
-     * @param redisConnection redis
+     * @param provider redis 连接提供
      * @param cacheKey ICacheKey
      * @param prefix 缓存前缀
      * @param clazz T.class
      * @throws Exception
      */
-    public SetDbCache(String item, RedisConnection redisConnection, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
-        super("SetDb", item, redisConnection, cacheKey, prefix, clazz);
+    public SetDbCache(String item, IRedisConnectionProvider provider, ICacheKey cacheKey, String prefix, Class<T> clazz) throws Exception{
+        super("SetDb", item, provider, cacheKey, prefix, clazz);
     }
 }
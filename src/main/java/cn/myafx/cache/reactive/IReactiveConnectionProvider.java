@@ -0,0 +1,17 @@
+package cn.myafx.cache.reactive;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+
+/**
+ * 响应式连接提供, ReactiveRedisConnection 不支持 SELECT, 按 db 提供连接
+ */
+public interface IReactiveConnectionProvider extends AutoCloseable {
+    /**
+     * 获取 db 连接
+     * 
+     * @param db redis db
+     * @return ReactiveRedisConnection
+     * @throws Exception
+     */
+    ReactiveRedisConnection getConnection(int db) throws Exception;
+}
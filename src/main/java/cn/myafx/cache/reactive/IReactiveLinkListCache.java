@@ -0,0 +1,134 @@
+package cn.myafx.cache.reactive;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 链表 响应式接口
+ */
+public interface IReactiveLinkListCache<T> extends IReactiveValueCache<T> {
+
+    /**
+     * 添加到左边第一个
+     * @param value value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> pushLeft(T value, Object... args) throws Exception;
+
+    /**
+     * 添加到左边第一个
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> pushLeft(List<T> list, Object... args) throws Exception;
+
+    /**
+     * 添加到右边第一个
+     * @param value value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> pushRight(T value, Object... args) throws Exception;
+
+    /**
+     * 添加到右边第一个
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> pushRight(List<T> list, Object... args) throws Exception;
+
+    /**
+     * 获取指定索引位置数据
+     * @param index 索引位置
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<T> get(long index, Object... args) throws Exception;
+    /**
+     * 获取一个范围数据
+     * @param start 开始位置
+     * @param stop 结束位置，-1.全部
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<T> getRange(long start, long stop, Object... args) throws Exception;
+    /**
+     * 插入到那个value后面
+     * @param pivot 要插入到那个value后面
+     * @param value 插入value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> insertAfter(T pivot, T value, Object... args) throws Exception;
+    /**
+     * 插入到那个value前面
+     * @param pivot 要插入到那个value前面
+     * @param value 插入value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> insertBefore(T pivot, T value, Object... args) throws Exception;
+    /**
+     * 返回并移除左边第一个
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<T> popLeft(Object... args) throws Exception;
+    /**
+     * 返回并移除右边第一个
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<T> popRight(Object... args) throws Exception;
+
+    /**
+     * 更新
+     * @param index 位置
+     * @param value 更新后value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> update(long index, T value, Object... args) throws Exception;
+
+    /**
+     * 移除数据
+     * @param value 要删除的value
+     * @param count 匹配数据个数，0.匹配所有
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> delete(T value, long count, Object... args) throws Exception;
+
+    /**
+     * 移除指定区域之外的所有数据
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    Mono<Void> trim(long start, long stop, Object... args) throws Exception;
+    /**
+     * 获取链表长度
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> getCount(Object... args) throws Exception;
+}
@@ -0,0 +1,54 @@
+package cn.myafx.cache.reactive;
+
+import cn.myafx.cache.base.IBaseCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * redis 响应式缓存接口
+ */
+public interface IReactiveRedisCache extends IBaseCache {
+    /**
+     * 缓存key是否存在
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> contains(Object[] args) throws Exception;
+
+    /**
+     * 移除缓存
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> remove(Object[] args) throws Exception;
+
+    /**
+     * 设置缓存有效时间
+     * 
+     * @param expireSeconds 缓存有效时间, 秒
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> expire(Integer expireSeconds, Object[] args) throws Exception;
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> expire(Object[] args) throws Exception;
+
+    /**
+     * ping
+     * 
+     * @return
+     * @throws Exception
+     */
+    Mono<String> ping() throws Exception;
+}
@@ -0,0 +1,196 @@
+package cn.myafx.cache.reactive;
+
+import java.util.List;
+
+import cn.myafx.cache.ExcludeType;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.Sort;
+import cn.myafx.cache.SortSetModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 有序集合 响应式接口
+ */
+public interface IReactiveSortSetCache<T> extends IReactiveValueCache<T> {
+
+    /**
+     * 添加或更新数据
+     * @param value value
+     * @param score 排序分
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> addOrUpdate(T value, double score, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 添加或更新数据
+     * @param m SortSetModel
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> addOrUpdate(SortSetModel<T> m, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 添加或更新数据
+     * @param list SortSetModel List
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> addOrUpdate(List<SortSetModel<T>> list, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 减少 score
+     * @param value value
+     * @param score 排序分
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Double> decrement(T value, double score, Object... args) throws Exception;
+
+    /**
+     * 增加 score
+     * @param value  value
+     * @param score 排序分
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Double> increment(T value, double score, Object... args) throws Exception;
+
+    /**
+     * 获取集合数量
+     * @param minScore 最小排序分
+     * @param maxScore 最大排序分
+     * @param excType 条件类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> getCount(double minScore, double maxScore, ExcludeType excType, Object... args) throws Exception;
+
+    /**
+     * 返回并集合
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<SortSetModel<T>> pop(Sort sort, Object... args) throws Exception;
+
+    /**
+     * 返回并集合
+     * @param count 返回数量
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<SortSetModel<T>> pop(long count, Sort sort, Object... args) throws Exception;
+
+    /**
+     * 获取集合
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<T> get(long start, long stop, Sort sort, Object... args) throws Exception;
+
+    /**
+     * 获取集合
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<SortSetModel<T>> getWithScores(long start, long stop, Sort sort, Object... args) throws Exception;
+
+    /**
+     * 获取集合
+     * @param startScore 开始位置排序分
+     * @param stopScore 结束位置排序分
+     * @param excType 条件类型
+     * @param sort 排序
+     * @param skip 跳过多少个
+     * @param take 返回多少个
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<T> getByScore(double startScore, double stopScore, ExcludeType excType, Sort sort, int skip, int take, Object... args) throws Exception;
+
+    /**
+     * 获取集合
+     * @param startScore 开始位置排序分
+     * @param stopScore 结束位置排序分
+     * @param excType 条件类型
+     * @param sort 排序
+     * @param skip 跳过多少个
+     * @param take 返回多少个，-1.返回所有
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<SortSetModel<T>> getByScoreWithScores(double startScore, double stopScore, ExcludeType excType, Sort sort, int skip, int take, Object... args) throws Exception;
+
+    /**
+     * 移除集合
+     * @param value value
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> delete(T value, Object... args) throws Exception;
+
+    /**
+     * 移除集合
+     * @param list value List
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> delete(List<T> list, Object... args) throws Exception;
+
+    /**
+     * 移除集合
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> delete(long start, long stop, Object... args) throws Exception;
+
+    /**
+     * 移除集合
+     * @param startScore 开始位置排序分
+     * @param stopScore 结束位置排序分
+     * @param excType 条件类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> deleteByScore(double startScore, double stopScore, ExcludeType excType, Object... args) throws Exception;
+
+    /**
+     * 游标方式读取数据
+     * @param pattern 搜索表达式
+     * @param pageSize 游标页大小
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Flux<SortSetModel<T>> scan(String pattern, int pageSize, Object... args) throws Exception;
+}
@@ -0,0 +1,57 @@
+package cn.myafx.cache.reactive;
+
+import cn.myafx.cache.OpWhen;
+import reactor.core.publisher.Mono;
+
+/**
+ * string key value 响应式接口
+ */
+public interface IReactiveStringCache<T> extends IReactiveValueCache<T> {
+
+    /**
+     * 获取缓存
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<T> get(Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param when when
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> set(T m, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 添加或更新
+     * @param m 缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Boolean> set(T m, int expireSeconds, OpWhen when, Object... args) throws Exception;
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * @param incrementValue 增量
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> increment(long incrementValue, Object... args) throws Exception;
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * @param decrementValue 减量
+     * @param args 原子减 T 必须是 int、 long
+     * @return
+     * @throws Exception
+     */
+    Mono<Long> decrement(long decrementValue, Object... args) throws Exception;
+}
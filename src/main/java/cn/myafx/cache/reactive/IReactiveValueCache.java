@@ -0,0 +1,5 @@
+package cn.myafx.cache.reactive;
+
+public abstract interface IReactiveValueCache<T> extends IReactiveRedisCache {
+
+}
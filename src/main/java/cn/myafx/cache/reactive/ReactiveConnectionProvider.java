@@ -0,0 +1,96 @@
+package cn.myafx.cache.reactive;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import cn.myafx.cache.base.RedisConnectionProvider;
+
+/**
+ * 响应式连接提供, 每个 db 一个连接;
+ * 非默认 db 由 lettuce 单机、哨兵、静态主从或 socket 配置复制出对应 db 的连接工厂, 其他配置不支持非默认 db;
+ * 集群不支持多 db, 忽略 db 只使用一个集群连接, 按 key slot 路由
+ */
+public class ReactiveConnectionProvider implements IReactiveConnectionProvider {
+    private ReactiveRedisConnectionFactory connectionFactory;
+    private final Map<Integer, ReactiveRedisConnection> connectionMap = new ConcurrentHashMap<>();
+    private final Map<Integer, LettuceConnectionFactory> factoryMap = new ConcurrentHashMap<>();
+
+    /**
+     * ReactiveConnectionProvider
+     * 
+     * @param connectionFactory ReactiveRedisConnectionFactory
+     * @throws Exception
+     */
+    public ReactiveConnectionProvider(ReactiveRedisConnectionFactory connectionFactory) throws Exception {
+        if (connectionFactory == null)
+            throw new Exception("connectionFactory is null!");
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 是否集群
+     * 
+     * @return
+     */
+    public boolean isCluster() {
+        return this.connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.isClusterAware();
+    }
+
+    @Override
+    public ReactiveRedisConnection getConnection(int db) throws Exception {
+        var factory = this.connectionFactory;
+        if (factory == null)
+            throw new Exception("provider is closed!");
+        if (this.isCluster())
+            db = 0;
+        var c = this.connectionMap.get(db);
+        if (c != null)
+            return c;
+        synchronized (this.connectionMap) {
+            c = this.connectionMap.get(db);
+            if (c == null) {
+                c = this.createConnection(factory, db);
+                this.connectionMap.put(db, c);
+            }
+        }
+
+        return c;
+    }
+
+    private ReactiveRedisConnection createConnection(ReactiveRedisConnectionFactory factory, int db)
+            throws Exception {
+        if (factory instanceof LettuceConnectionFactory lettuce) {
+            if (lettuce.isClusterAware())
+                return lettuce.getReactiveClusterConnection();
+            if (lettuce.getDatabase() == db)
+                return lettuce.getReactiveConnection();
+            var dbFactory = RedisConnectionProvider.createDbFactory(lettuce, db);
+            this.factoryMap.put(db, dbFactory);
+
+            return dbFactory.getReactiveConnection();
+        }
+        if (db != 0)
+            throw new Exception("db(" + db + ") is not supported!");
+
+        return factory.getReactiveConnection();
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this.connectionMap) {
+            for (var c : this.connectionMap.values()) {
+                c.close();
+            }
+            this.connectionMap.clear();
+            for (var f : this.factoryMap.values()) {
+                f.destroy();
+            }
+            this.factoryMap.clear();
+            this.connectionFactory = null;
+        }
+    }
+}
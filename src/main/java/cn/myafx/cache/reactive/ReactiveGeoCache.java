@@ -0,0 +1,403 @@
+package cn.myafx.cache.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoRadiusCommandArgs;
+import org.springframework.data.redis.domain.geo.Metrics;
+import org.springframework.data.redis.util.ByteUtils;
+
+import cn.myafx.cache.DistUnit;
+import cn.myafx.cache.GeoInfo;
+import cn.myafx.cache.GeoPos;
+import cn.myafx.cache.GeoRadius;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.RadiusOptions;
+import cn.myafx.cache.Sort;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * geo 响应式缓存
+ */
+public class ReactiveGeoCache extends ReactiveRedisCache implements IReactiveGeoCache {
+
+    /**
+     * ReactiveGeoCache
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @throws Exception
+     */
+    public ReactiveGeoCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param name 位置名称
+     * @param lon  经度
+     * @param lat  纬度
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> addOrUpdate(String name, double lon, double lat, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var point = GeoPos.toPoint(lon, lat);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoAdd(wrap(cachekey), point, wrap(getBytes(name))).map(r -> r > 0)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param name 位置名称
+     * @param pos  位置
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> addOrUpdate(String name, GeoPos pos, Object... args) throws Exception {
+        if (pos == null)
+            throw new Exception("pos is null!");
+        return this.addOrUpdate(name, pos.Lon, pos.Lat, args);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param m    GeoInfo
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> addOrUpdate(GeoInfo m, Object... args) throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+        return this.addOrUpdate(m.Name, m.Position, args);
+    }
+
+    /**
+     * 添加位置或更新
+     * 
+     * @param list List GeoInfo
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> addOrUpdate(List<GeoInfo> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        List<GeoLocation<ByteBuffer>> locations = new ArrayList<>(list.size());
+        for (var gm : list) {
+            if (gm == null)
+                throw new Exception("list item is null!");
+            if (gm.Name == null || gm.Name.isEmpty())
+                throw new Exception("list item.Name is null!");
+            if (gm.Position == null)
+                throw new Exception("list item.Position is null!");
+            locations.add(new GeoLocation<>(wrap(getBytes(gm.Name)), new Point(gm.Position.Lon, gm.Position.Lat)));
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoAdd(wrap(cachekey), locations).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 获取坐标
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return GeoPos
+     * @throws Exception
+     */
+    @Override
+    public Mono<GeoPos> get(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoPos(wrap(cachekey), wrap(getBytes(name))).map(this::toGeoPos);
+    }
+
+    private GeoPos toGeoPos(Point point) {
+        try {
+            return GeoPos.toGeoPos(point);
+        } catch (Exception ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+
+    private List<ByteBuffer> toNameList(List<String> names) throws Exception {
+        List<ByteBuffer> list = new ArrayList<>(names.size());
+        for (var name : names) {
+            if (name == null || name.isEmpty())
+                throw new Exception("name is null!");
+            list.add(wrap(getBytes(name)));
+        }
+
+        return list;
+    }
+
+    /**
+     * 获取坐标
+     * 
+     * @param names 位置名称 List
+     * @param args  key 参数
+     * @return List GeoPos
+     * @throws Exception
+     */
+    @Override
+    public Mono<List<GeoPos>> get(List<String> names, Object... args) throws Exception {
+        if (names == null)
+            throw new Exception("names is null!");
+        if (names.size() == 0)
+            return Mono.just(new ArrayList<>(0));
+        var marr = toNameList(names);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoPos(wrap(cachekey), marr).map(rlist -> {
+            List<GeoPos> list = new ArrayList<>(rlist.size());
+            for (var p : rlist) {
+                list.add(toGeoPos(p));
+            }
+            return list;
+        });
+    }
+
+    private Metric getMetric(DistUnit unit) {
+        switch (unit) {
+            case km:
+                return Metrics.KILOMETERS;
+            case mi:
+                return Metrics.MILES;
+            case ft:
+                return Metrics.FEET;
+            case m:
+            default:
+                return Metrics.METERS;
+        }
+    }
+
+    /**
+     * 计算距离
+     * 
+     * @param firstName  第一个坐标点名称
+     * @param secondName 第二个坐标点名称
+     * @param unit       距离单位
+     * @param args       key 参数
+     * @return 坐标不存在返回null
+     * @throws Exception
+     */
+    @Override
+    public Mono<Double> getDist(String firstName, String secondName, DistUnit unit, Object... args)
+            throws Exception {
+        if (firstName == null || firstName.isEmpty())
+            throw new Exception("firstName is null!");
+        if (secondName == null || secondName.isEmpty())
+            throw new Exception("secondName is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoDist(wrap(cachekey), wrap(getBytes(firstName)),
+                wrap(getBytes(secondName)), this.getMetric(unit)).map(Distance::getValue);
+    }
+
+    /**
+     * 获取GeoHash
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<String> getGeoHash(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoHash(wrap(cachekey), wrap(getBytes(name)));
+    }
+
+    /**
+     * 获取GeoHash
+     * 
+     * @param names 位置名称 List
+     * @param args  key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<List<String>> getGeoHash(List<String> names, Object... args) throws Exception {
+        if (names == null)
+            throw new Exception("names is null!");
+        if (names.size() == 0)
+            return Mono.just(new ArrayList<>(0));
+        var marr = toNameList(names);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.geoCommands().geoHash(wrap(cachekey), marr);
+    }
+
+    /**
+     * 删除位置点
+     * 
+     * @param name 位置名称
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> delete(String name, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.zSetCommands().zRem(wrap(cachekey), wrap(getBytes(name))).map(r -> r > 0)
+                .defaultIfEmpty(false);
+    }
+
+    private GeoRadiusCommandArgs getOption(int radiusOptions, int count, Sort sort) {
+        var op = GeoRadiusCommandArgs.newGeoRadiusArgs();
+        if (radiusOptions == RadiusOptions.None
+                || (radiusOptions & RadiusOptions.WithCoordinates) == RadiusOptions.WithCoordinates)
+            op.includeCoordinates();
+        if (radiusOptions == RadiusOptions.None
+                || (radiusOptions & RadiusOptions.WithDistance) == RadiusOptions.WithDistance)
+            op.includeDistance();
+        if (count > 0)
+            op.limit(count);
+        op.sort(sort == Sort.Asc ? Direction.ASC : Direction.DESC);
+
+        return op;
+    }
+
+    private GeoRadius toGeoRadius(GeoResult<GeoLocation<ByteBuffer>> gr) {
+        var gn = gr.getContent();
+        var d = gr.getDistance();
+        try {
+            String rname = getString(gn.getName() == null ? null : ByteUtils.getBytes(gn.getName()));
+            Double rdistance = d != null ? d.getValue() : null;
+            GeoPos rposition = GeoPos.toGeoPos(gn.getPoint());
+            return new GeoRadius(rname, rdistance, rposition);
+        } catch (Exception ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+
+    /**
+     * 查询指定位置名称半径内的位置
+     * 
+     * @param name          位置名称
+     * @param radius        半径
+     * @param unit          半径单位
+     * @param count         返回数量， -1返回所有
+     * @param sort          排序，Asc 由近到远
+     * @param radiusOptions 返回数据选项
+     * @param args          key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<GeoRadius> getRadius(String name, double radius, DistUnit unit, int count, Sort sort,
+            int radiusOptions, Object... args) throws Exception {
+        if (name == null || name.isEmpty())
+            throw new Exception("name is null!");
+        if (radius < 0)
+            throw new Exception("radius = " + radius + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var distance = new Distance(radius, getMetric(unit));
+        var op = this.getOption(radiusOptions, count, sort);
+
+        return redis.geoCommands().geoRadiusByMember(wrap(cachekey), wrap(getBytes(name)), distance, op)
+                .map(this::toGeoRadius);
+    }
+
+    /**
+     * 查询指定坐标半径内的位置
+     * 
+     * @param lon           经度
+     * @param lat           纬度
+     * @param radius        半径
+     * @param unit          半径单位
+     * @param count         返回数量， -1返回所有
+     * @param sort          排序，Asc 由近到远
+     * @param radiusOptions 返回数据选项
+     * @param args          key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<GeoRadius> getRadius(double lon, double lat, double radius, DistUnit unit, int count, Sort sort,
+            int radiusOptions, Object... args) throws Exception {
+        var point = GeoPos.toPoint(lon, lat);
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var distance = new Distance(radius, getMetric(unit));
+        var circle = new Circle(point, distance);
+        var op = this.getOption(radiusOptions, count, sort);
+
+        return redis.geoCommands().geoRadius(wrap(cachekey), circle, op).map(this::toGeoRadius);
+    }
+
+    /**
+     * 查询geo集合数量
+     * 
+     * @param args key 参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> getCount(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+
+        return redis.zSetCommands().zCount(wrap(cachekey), Range.closed(Double.MIN_VALUE, Double.MAX_VALUE))
+                .defaultIfEmpty(0L);
+    }
+}
@@ -0,0 +1,348 @@
+package cn.myafx.cache.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.ScanOptions;
+
+import cn.myafx.cache.ICacheKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * hash 响应式缓存
+ */
+public class ReactiveHashCache<TField, TValue> extends ReactiveRedisCache
+        implements IReactiveHashCache<TField, TValue> {
+    protected Class<TField> fieldClass;
+    protected Class<TValue> valueClass;
+
+    /**
+     * ReactiveHashCache
+     * 
+     * @param node       缓存key配置db节点
+     * @param item       缓存key配置项
+     * @param provider   IReactiveConnectionProvider
+     * @param cacheKey   ICacheKey
+     * @param prefix     缓存前缀
+     * @param fieldClass TField.class
+     * @param valueClass TValue.class
+     * @throws Exception
+     */
+    public ReactiveHashCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<TField> fieldClass, Class<TValue> valueClass) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (fieldClass == null)
+            throw new Exception("fieldClass is null!");
+        if (valueClass == null)
+            throw new Exception("valueClass is null!");
+        this.fieldClass = fieldClass;
+        this.valueClass = valueClass;
+        this.enableNearInvalidate();
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param field hash key
+     * @param value hash value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> set(TField field, TValue value, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return invalidate(redis, cachekey,
+                redis.hashCommands().hSet(cachekeyBytes, toBuffer(field), toBuffer(value)).thenReturn(true));
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param map  Map
+     * @param args 缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public Mono<Void> addOrUpdate(Map<TField, TValue> map, Object... args) throws Exception {
+        if (map == null)
+            throw new Exception("map is null!");
+        var hmap = new HashMap<ByteBuffer, ByteBuffer>(map.size());
+        List<ByteBuffer> dels = new ArrayList<>();
+        for (var h : map.entrySet()) {
+            if (h.getKey() == null)
+                throw new Exception("map.key is null!");
+            if (h.getValue() == null)
+                dels.add(toBuffer(h.getKey()));
+            else
+                hmap.put(toBuffer(h.getKey()), toBuffer(h.getValue()));
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+        Mono<?> set = hmap.size() > 0 ? redis.hashCommands().hMSet(cachekeyBytes, hmap) : Mono.empty();
+        Mono<?> del = dels.size() > 0 ? redis.hashCommands().hDel(cachekeyBytes, dels) : Mono.empty();
+
+        return invalidate(redis, cachekey, Mono.when(set, del));
+    }
+
+    private Map.Entry<TField, TValue> toEntry(Map.Entry<ByteBuffer, ByteBuffer> e) {
+        return new AbstractMap.SimpleEntry<>(decode(e.getKey(), fieldClass), decode(e.getValue(), valueClass));
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Map<TField, TValue>> get(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.hashCommands().hGetAll(cachekeyBytes).map(this::toEntry)
+                .collect(HashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()));
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<TValue> getValue(TField field, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return decode(redis.hashCommands().hGet(cachekeyBytes, toBuffer(field)), valueClass);
+    }
+
+    /**
+     * 获取数据
+     * 
+     * @param fields hash key
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<List<TValue>> getValue(List<TField> fields, Object... args) throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        if (fields.size() == 0)
+            return Mono.just(new ArrayList<TValue>(0));
+        var karr = toBufferList(fields, "fields");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.hashCommands().hMGet(cachekeyBytes, karr).map(r -> {
+            List<TValue> list = new ArrayList<>(r.size());
+            for (var b : r) {
+                list.add(decode(b, valueClass));
+            }
+            return list;
+        });
+    }
+
+    /**
+     * 获取hash key
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<TField> getFields(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return decode(redis.hashCommands().hKeys(cachekeyBytes), fieldClass);
+    }
+
+    /**
+     * 获取hash value
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<TValue> getValues(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return decode(redis.hashCommands().hVals(cachekeyBytes), valueClass);
+    }
+
+    /**
+     * 获取hash key 数量
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> getCount(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.hashCommands().hLen(cachekeyBytes).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 是否存在hash key
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> exists(TField field, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.hashCommands().hExists(cachekeyBytes, toBuffer(field)).defaultIfEmpty(false);
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param field hash key
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> delete(TField field, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return invalidate(redis, cachekey,
+                redis.hashCommands().hDel(cachekeyBytes, toBuffer(field)).defaultIfEmpty(false));
+    }
+
+    /**
+     * 移除hash key
+     * 
+     * @param fields hash key
+     * @param args   缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> delete(List<TField> fields, Object... args) throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        if (fields.size() == 0)
+            return Mono.just(0L);
+        var karr = toBufferList(fields, "fields");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return invalidate(redis, cachekey, redis.hashCommands().hDel(cachekeyBytes, karr).defaultIfEmpty(0L));
+    }
+
+    /**
+     * hash value 原子自增，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> increment(TField field, long incrementValue, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return invalidate(redis, cachekey,
+                redis.numberCommands().hIncrBy(cachekeyBytes, toBuffer(field), incrementValue));
+    }
+
+    /**
+     * hash value 原子自减，TValue 必须是 long、int类型
+     * 
+     * @param field          hash key
+     * @param decrementValue 自减量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> decrement(TField field, long decrementValue, Object... args) throws Exception {
+        if (field == null)
+            throw new Exception("field is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return invalidate(redis, cachekey,
+                redis.numberCommands().hIncrBy(cachekeyBytes, toBuffer(field), -decrementValue));
+    }
+
+    /**
+     * 游标方式读取数据
+     * 
+     * @param pattern 搜索表达式
+     * @param count   游标页大小
+     * @param args    缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<Map.Entry<TField, TValue>> scan(String pattern, int count, Object... args) throws Exception {
+        if (pattern == null)
+            throw new Exception("pattern is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+        var op = ScanOptions.scanOptions().count(count).match(getBytes(pattern)).build();
+
+        return redis.hashCommands().hScan(cachekeyBytes, op).map(this::toEntry);
+    }
+}
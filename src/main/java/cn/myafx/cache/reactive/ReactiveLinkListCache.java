@@ -0,0 +1,318 @@
+package cn.myafx.cache.reactive;
+
+import java.util.List;
+
+import org.springframework.data.redis.connection.ReactiveListCommands.Direction;
+import org.springframework.data.redis.connection.RedisListCommands.Position;
+
+import cn.myafx.cache.ICacheKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 链表 响应式缓存
+ */
+public class ReactiveLinkListCache<T> extends ReactiveRedisCache implements IReactiveLinkListCache<T> {
+    protected Class<T> clazz;
+
+    /**
+     * ReactiveLinkListCache
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public ReactiveLinkListCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    /**
+     * 添加到左边第一个
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> pushLeft(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        return this.pushLeft(List.of(value), args);
+    }
+
+    /**
+     * 添加到左边第一个
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> pushLeft(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        var arr = toBufferList(list, "list");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lPush(cachekeyBytes, arr).defaultIfEmpty(-1L);
+    }
+
+    /**
+     * 添加到右边第一个
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> pushRight(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        return this.pushRight(List.of(value), args);
+    }
+
+    /**
+     * 添加到右边第一个
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> pushRight(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        var arr = toBufferList(list, "list");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().rPush(cachekeyBytes, arr).defaultIfEmpty(-1L);
+    }
+
+    /**
+     * 获取指定索引位置数据
+     * 
+     * @param index 索引位置
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> get(long index, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return decode(redis.listCommands().lIndex(cachekeyBytes, index), clazz);
+    }
+
+    /**
+     * 获取一个范围数据
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置，-1.全部
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> getRange(long start, long stop, Object... args) throws Exception {
+        if (start < 0)
+            throw new Exception("start = " + start + " is error!");
+        if (stop != -1 && stop < start)
+            throw new Exception("stop = " + stop + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+        var r = page((offset, count) -> redis.listCommands().lRange(cachekeyBytes, start + offset,
+                start + offset + count - 1), 0, stop == -1 ? -1 : stop - start + 1);
+
+        return decode(r, clazz);
+    }
+
+    private Mono<Long> insert(Position position, T pivot, T value, Object... args) throws Exception {
+        if (pivot == null)
+            throw new Exception("pivot is null!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lInsert(cachekeyBytes, position, toBuffer(pivot), toBuffer(value))
+                .defaultIfEmpty(-1L);
+    }
+
+    /**
+     * 插入到那个value后面
+     * 
+     * @param pivot 要插入到那个value后面
+     * @param value 插入value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> insertAfter(T pivot, T value, Object... args) throws Exception {
+        return this.insert(Position.AFTER, pivot, value, args);
+    }
+
+    /**
+     * 插入到那个value前面
+     * 
+     * @param pivot 要插入到那个value前面
+     * @param value 插入value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> insertBefore(T pivot, T value, Object... args) throws Exception {
+        return this.insert(Position.BEFORE, pivot, value, args);
+    }
+
+    private Mono<T> pop(Direction direction, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+        var r = direction == Direction.LEFT
+                ? redis.listCommands().lPop(cachekeyBytes)
+                : redis.listCommands().rPop(cachekeyBytes);
+
+        return decode(r, clazz);
+    }
+
+    /**
+     * 返回并移除左边第一个
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> popLeft(Object... args) throws Exception {
+        return this.pop(Direction.LEFT, args);
+    }
+
+    /**
+     * 返回并移除右边第一个
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> popRight(Object... args) throws Exception {
+        return this.pop(Direction.RIGHT, args);
+    }
+
+    /**
+     * 更新
+     * 
+     * @param index 位置
+     * @param value 更新后value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> update(long index, T value, Object... args) throws Exception {
+        if (index < 0)
+            throw new Exception("index=" + index + " is error!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lSet(cachekeyBytes, index, toBuffer(value)).defaultIfEmpty(false);
+    }
+
+    /**
+     * 移除数据
+     * 
+     * @param value 要删除的value
+     * @param count 匹配数据个数，0.匹配所有
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> delete(T value, long count, Object... args) throws Exception {
+        if (count < 0)
+            throw new Exception("count=" + count + " is error!");
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lRem(cachekeyBytes, count, toBuffer(value)).defaultIfEmpty(-1L);
+    }
+
+    /**
+     * 移除指定区域之外的所有数据
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param args  缓存key参数
+     * @throws Exception
+     */
+    @Override
+    public Mono<Void> trim(long start, long stop, Object... args) throws Exception {
+        if (start < 0)
+            throw new Exception("start=" + start + " is error!");
+        if (stop < start)
+            throw new Exception("stop=" + stop + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lTrim(cachekeyBytes, start, stop).then();
+    }
+
+    /**
+     * 获取链表长度
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> getCount(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cachekeyBytes = wrap(cachekey);
+
+        return redis.listCommands().lLen(cachekeyBytes).defaultIfEmpty(0L);
+    }
+}
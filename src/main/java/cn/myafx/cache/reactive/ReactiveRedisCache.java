@@ -0,0 +1,246 @@
+package cn.myafx.cache.reactive;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.util.ByteUtils;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.base.BaseCache;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * redis 响应式缓存, 基于 ReactiveRedisConnection;
+ * 不存在的 key 返回空 Mono, 大结果集以 Flux 分页拉取, 按下游需求请求下一页
+ */
+public class ReactiveRedisCache extends BaseCache implements IReactiveRedisCache {
+    /**
+     * 连接提供
+     */
+    protected IReactiveConnectionProvider provider;
+    /**
+     * 分页拉取时每页数量
+     */
+    protected int pageSize = 500;
+    /**
+     * 本地缓存失效通知频道, string、hash 配置 near 时写入后通知, 其他为 null
+     */
+    protected byte[] nearChannel;
+
+    /**
+     * 分页查询
+     */
+    @FunctionalInterface
+    protected interface IPageQuery<R> {
+        Flux<R> query(long offset, long count);
+    }
+
+    /**
+     * ReactiveRedisCache
+     *
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @throws Exception
+     */
+    public ReactiveRedisCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix) throws Exception {
+        super(node, item, cacheKey, prefix);
+        if (provider == null)
+            throw new Exception("provider is null !");
+        this.provider = provider;
+    }
+
+    /**
+     * 获取 db 连接
+     * 
+     * @param db db
+     * @return
+     * @throws Exception
+     */
+    protected ReactiveRedisConnection getConnection(int db) throws Exception {
+        return this.provider.getConnection(db);
+    }
+
+    /**
+     * 配置 near 时写入后通知同步缓存移除本地缓存
+     * 
+     * @throws Exception
+     */
+    protected void enableNearInvalidate() throws Exception {
+        this.nearChannel = this.getNearChannel();
+    }
+
+    /**
+     * 写入完成后 (含失败, 可能已部分写入) 通知移除本地缓存, 通知完成后发出写入结果
+     * 
+     * @param <T>      T
+     * @param redis    写入 key 的 db 连接
+     * @param cachekey 完整缓存key
+     * @param mono     写入
+     * @return
+     */
+    protected <T> Mono<T> invalidate(ReactiveRedisConnection redis, byte[] cachekey, Mono<T> mono) {
+        var channel = this.nearChannel;
+        if (channel == null)
+            return mono;
+        var publish = Mono.defer(() -> redis.pubSubCommands().publish(wrap(channel), wrap(cachekey)));
+
+        return mono.materialize().flatMap(s -> publish.thenReturn(s)).dematerialize();
+    }
+
+    protected ByteBuffer wrap(byte[] buffer) {
+        return buffer == null ? null : ByteBuffer.wrap(buffer);
+    }
+
+    protected ByteBuffer toBuffer(Object value) throws Exception {
+        return wrap(serialize(value));
+    }
+
+    protected List<ByteBuffer> toBufferList(Collection<?> list, String name) throws Exception {
+        List<ByteBuffer> rlist = new ArrayList<>(list.size());
+        for (var m : list) {
+            if (m == null)
+                throw new Exception(name + " item is null!");
+            rlist.add(toBuffer(m));
+        }
+
+        return rlist;
+    }
+
+    /**
+     * 反序列化, 异常转为非受检异常
+     * 
+     * @param <T>    T
+     * @param buffer ByteBuffer
+     * @param clazz  clazz
+     * @return
+     */
+    protected <T> T decode(ByteBuffer buffer, Class<T> clazz) {
+        try {
+            return deserialize(buffer == null ? null : ByteUtils.getBytes(buffer), clazz);
+        } catch (Exception ex) {
+            throw Exceptions.propagate(ex);
+        }
+    }
+
+    protected <T> Mono<T> decode(Mono<ByteBuffer> mono, Class<T> clazz) {
+        return mono.handle((b, sink) -> {
+            var m = decode(b, clazz);
+            if (m != null)
+                sink.next(m);
+        });
+    }
+
+    protected <T> Flux<T> decode(Flux<ByteBuffer> flux, Class<T> clazz) {
+        return flux.handle((b, sink) -> {
+            var m = decode(b, clazz);
+            if (m != null)
+                sink.next(m);
+        });
+    }
+
+    /**
+     * 分页拉取, 当前页发送完且下游仍有需求时才查询下一页
+     * 
+     * @param <R>       R
+     * @param query     分页查询
+     * @param offset    开始位置
+     * @param remaining 剩余数量, &lt; 0 全部
+     * @return
+     */
+    protected <R> Flux<R> page(IPageQuery<R> query, long offset, long remaining) {
+        long count = remaining < 0 ? this.pageSize : Math.min(remaining, this.pageSize);
+        if (count == 0)
+            return Flux.empty();
+
+        return query.query(offset, count).collectList().flatMapMany(list -> {
+            var f = Flux.fromIterable(list);
+            if (list.size() < count)
+                return f;
+            return f.concatWith(Flux.defer(() -> page(query, offset + count, remaining < 0 ? -1 : remaining - count)));
+        });
+    }
+
+    /**
+     * 移除缓存
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public Mono<Boolean> remove(Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var redis = this.getConnection(db);
+
+        return invalidate(redis, key, redis.keyCommands().del(wrap(key)).map(r -> r > 0));
+    }
+
+    /**
+     * 缓存key是否存在
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public Mono<Boolean> contains(Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var redis = this.getConnection(db);
+
+        return redis.keyCommands().exists(wrap(key)).defaultIfEmpty(false);
+    }
+
+    /**
+     * 设置缓存有效时间
+     *
+     * @param expireSeconds 缓存有效时间, 秒
+     * @param args          缓存key参数
+     * @return
+     */
+    @Override
+    public Mono<Boolean> expire(Integer expireSeconds, Object[] args) throws Exception {
+        var key = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(key);
+        var redis = this.getConnection(db);
+
+        var r = expireSeconds != null && expireSeconds > 0
+                ? redis.keyCommands().expire(wrap(key), Duration.ofSeconds(expireSeconds))
+                : redis.keyCommands().persist(wrap(key));
+
+        return invalidate(redis, key, r.defaultIfEmpty(false));
+    }
+
+    /**
+     * 根据系统配置设置缓存有效时间
+     *
+     * @param args 缓存key参数
+     * @return
+     */
+    @Override
+    public Mono<Boolean> expire(Object[] args) throws Exception {
+        return this.expire(this.getExpire(), args);
+    }
+
+    /**
+     * ping
+     *
+     * @return
+     */
+    @Override
+    public Mono<String> ping() throws Exception {
+        var list = this.keyConfig.Db;
+        int db = list == null || list.size() == 0 || list.get(0) == null ? 0 : list.get(0);
+
+        return this.getConnection(db).ping();
+    }
+}
@@ -0,0 +1,370 @@
+package cn.myafx.cache.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.springframework.data.redis.core.ScanOptions;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.SetOp;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * set 集合 响应式缓存
+ */
+public class ReactiveSetCache<T> extends ReactiveRedisCache implements IReactiveSetCache<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * ReactiveSetCache
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public ReactiveSetCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    /**
+     * 添加数据
+     * 
+     * @param value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> add(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sAdd(cacheKeyBytes, toBuffer(value)).map(r -> r > 0).defaultIfEmpty(false);
+    }
+
+    /**
+     * 添加数据
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> add(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        var arr = toBufferList(list, "list");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sAdd(cacheKeyBytes, arr).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> get(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return decode(redis.setCommands().sMembers(cacheKeyBytes), clazz);
+    }
+
+    /**
+     * 两个集合运算，返回运算结果
+     * 
+     * @param firstArgs  第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op         操作
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> join(Object[] firstArgs, Object[] secondArgs, SetOp op) throws Exception {
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
+        int db = this.getCacheDb(firstCachekey);
+        var redis = this.getConnection(db);
+        var keys = List.of(wrap(firstCachekey), wrap(secondCachekey));
+        Flux<ByteBuffer> r = null;
+        switch (op) {
+            case Union:
+                r = redis.setCommands().sUnion(keys);
+                break;
+            case Intersect:
+                r = redis.setCommands().sInter(keys);
+                break;
+            case Difference:
+                r = redis.setCommands().sDiff(keys);
+                break;
+        }
+        if (r == null)
+            return Flux.empty();
+
+        return decode(r, clazz);
+    }
+
+    /**
+     * 两个集合运算，并将运算结果存储到新集合
+     * 
+     * @param addArgs    新集合缓存key参数
+     * @param firstArgs  第一个集合缓存key参数
+     * @param secondArgs 第二集合缓存key参数
+     * @param op         操作
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> joinAndAdd(Object[] addArgs, Object[] firstArgs, Object[] secondArgs, SetOp op)
+            throws Exception {
+        var addCachekey = this.getCacheKeyBytes(addArgs);
+        var firstCachekey = this.getCacheKeyBytes(firstArgs);
+        var secondCachekey = this.getCacheKeyBytes(secondArgs);
+        int db = this.getCacheDb(firstCachekey);
+        var redis = this.getConnection(db);
+        var addCachekeyBytes = wrap(addCachekey);
+        var keys = List.of(wrap(firstCachekey), wrap(secondCachekey));
+        Mono<Long> r = null;
+        switch (op) {
+            case Union:
+                r = redis.setCommands().sUnionStore(addCachekeyBytes, keys);
+                break;
+            case Intersect:
+                r = redis.setCommands().sInterStore(addCachekeyBytes, keys);
+                break;
+            case Difference:
+                r = redis.setCommands().sDiffStore(addCachekeyBytes, keys);
+                break;
+        }
+        if (r == null)
+            return Mono.just(0L);
+
+        return r.defaultIfEmpty(0L);
+    }
+
+    /**
+     * value是否存在
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> exist(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sIsMember(cacheKeyBytes, toBuffer(value)).defaultIfEmpty(false);
+    }
+
+    /**
+     * 集合数量
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> getCount(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sCard(cacheKeyBytes).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 移动一个已存在对象到新集合
+     * 
+     * @param sourceArgs 源集合缓存key参数
+     * @param desArgs    需要移到新集合缓存key参数
+     * @param value      移动对象
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> move(Object[] sourceArgs, Object[] desArgs, T value) throws Exception {
+        var sourceCachekey = this.getCacheKeyBytes(sourceArgs);
+        var desCachekey = this.getCacheKeyBytes(desArgs);
+        int db = this.getCacheDb(sourceCachekey);
+        var redis = this.getConnection(db);
+        var sourceCachekeyBytes = wrap(sourceCachekey);
+        var desCachekeyBytes = wrap(desCachekey);
+
+        return redis.setCommands().sMove(sourceCachekeyBytes, desCachekeyBytes, toBuffer(value))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 返回并移除一个集合对象
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> pop(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return decode(redis.setCommands().sPop(cacheKeyBytes), clazz);
+    }
+
+    /**
+     * 返回并移除集合对象
+     * 
+     * @param count 数量
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> pop(int count, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return decode(redis.setCommands().sPop(cacheKeyBytes, count), clazz);
+    }
+
+    /**
+     * 随机返回一个对象
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> getRandomValue(Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return decode(redis.setCommands().sRandMember(cacheKeyBytes), clazz);
+    }
+
+    /**
+     * 随机返回对象
+     * 
+     * @param count 数量
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> getRandomValue(int count, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return decode(redis.setCommands().sRandMember(cacheKeyBytes, (long) count), clazz);
+    }
+
+    /**
+     * 移除对象
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> delete(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sRem(cacheKeyBytes, toBuffer(value)).map(r -> r > 0).defaultIfEmpty(false);
+    }
+
+    /**
+     * 移除对象
+     * 
+     * @param list value list
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> delete(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        var arr = toBufferList(list, "list");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.setCommands().sRem(cacheKeyBytes, arr).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 游标方式读取数据
+     * 
+     * @param pattern 搜索表达式
+     * @param count   游标页大小
+     * @param args    缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> scan(String pattern, int count, Object... args) throws Exception {
+        if (pattern == null || pattern.isEmpty())
+            throw new Exception("pattern is null!");
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        var op = ScanOptions.scanOptions().count(count).match(getBytes(pattern)).build();
+
+        return decode(redis.setCommands().sScan(cacheKeyBytes, op), clazz);
+    }
+}
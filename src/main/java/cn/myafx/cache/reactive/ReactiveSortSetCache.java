@@ -0,0 +1,498 @@
+package cn.myafx.cache.reactive;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.ReactiveZSetCommands.ZAddCommand;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.ScanOptions;
+
+import cn.myafx.cache.ExcludeType;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.OpWhen;
+import cn.myafx.cache.Sort;
+import cn.myafx.cache.SortSetModel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 有序集合 响应式缓存
+ */
+public class ReactiveSortSetCache<T> extends ReactiveRedisCache implements IReactiveSortSetCache<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * ReactiveSortSetCache
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public ReactiveSortSetCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+    }
+
+    protected ZAddCommand toZAddCommand(List<Tuple> tuples, OpWhen when) {
+        var cmd = ZAddCommand.tuples(tuples);
+        switch (when) {
+            case Exists:
+                return cmd.xx();
+            case NotExists:
+                return cmd.nx();
+            case Always:
+            default:
+                return cmd;
+        }
+    }
+
+    private Mono<Long> zAdd(byte[] cachekey, List<Tuple> tuples, OpWhen when) throws Exception {
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zAdd(Mono.just(toZAddCommand(tuples, when).to(cacheKeyBytes))).next()
+                .map(r -> r.getOutput() == null ? 0L : r.getOutput().longValue());
+    }
+
+    private Range<Double> toRange(double startScore, double stopScore, ExcludeType excType) {
+        Range<Double> range = null;
+        switch (excType) {
+            case Start:
+                range = Range.leftOpen(startScore, stopScore);
+                break;
+            case Stop:
+                range = Range.rightOpen(startScore, stopScore);
+                break;
+            case Both:
+                range = Range.open(startScore, stopScore);
+                break;
+            case None:
+            default:
+                range = Range.closed(startScore, stopScore);
+                break;
+        }
+
+        return range;
+    }
+
+    private SortSetModel<T> toModel(Tuple t) {
+        return new SortSetModel<T>(decode(wrap(t.getValue()), clazz), t.getScore());
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param when  操作类型
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> addOrUpdate(T value, double score, OpWhen when, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        var tuples = List.of(Tuple.of(serialize(value), score));
+
+        return zAdd(cachekey, tuples, when).thenReturn(true);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param m    SortSetModel
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> addOrUpdate(SortSetModel<T> m, OpWhen when, Object... args) throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+        if (m.Value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        var tuples = List.of(Tuple.of(serialize(m.Value), m.Score));
+
+        return zAdd(cachekey, tuples, when).thenReturn(true);
+    }
+
+    /**
+     * 添加或更新数据
+     * 
+     * @param list SortSetModel List
+     * @param when 操作类型
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> addOrUpdate(List<SortSetModel<T>> list, OpWhen when, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        List<Tuple> tuples = new ArrayList<>(list.size());
+        for (var sm : list) {
+            if (sm == null)
+                throw new Exception("list item is null!");
+            if (sm.Value == null)
+                throw new Exception("list item.value is null!");
+            tuples.add(Tuple.of(serialize(sm.Value), sm.Score));
+        }
+        var cachekey = this.getCacheKeyBytes(args);
+
+        return zAdd(cachekey, tuples, when).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 减少 score
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Double> decrement(T value, double score, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zIncrBy(cacheKeyBytes, -score, toBuffer(value)).defaultIfEmpty(0d);
+    }
+
+    /**
+     * 增加 score
+     * 
+     * @param value value
+     * @param score 排序分
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Double> increment(T value, double score, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zIncrBy(cacheKeyBytes, score, toBuffer(value)).defaultIfEmpty(0d);
+    }
+
+    /**
+     * 获取集合数量
+     * 
+     * @param minScore 最小排序分
+     * @param maxScore 最大排序分
+     * @param excType  条件类型
+     * @param args     缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> getCount(double minScore, double maxScore, ExcludeType excType, Object... args)
+            throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zCount(cacheKeyBytes, toRange(minScore, maxScore, excType)).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 返回并集合
+     * 
+     * @param sort 排序
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<SortSetModel<T>> pop(Sort sort, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        Mono<Tuple> r = null;
+        if (sort == Sort.Asc)
+            r = redis.zSetCommands().zPopMax(cacheKeyBytes);
+        else
+            r = redis.zSetCommands().zPopMin(cacheKeyBytes);
+
+        return r.map(this::toModel);
+    }
+
+    /**
+     * 返回并集合
+     * 
+     * @param count 返回数量
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<SortSetModel<T>> pop(long count, Sort sort, Object... args) throws Exception {
+        if (count <= 0)
+            throw new Exception("count=" + count + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        Flux<Tuple> r = null;
+        if (sort == Sort.Asc)
+            r = redis.zSetCommands().zPopMax(cacheKeyBytes, count);
+        else
+            r = redis.zSetCommands().zPopMin(cacheKeyBytes, count);
+
+        return r.map(this::toModel);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> get(long start, long stop, Sort sort, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        Flux<ByteBuffer> r = null;
+        if (sort == Sort.Asc)
+            r = redis.zSetCommands().zRange(cacheKeyBytes, Range.closed(start, stop));
+        else
+            r = redis.zSetCommands().zRevRange(cacheKeyBytes, Range.closed(start, stop));
+
+        return decode(r, clazz);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param sort  排序
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<SortSetModel<T>> getWithScores(long start, long stop, Sort sort, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        Flux<Tuple> r = null;
+        if (sort == Sort.Asc)
+            r = redis.zSetCommands().zRangeWithScores(cacheKeyBytes, Range.closed(start, stop));
+        else
+            r = redis.zSetCommands().zRevRangeWithScores(cacheKeyBytes, Range.closed(start, stop));
+
+        return r.map(this::toModel);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param sort       排序
+     * @param skip       跳过多少个
+     * @param take       返回多少个
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<T> getByScore(double startScore, double stopScore, ExcludeType excType, Sort sort, int skip,
+            int take, Object... args) throws Exception {
+        if (skip < 0)
+            throw new Exception("skip=" + skip + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        var range = toRange(startScore, stopScore, excType);
+        var r = page((offset, count) -> {
+            var limit = Limit.limit().offset((int) offset).count((int) count);
+            return sort == Sort.Asc
+                    ? redis.zSetCommands().zRangeByScore(cacheKeyBytes, range, limit)
+                    : redis.zSetCommands().zRevRangeByScore(cacheKeyBytes, range, limit);
+        }, skip, take < 0 ? -1 : take);
+
+        return decode(r, clazz);
+    }
+
+    /**
+     * 获取集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param sort       排序
+     * @param skip       跳过多少个
+     * @param take       返回多少个，-1.返回所有
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<SortSetModel<T>> getByScoreWithScores(double startScore, double stopScore, ExcludeType excType,
+            Sort sort, int skip, int take, Object... args) throws Exception {
+        if (skip < 0)
+            throw new Exception("skip=" + skip + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        var range = toRange(startScore, stopScore, excType);
+        Flux<Tuple> r = page((offset, count) -> {
+            var limit = Limit.limit().offset((int) offset).count((int) count);
+            return sort == Sort.Asc
+                    ? redis.zSetCommands().zRangeByScoreWithScores(cacheKeyBytes, range, limit)
+                    : redis.zSetCommands().zRevRangeByScoreWithScores(cacheKeyBytes, range, limit);
+        }, skip, take < 0 ? -1 : take);
+
+        return r.map(this::toModel);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param value value
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> delete(T value, Object... args) throws Exception {
+        if (value == null)
+            throw new Exception("value is null!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zRem(cacheKeyBytes, toBuffer(value)).map(r -> r > 0).defaultIfEmpty(false);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param list value List
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> delete(List<T> list, Object... args) throws Exception {
+        if (list == null)
+            throw new Exception("list is null!");
+        if (list.size() == 0)
+            return Mono.just(0L);
+        var arr = toBufferList(list, "list");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zRem(cacheKeyBytes, arr).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param start 开始位置
+     * @param stop  结束位置
+     * @param args  缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> delete(long start, long stop, Object... args) throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zRemRangeByRank(cacheKeyBytes, Range.closed(start, stop)).defaultIfEmpty(0L);
+    }
+
+    /**
+     * 移除集合
+     * 
+     * @param startScore 开始位置排序分
+     * @param stopScore  结束位置排序分
+     * @param excType    条件类型
+     * @param args       缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> deleteByScore(double startScore, double stopScore, ExcludeType excType, Object... args)
+            throws Exception {
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+
+        return redis.zSetCommands().zRemRangeByScore(cacheKeyBytes, toRange(startScore, stopScore, excType))
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * 游标方式读取数据
+     * 
+     * @param pattern  搜索表达式
+     * @param pageSize 游标页大小
+     * @param args     缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Flux<SortSetModel<T>> scan(String pattern, int pageSize, Object... args) throws Exception {
+        if (pattern == null || pattern.isEmpty())
+            throw new Exception("pattern is null!");
+        if (pageSize <= 0)
+            throw new Exception("pageSize=" + pageSize + " is error!");
+        var cachekey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(cachekey);
+        var redis = this.getConnection(db);
+        var cacheKeyBytes = wrap(cachekey);
+        var op = ScanOptions.scanOptions().match(pattern).count(pageSize).build();
+
+        return redis.zSetCommands().zScan(cacheKeyBytes, op).map(this::toModel);
+    }
+}
@@ -0,0 +1,150 @@
+package cn.myafx.cache.reactive;
+
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.OpWhen;
+import reactor.core.publisher.Mono;
+
+/**
+ * string key value 响应式缓存
+ */
+public class ReactiveStringCache<T> extends ReactiveRedisCache implements IReactiveStringCache<T> {
+
+    protected Class<T> clazz;
+
+    /**
+     * ReactiveStringCache
+     * 
+     * @param node     缓存key配置db节点
+     * @param item     缓存key配置项
+     * @param provider IReactiveConnectionProvider
+     * @param cacheKey ICacheKey
+     * @param prefix   缓存前缀
+     * @param clazz    T.class
+     * @throws Exception
+     */
+    public ReactiveStringCache(String node, String item, IReactiveConnectionProvider provider, ICacheKey cacheKey,
+            String prefix, Class<T> clazz) throws Exception {
+        super(node, item, provider, cacheKey, prefix);
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        this.clazz = clazz;
+        this.enableNearInvalidate();
+    }
+
+    /**
+     * 获取缓存
+     * 
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<T> get(Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var redis = this.getConnection(db);
+        var caheKeyBytes = wrap(caheKey);
+
+        return decode(redis.stringCommands().get(caheKeyBytes), clazz);
+    }
+
+    protected SetOption toSetOption(OpWhen when) {
+        switch (when) {
+            case Exists:
+                return SetOption.SET_IF_PRESENT;
+            case NotExists:
+                return SetOption.SET_IF_ABSENT;
+            case Always:
+            default:
+                return SetOption.UPSERT;
+        }
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m    缓存数据
+     * @param when when
+     * @param args 缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> set(T m, OpWhen when, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var redis = this.getConnection(db);
+        var caheKeyBytes = wrap(caheKey);
+        if (m == null) {
+            return invalidate(redis, caheKey, redis.keyCommands().del(caheKeyBytes).thenReturn(true));
+        } else {
+            return invalidate(redis, caheKey, redis.stringCommands()
+                    .set(caheKeyBytes, toBuffer(m), Expiration.persistent(), toSetOption(when))
+                    .defaultIfEmpty(false));
+        }
+    }
+
+    /**
+     * 添加或更新
+     * 
+     * @param m             缓存数据
+     * @param expireSeconds 缓存有效时间,秒
+     * @param when          操作类型
+     * @param args          缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Boolean> set(T m, int expireSeconds, OpWhen when, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var redis = this.getConnection(db);
+        var caheKeyBytes = wrap(caheKey);
+        if (m == null) {
+            return invalidate(redis, caheKey, redis.keyCommands().del(caheKeyBytes).thenReturn(true));
+        } else {
+            return invalidate(redis, caheKey, redis.stringCommands()
+                    .set(caheKeyBytes, toBuffer(m), Expiration.seconds(expireSeconds), toSetOption(when))
+                    .defaultIfEmpty(false));
+        }
+    }
+
+    /**
+     * 原子增 T 必须是 int、 long
+     * 
+     * @param incrementValue 增量
+     * @param args           缓存key参数
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> increment(long incrementValue, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var redis = this.getConnection(db);
+        var caheKeyBytes = wrap(caheKey);
+
+        return invalidate(redis, caheKey, redis.numberCommands().incrBy(caheKeyBytes, incrementValue));
+    }
+
+    /**
+     * 原子减 T 必须是 int、 long
+     * 
+     * @param decrementValue 减量
+     * @param args           原子减 T 必须是 int、 long
+     * @return
+     * @throws Exception
+     */
+    @Override
+    public Mono<Long> decrement(long decrementValue, Object... args) throws Exception {
+        var caheKey = this.getCacheKeyBytes(args);
+        int db = this.getCacheDb(caheKey);
+        var redis = this.getConnection(db);
+        var caheKeyBytes = wrap(caheKey);
+
+        return invalidate(redis, caheKey, redis.numberCommands().incrBy(caheKeyBytes, -decrementValue));
+    }
+}
@@ -0,0 +1,72 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BinaryCodec 往返, 数值定长, 其他类型使用 Jackson json
+ */
+public class BinaryCodecTest {
+    enum Color {
+        RED, GREEN, BLUE
+    }
+
+    private static void assertRoundTrip(Object value, Class<?> primitive, int length) throws Exception {
+        var codec = CacheCodecs.BINARY;
+        var buffer = codec.encode(value);
+        if (length > 0)
+            assertEquals(length, buffer.length, String.valueOf(value));
+        assertEquals(value, codec.decode(buffer, value.getClass()));
+        if (primitive != null)
+            assertEquals(value, codec.decode(buffer, primitive));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        assertRoundTrip("", null, 1);
+        assertRoundTrip("中文😀", null, 0);
+        assertRoundTrip(Integer.MIN_VALUE, int.class, 5);
+        assertRoundTrip(Long.MAX_VALUE, long.class, 9);
+        assertRoundTrip(Short.MIN_VALUE, short.class, 3);
+        assertRoundTrip((byte) -1, byte.class, 2);
+        assertRoundTrip(true, boolean.class, 2);
+        assertRoundTrip(false, boolean.class, 2);
+        assertRoundTrip('中', char.class, 3);
+        assertRoundTrip('\n', char.class, 3);
+        assertRoundTrip(-0.25f, float.class, 5);
+        assertRoundTrip(Float.NaN, float.class, 5);
+        assertRoundTrip(1e20d, double.class, 9);
+        assertRoundTrip(Double.NEGATIVE_INFINITY, double.class, 9);
+        assertRoundTrip(UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff"), null, 17);
+        assertRoundTrip(Color.BLUE, null, 5);
+        // 其他类型 json
+        assertRoundTrip(List.of(1, 2), null, 0);
+        assertRoundTrip(Map.of("k", "v"), null, 0);
+    }
+
+    @Test
+    public void testNumberConvert() throws Exception {
+        var codec = CacheCodecs.BINARY;
+        assertEquals(42L, codec.decode(codec.encode(42), Long.class));
+        assertEquals(42, codec.decode(codec.encode(42L), int.class));
+        assertEquals(1.5d, codec.decode(codec.encode(1.5f), Double.class));
+        assertEquals(42, codec.decode(codec.encode(42), Number.class));
+    }
+
+    @Test
+    public void testError() throws Exception {
+        var codec = CacheCodecs.BINARY;
+        assertNull(codec.encode(null));
+        assertNull(codec.decode(new byte[0], Integer.class));
+        assertThrows(Exception.class, () -> codec.decode(new byte[] { '?', 1 }, Integer.class));
+        assertThrows(Exception.class, () -> codec.decode(codec.encode(Color.RED), String.class));
+        assertThrows(Exception.class, () -> codec.decode(codec.encode(Color.RED), Map.class));
+    }
+}
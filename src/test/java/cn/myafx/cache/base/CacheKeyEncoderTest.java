@@ -0,0 +1,136 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * CacheKeyEncoder 与原 getCacheKey(args).getBytes("utf-8") 及 db hash 一致
+ */
+public class CacheKeyEncoderTest {
+    private static final String HEAD = "t:param_db:user";
+
+    enum Color {
+        RED, GREEN, BLUE
+    }
+
+    /**
+     * 原 getCacheKey 算法, tag 按 CacheKeyEncoder 规则插入
+     */
+    private static String baselineKey(String head, int tagStart, int tagStop, Object... args) {
+        var sb = new StringBuilder(head);
+        for (int i = 0; i < args.length; i++) {
+            var o = args[i];
+            if (o instanceof Enum<?> e)
+                o = e.ordinal();
+            sb.append(':');
+            if (i == tagStart)
+                sb.append('{');
+            sb.append(o == null ? "null" : o.toString().toLowerCase());
+            if (i == tagStop || (i == args.length - 1 && tagStart >= 0 && tagStart <= i && i < tagStop))
+                sb.append('}');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 原 getCacheDb 字符累加
+     */
+    private static int baselineHash(String cachekey) {
+        int hash = 0;
+        for (var c : cachekey.toCharArray()) {
+            hash += c;
+            if (hash > 255)
+                hash = hash % 255;
+        }
+        return hash;
+    }
+
+    private static void assertTagKey(int tagStart, int tagStop, Object... args) {
+        var encoder = new CacheKeyEncoder(HEAD, tagStart, tagStop);
+        var expected = baselineKey(HEAD, tagStart, tagStop, args);
+        var bytes = encoder.encode(args);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), bytes, expected);
+        assertEquals(baselineHash(expected), CacheKeyEncoder.hash(bytes), expected);
+    }
+
+    private static void assertKey(Object... args) {
+        assertTagKey(-1, -1, args);
+    }
+
+    @Test
+    public void testNoArgs() {
+        var encoder = new CacheKeyEncoder(HEAD, -1, -1);
+        assertArrayEquals(HEAD.getBytes(StandardCharsets.UTF_8), encoder.encode(null));
+        assertArrayEquals(HEAD.getBytes(StandardCharsets.UTF_8), encoder.encode(new Object[0]));
+    }
+
+    @Test
+    public void testEnum() {
+        assertKey(Color.RED);
+        assertKey(Color.BLUE, Color.GREEN);
+    }
+
+    @Test
+    public void testNumber() {
+        assertKey(0, 7, 10, 123456789);
+        assertKey(-1, -42, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertKey(Long.MIN_VALUE, Long.MAX_VALUE, -9876543210L);
+        assertKey((short) -3, (byte) 127, Short.MIN_VALUE, Byte.MIN_VALUE);
+        assertKey(1.5d, -0.25f, 1e20d, Double.NaN);
+    }
+
+    @Test
+    public void testNull() {
+        assertKey((Object) null);
+        assertKey(null, 1, null);
+    }
+
+    @Test
+    public void testString() {
+        assertKey("abc", "ABC", "MiXeD-Case_01", "");
+        assertKey(true, 'X', UUID.fromString("6F9619FF-8B86-D011-B42D-00C04FC964FF"));
+        assertKey(new StringBuilder("Sb"));
+    }
+
+    @Test
+    public void testNonAscii() {
+        assertKey("中文", "Ärger", "ÀÉÎÕÜ", "straße", "İstanbul");
+        assertKey("😀", "A😀b", "😀😁", "𠀀");
+    }
+
+    @Test
+    public void testLong() {
+        var s = "Ab".repeat(600);
+        assertKey(s, "中".repeat(500), 1);
+        assertKey(1, 2);
+    }
+
+    @Test
+    public void testTag() {
+        assertTagKey(0, 0, 1, 2, 3);
+        assertTagKey(0, 1, "A", "B", "C");
+        assertTagKey(1, 2, "A", "B", "C");
+        assertTagKey(1, 2, "A", "B");
+        assertTagKey(1, 3, "A", "B");
+        assertTagKey(2, 2, "A", "B");
+        assertTagKey(0, 0, (Object) null);
+        assertTagKey(0, 1, Color.GREEN, "中文");
+    }
+
+    @Test
+    public void testTurkishLocale() {
+        var locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertKey("ID", "Ii", "abc");
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
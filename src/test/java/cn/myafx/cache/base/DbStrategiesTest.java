@@ -0,0 +1,88 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DbStrategies legacy 与原字符累加分配一致, jump 分配固定且扩容只迁移到新 db
+ */
+public class DbStrategiesTest {
+    private static final String[] KEYS = { "t:param_db:user:1", "t:param_db:user:2", "t:param_db:user:abc",
+            "t:user_db:name:中文", "t:user_db:{user}:42" };
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertSame(DbStrategies.LEGACY, DbStrategies.get(null));
+        assertSame(DbStrategies.LEGACY, DbStrategies.get(""));
+        assertSame(DbStrategies.LEGACY, DbStrategies.get("Legacy"));
+        assertSame(DbStrategies.JUMP, DbStrategies.get("jump"));
+        assertThrows(Exception.class, () -> DbStrategies.get("cn.myafx.NotExists"));
+        assertThrows(Exception.class, () -> DbStrategies.get(String.class.getName()));
+    }
+
+    @Test
+    public void testLegacy() {
+        int[] db4 = { 2, 3, 0, 1, 2 };
+        int[] db16 = { 14, 15, 4, 5, 10 };
+        for (int i = 0; i < KEYS.length; i++) {
+            assertEquals(db4[i], DbStrategies.LEGACY.getIndex(bytes(KEYS[i]), 4), KEYS[i]);
+            assertEquals(db16[i], DbStrategies.LEGACY.getIndex(bytes(KEYS[i]), 16), KEYS[i]);
+        }
+    }
+
+    @Test
+    public void testLegacyBaseline() {
+        for (int i = 0; i < 1000; i++) {
+            var key = "t:param_db:user:" + i + ":名" + i;
+            int hash = 0;
+            for (var c : key.toCharArray()) {
+                hash += c;
+                if (hash > 255)
+                    hash = hash % 255;
+            }
+            for (int count = 2; count <= 16; count++) {
+                assertEquals(hash % count, DbStrategies.LEGACY.getIndex(bytes(key), count), key);
+            }
+        }
+    }
+
+    @Test
+    public void testJump() {
+        int[] db4 = { 3, 3, 3, 0, 3 };
+        int[] db16 = { 3, 12, 7, 10, 6 };
+        for (int i = 0; i < KEYS.length; i++) {
+            assertEquals(db4[i], DbStrategies.JUMP.getIndex(bytes(KEYS[i]), 4), KEYS[i]);
+            assertEquals(db16[i], DbStrategies.JUMP.getIndex(bytes(KEYS[i]), 16), KEYS[i]);
+        }
+    }
+
+    @Test
+    public void testJumpGrow() {
+        int moved = 0;
+        int total = 10000;
+        for (int i = 0; i < total; i++) {
+            var key = bytes("t:param_db:user:" + i);
+            int prev = DbStrategies.JUMP.getIndex(key, 1);
+            assertEquals(0, prev);
+            for (int count = 2; count <= 16; count++) {
+                int index = DbStrategies.JUMP.getIndex(key, count);
+                assertTrue(index == prev || index == count - 1, "key moved between old dbs");
+                if (count == 8 && index != prev)
+                    moved++;
+                prev = index;
+            }
+        }
+        // 7 -> 8 约迁移 1/8
+        assertTrue(Math.abs(moved - total / 8) < total / 40, "moved=" + moved);
+    }
+}
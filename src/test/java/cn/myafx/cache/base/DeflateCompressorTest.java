@@ -0,0 +1,106 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DeflateCompressor 压缩往返, 及 BaseCache 按 compressmin 压缩、未配置 compress 仍按首字节解压
+ */
+public class DeflateCompressorTest {
+    private static final int COMPRESS_MIN = 64;
+
+    private static TestCache create(String compress) throws Exception {
+        return TestCache.create(null, compress, COMPRESS_MIN);
+    }
+
+    private static byte[] compress(byte[] buffer) throws Exception {
+        var r = CacheCompressors.DEFLATE.compress(buffer);
+        var result = new byte[r.length + 1];
+        result[0] = DeflateCompressor.HEADER;
+        System.arraycopy(r, 0, result, 1, r.length);
+
+        return result;
+    }
+
+    private static byte[] decompress(byte[] buffer) throws Exception {
+        return CacheCompressors.DEFLATE.decompress(buffer, 1, buffer.length - 1);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        var random = new Random(1);
+        var rand = new byte[10000];
+        random.nextBytes(rand);
+        var text = "{\"id\":1,\"name\":\"中文名称\"}".repeat(200).getBytes(StandardCharsets.UTF_8);
+        for (var buffer : new byte[][] { new byte[0], new byte[] { 1 }, "abc".getBytes(StandardCharsets.UTF_8),
+                rand, text, new byte[1 << 20] }) {
+            assertArrayEquals(buffer, decompress(compress(buffer)));
+        }
+        assertTrue(compress(text).length < text.length / 10);
+    }
+
+    @Test
+    public void testCorrupt() throws Exception {
+        var buffer = compress("abc".repeat(100).getBytes(StandardCharsets.UTF_8));
+        assertThrows(Exception.class, () -> CacheCompressors.DEFLATE.decompress(buffer, 1, 3));
+        buffer[buffer.length - 3] ^= 0x5a;
+        assertThrows(Exception.class, () -> decompress(buffer));
+        // 原长度超过最大压缩比
+        var forged = compress(new byte[0]);
+        forged[1] = 0x7f;
+        assertThrows(Exception.class, () -> decompress(forged));
+        var max = compress(new byte[1 << 20]);
+        assertArrayEquals(new byte[1 << 20], decompress(max));
+    }
+
+    @Test
+    public void testThreshold() throws Exception {
+        var cache = create("deflate");
+        // 小于 compressmin 不压缩
+        var small = "a".repeat(COMPRESS_MIN - 1);
+        var buffer = cache.serialize(small);
+        assertArrayEquals(small.getBytes(StandardCharsets.UTF_8), buffer);
+        assertEquals(small, cache.deserialize(buffer, String.class));
+        // 达到 compressmin 压缩
+        var large = "a".repeat(COMPRESS_MIN);
+        buffer = cache.serialize(large);
+        assertEquals(DeflateCompressor.HEADER, buffer[0]);
+        assertTrue(buffer.length < COMPRESS_MIN);
+        assertEquals(large, cache.deserialize(buffer, String.class));
+        // 压缩后不更小则不压缩
+        var sb = new StringBuilder();
+        for (char c = '0'; sb.length() < COMPRESS_MIN; c++) {
+            sb.append(c);
+        }
+        var s = sb.toString();
+        buffer = cache.serialize(s);
+        assertArrayEquals(s.getBytes(StandardCharsets.UTF_8), buffer);
+        assertEquals(s, cache.deserialize(buffer, String.class));
+    }
+
+    @Test
+    public void testHeaderConflict() throws Exception {
+        var value = "\u0001\u0002abc";
+        // 首字节冲突的值总是压缩, 未配置 compress 时使用 deflate
+        var plain = create(null);
+        var buffer = plain.serialize(value);
+        assertEquals(DeflateCompressor.HEADER, buffer[0]);
+        assertEquals(value, plain.deserialize(buffer, String.class));
+        var cache = create("deflate");
+        buffer = cache.serialize(value);
+        assertEquals(DeflateCompressor.HEADER, buffer[0]);
+        assertEquals(value, cache.deserialize(buffer, String.class));
+        // 未配置 compress 也能读取压缩值
+        var large = "a".repeat(COMPRESS_MIN);
+        buffer = cache.serialize(large);
+        assertEquals(DeflateCompressor.HEADER, buffer[0]);
+        assertEquals(large, plain.deserialize(buffer, String.class));
+    }
+}
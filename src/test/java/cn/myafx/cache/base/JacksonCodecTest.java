@@ -0,0 +1,103 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * JacksonCodec 往返, 默认 ObjectMapper 时输出不变, 自定义 ObjectMapper 不被基本类型直接读写绕过
+ */
+public class JacksonCodecTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public static class User {
+        public int id;
+        public String name;
+        public List<String> tags;
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof User u && u.id == this.id && Objects.equals(u.name, this.name)
+                    && Objects.equals(u.tags, this.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id;
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static User user() {
+        var m = new User();
+        m.id = 1;
+        m.name = "中文";
+        m.tags = List.of("a", "b");
+        return m;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        var codec = CacheCodecs.JACKSON;
+        for (var v : new Object[] { 0, Integer.MIN_VALUE, Long.MAX_VALUE, (short) -3, (byte) 7, true, 1.5d, -0.25f,
+                Double.NaN, UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff"), 'x', '"', Color.BLUE,
+                user(), Map.of("k", 1) }) {
+            var buffer = codec.encode(v);
+            // 与默认 ObjectMapper 输出一致
+            assertArrayEquals(MAPPER.writeValueAsBytes(v), buffer, String.valueOf(v));
+            assertEquals(v, codec.decode(buffer, v.getClass()));
+        }
+        var s = "中文\"quoted\"";
+        assertArrayEquals(bytes(s), codec.encode(s));
+        assertEquals(s, codec.decode(bytes(s), String.class));
+        assertNull(codec.encode(null));
+        assertNull(codec.decode(new byte[0], Integer.class));
+        var padded = bytes("xx42yy");
+        assertEquals(42, codec.decode(padded, 2, 2, Integer.class));
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        // ScalarCodec UNHANDLED 由 ObjectMapper 处理
+        var codec = CacheCodecs.JACKSON;
+        assertEquals(42, codec.decode(bytes("42.0"), Integer.class));
+        assertEquals(42, codec.decode(bytes("\"42\""), Integer.class));
+        assertEquals(true, codec.decode(bytes("\"true\""), Boolean.class));
+        assertEquals(Double.NaN, codec.decode(bytes("\"NaN\""), Double.class));
+        assertEquals(List.of(1, 2), codec.decode(bytes("[1,2]"), List.class));
+    }
+
+    @Test
+    public void testCustomMapper() throws Exception {
+        var mapper = new ObjectMapper().enable(SerializationFeature.WRITE_ENUMS_USING_INDEX);
+        var codec = new JacksonCodec(mapper);
+        var buffer = codec.encode(Color.GREEN);
+        assertArrayEquals(bytes("1"), buffer);
+        assertEquals(Color.GREEN, codec.decode(buffer, Color.class));
+        assertArrayEquals(bytes("abc"), codec.encode("abc"));
+        assertEquals("abc", codec.decode(bytes("abc"), String.class));
+        // 显式开启直接读写
+        codec = new JacksonCodec(mapper, true);
+        buffer = codec.encode(Color.GREEN);
+        assertArrayEquals(bytes("\"GREEN\""), buffer);
+        assertEquals(Color.GREEN, codec.decode(buffer, Color.class));
+    }
+}
@@ -0,0 +1,60 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * NearCache hash 按 (key, field) 缓存, 数量按 field 计算, 按 key 移除所有 field
+ */
+public class NearCacheTest {
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testField() throws Exception {
+        var near = new NearCache(3, 60);
+        var key = bytes("t:hash:1");
+        near.put(key, bytes("a"), bytes("1"), near.getVersion());
+        near.put(key, bytes("b"), NearCache.NULL_VALUE, near.getVersion());
+        near.put(bytes("t:string:1"), bytes("v"), near.getVersion());
+        assertEquals(3, near.size());
+        assertArrayEquals(bytes("1"), (byte[]) near.get(key, bytes("a")));
+        assertSame(NearCache.NULL_VALUE, near.get(key, bytes("b")));
+        assertNull(near.get(key));
+        // 超过数量淘汰最久未使用的
+        near.put(key, bytes("c"), bytes("3"), near.getVersion());
+        assertEquals(3, near.size());
+        assertNull(near.get(bytes("t:string:1")));
+        near.put(bytes("t:string:1"), bytes("v"), near.getVersion());
+        assertNull(near.get(key, bytes("a")));
+        // 按 key 移除所有 field
+        near.remove(key);
+        assertEquals(1, near.size());
+        assertNull(near.get(key, bytes("b")));
+        assertNull(near.get(key, bytes("c")));
+        assertArrayEquals(bytes("v"), (byte[]) near.get(bytes("t:string:1")));
+    }
+
+    @Test
+    public void testVersion() throws Exception {
+        var near = new NearCache(10, 60);
+        var key = bytes("t:hash:1");
+        var version = near.getVersion();
+        near.remove(key);
+        // 读取期间已失效, 不写回旧值
+        near.put(key, bytes("a"), bytes("1"), version);
+        assertNull(near.get(key, bytes("a")));
+        near.put(key, bytes("a"), bytes("2"), near.getVersion());
+        assertArrayEquals(bytes("2"), (byte[]) near.get(key, bytes("a")));
+        near.clear();
+        assertEquals(0, near.size());
+        assertNull(near.get(key, bytes("a")));
+    }
+}
@@ -0,0 +1,140 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReadBatcher 并发读取合并为一次批量读取, 各调用方取得自己 key 的结果, 失败传递给批次内所有调用方
+ */
+public class ReadBatcherTest {
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 返回 key:field, key 以 miss 结尾返回 null
+     */
+    private static byte[][] echo(List<ReadBatcher.Request> requests) {
+        var r = new byte[requests.size()][];
+        for (int i = 0; i < r.length; i++) {
+            var request = requests.get(i);
+            var key = new String(request.key.Key, StandardCharsets.UTF_8);
+            if (!key.endsWith("miss"))
+                r[i] = bytes(key + ":" + new String(request.field, StandardCharsets.UTF_8));
+        }
+        return r;
+    }
+
+    /**
+     * 并发执行 get, 返回结果或异常
+     */
+    private static Object[] run(ReadBatcher batcher, int count) throws Exception {
+        var results = new Object[count];
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            var key = new BoundKey(bytes("t:user:" + (index % 3 == 2 ? "miss" : index)), index % 4);
+            var field = bytes("f" + index);
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    results[index] = batcher.get(key, field);
+                } catch (Exception ex) {
+                    results[index] = ex;
+                }
+            }));
+        }
+        for (var t : threads) {
+            t.start();
+        }
+        start.countDown();
+        for (var t : threads) {
+            t.join(10000);
+            assertTrue(!t.isAlive(), "thread not finished");
+        }
+
+        return results;
+    }
+
+    private static void assertResults(Object[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (i % 3 == 2)
+                assertNull(results[i]);
+            else
+                assertArrayEquals(bytes("t:user:" + i + ":f" + i), (byte[]) results[i]);
+        }
+    }
+
+    @Test
+    public void testCreate() {
+        ReadBatcher.Fetcher fetcher = ReadBatcherTest::echo;
+        assertNull(ReadBatcher.create(null, 8, fetcher));
+        assertNull(ReadBatcher.create(0, 8, fetcher));
+        assertNull(ReadBatcher.create(100, 1, fetcher));
+        assertNotNull(ReadBatcher.create(100, null, fetcher));
+    }
+
+    @Test
+    public void testFullBatch() throws Exception {
+        int size = 16;
+        var batches = new CopyOnWriteArrayList<Integer>();
+        // 窗口足够长, 第 size 个请求加入时立即执行
+        var batcher = ReadBatcher.create(10_000_000, size, requests -> {
+            batches.add(requests.size());
+            return echo(requests);
+        });
+        long begin = System.nanoTime();
+        var results = run(batcher, size);
+        assertTrue(System.nanoTime() - begin < 5_000_000_000L, "full batch waited for window");
+        assertEquals(List.of(size), batches);
+        assertResults(results);
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        int count = 40;
+        var batches = new CopyOnWriteArrayList<Integer>();
+        var batcher = ReadBatcher.create(20_000, 16, requests -> {
+            batches.add(requests.size());
+            return echo(requests);
+        });
+        var results = run(batcher, count);
+        assertResults(results);
+        assertEquals(count, batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batches.size() < count, "batches=" + batches);
+        for (var n : batches) {
+            assertTrue(n <= 16, "batches=" + batches);
+        }
+        // 窗口到期执行未满的批次
+        var single = batcher.get(new BoundKey(bytes("t:user:1"), 0), bytes("f1"));
+        assertArrayEquals(bytes("t:user:1:f1"), single);
+    }
+
+    @Test
+    public void testError() throws Exception {
+        int size = 8;
+        var error = new Exception("mget fail");
+        var batcher = ReadBatcher.create(10_000_000, size, requests -> {
+            throw error;
+        });
+        for (var r : run(batcher, size)) {
+            assertSame(error, r);
+        }
+        // 失败后继续可用
+        var ok = ReadBatcher.create(1_000, size, ReadBatcherTest::echo);
+        assertArrayEquals(bytes("t:user:1:f1"), ok.get(new BoundKey(bytes("t:user:1"), 0), bytes("f1")));
+    }
+}
@@ -0,0 +1,74 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RefreshAhead 使用设置的线程池, 同一 key 刷新中不重复提交, 失败或拒绝后可再次刷新
+ */
+public class RefreshAheadTest {
+    private static final byte[] KEY = "t:user:1".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testParse() throws Exception {
+        assertNull(RefreshAhead.parse(null, 100));
+        assertNull(RefreshAhead.parse("0.8", null));
+        assertThrows(Exception.class, () -> RefreshAhead.parse("1.2", 100));
+        assertThrows(Exception.class, () -> RefreshAhead.parse("~abc", 100));
+    }
+
+    @Test
+    public void testExecutorAndDedup() throws Exception {
+        var refresh = RefreshAhead.parse("0.8", 100);
+        var tasks = new ArrayList<Runnable>();
+        refresh.setExecutor(tasks::add);
+        var count = new AtomicInteger();
+        // 未到刷新比例
+        refresh.check(KEY, 50000, count::incrementAndGet);
+        assertEquals(0, tasks.size());
+        refresh.check(KEY, 10000, count::incrementAndGet);
+        refresh.check(KEY, 10000, count::incrementAndGet);
+        assertEquals(1, tasks.size());
+        refresh.check("t:user:2".getBytes(StandardCharsets.UTF_8), 10000, count::incrementAndGet);
+        assertEquals(2, tasks.size());
+        tasks.get(0).run();
+        assertEquals(1, count.get());
+        // 刷新完成后可再次提交
+        refresh.check(KEY, 10000, count::incrementAndGet);
+        assertEquals(3, tasks.size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        var refresh = RefreshAhead.parse("0.8", 100);
+        var tasks = new ArrayList<Runnable>();
+        refresh.setExecutor(tasks::add);
+        refresh.check(KEY, 10000, () -> {
+            throw new Exception("load fail");
+        });
+        tasks.get(0).run();
+        refresh.check(KEY, 10000, () -> null);
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        var refresh = RefreshAhead.parse("0.8", 100);
+        var count = new AtomicInteger();
+        refresh.setExecutor(r -> {
+            count.incrementAndGet();
+            throw new RejectedExecutionException();
+        });
+        refresh.check(KEY, 10000, () -> null);
+        refresh.check(KEY, 10000, () -> null);
+        assertEquals(2, count.get());
+    }
+}
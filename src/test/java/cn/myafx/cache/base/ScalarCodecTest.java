@@ -0,0 +1,182 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.myafx.cache.IJsonMapper;
+
+/**
+ * ScalarCodec 往返与 Jackson 默认输出一致, 无法直接处理的值返回 UNHANDLED;
+ * 默认 IJsonMapper 路径使用 ScalarCodec, 配置 scalar="false" 或自定义 IJsonMapper 时不使用
+ */
+public class ScalarCodecTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Color {
+        RED, GREEN, BLUE
+    }
+
+    enum Level {
+        @JsonProperty("low")
+        LOW, HIGH
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Object decode(String s, Class<?> clazz) {
+        var buffer = bytes(s);
+        return ScalarCodec.decode(buffer, 0, buffer.length, clazz);
+    }
+
+    private static void assertRoundTrip(Object value, Class<?> primitive) throws Exception {
+        var buffer = ScalarCodec.encode(value);
+        var expected = value instanceof String s ? bytes(s) : MAPPER.writeValueAsBytes(value);
+        assertArrayEquals(expected, buffer, String.valueOf(value));
+        assertEquals(value, ScalarCodec.decode(buffer, 0, buffer.length, value.getClass()));
+        if (primitive != null)
+            assertEquals(value, ScalarCodec.decode(buffer, 0, buffer.length, primitive));
+        // 偏移
+        var padded = new byte[buffer.length + 4];
+        System.arraycopy(buffer, 0, padded, 2, buffer.length);
+        assertEquals(value, ScalarCodec.decode(padded, 2, buffer.length, value.getClass()));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (var v : new String[] { "", "abc", "中文😀", "\"quoted\"", "123" }) {
+            assertRoundTrip(v, null);
+        }
+        for (var v : new int[] { 0, 7, -1, 123456789, Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+            assertRoundTrip(v, int.class);
+        }
+        for (var v : new long[] { 0, -42, Long.MIN_VALUE, Long.MAX_VALUE, 9876543210L }) {
+            assertRoundTrip(v, long.class);
+        }
+        for (var v : new short[] { 0, -3, Short.MIN_VALUE, Short.MAX_VALUE }) {
+            assertRoundTrip(v, short.class);
+        }
+        for (var v : new byte[] { 0, -3, Byte.MIN_VALUE, Byte.MAX_VALUE }) {
+            assertRoundTrip(v, byte.class);
+        }
+        assertRoundTrip(true, boolean.class);
+        assertRoundTrip(false, boolean.class);
+        for (var v : new double[] { 0, -0.0, 1.5, -0.25, 1e20, 1e-7, Double.MAX_VALUE, Double.MIN_VALUE }) {
+            assertRoundTrip(v, double.class);
+        }
+        for (var v : new float[] { 0, 1.5f, -0.25f, 3.4e38f, Float.MIN_VALUE }) {
+            assertRoundTrip(v, float.class);
+        }
+        assertRoundTrip(UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff"), null);
+        assertRoundTrip('a', char.class);
+        assertRoundTrip('中', char.class);
+        assertRoundTrip(Color.GREEN, null);
+    }
+
+    @Test
+    public void testEncodeUnhandled() {
+        assertNull(ScalarCodec.encode(Double.NaN));
+        assertNull(ScalarCodec.encode(Double.POSITIVE_INFINITY));
+        assertNull(ScalarCodec.encode(Float.NEGATIVE_INFINITY));
+        assertNull(ScalarCodec.encode('"'));
+        assertNull(ScalarCodec.encode('\\'));
+        assertNull(ScalarCodec.encode('\n'));
+        assertNull(ScalarCodec.encode('\ud83d'));
+        assertNull(ScalarCodec.encode(Level.LOW));
+        assertNull(ScalarCodec.encode(List.of(1)));
+        assertNull(ScalarCodec.encode(Map.of("a", 1)));
+        assertNull(ScalarCodec.encode(new Object()));
+    }
+
+    @Test
+    public void testDecodeUnhandled() {
+        var unhandled = ScalarCodec.UNHANDLED;
+        assertSame(unhandled, decode("42.0", Integer.class));
+        assertSame(unhandled, decode("\"42\"", Integer.class));
+        assertSame(unhandled, decode("-", Integer.class));
+        assertSame(unhandled, decode("2147483648", Integer.class));
+        assertSame(unhandled, decode("9223372036854775808", Long.class));
+        assertSame(unhandled, decode("-9223372036854775809", long.class));
+        assertSame(unhandled, decode("32768", Short.class));
+        assertSame(unhandled, decode("128", byte.class));
+        assertSame(unhandled, decode("TRUE", Boolean.class));
+        assertSame(unhandled, decode("1", boolean.class));
+        assertSame(unhandled, decode("NaN", Double.class));
+        assertSame(unhandled, decode("1.", Double.class));
+        assertSame(unhandled, decode(".5", float.class));
+        assertSame(unhandled, decode("1e", Double.class));
+        assertSame(unhandled, decode("\"6f9619ff-8b86-d011-b42d-00c04fc964f\"", UUID.class));
+        assertSame(unhandled, decode("\"6f9619ff-8b86-d011-b42d-00c04fc964fx\"", UUID.class));
+        assertSame(unhandled, decode("\"ab\"", Character.class));
+        assertSame(unhandled, decode("a", char.class));
+        assertSame(unhandled, decode("\"\\n\"", Character.class));
+        assertSame(unhandled, decode("\"PURPLE\"", Color.class));
+        assertSame(unhandled, decode("1", Color.class));
+        assertSame(unhandled, decode("\"low\"", Level.class));
+        assertSame(unhandled, decode("[1]", List.class));
+        assertSame(unhandled, decode("{}", Object.class));
+    }
+
+    @Test
+    public void testDefaultMapper() throws Exception {
+        var cache = TestCache.create(null, null, null);
+        assertTrue(cache.scalar);
+        for (var v : new Object[] { 42, -7L, true, 1.5d, Color.BLUE, "abc",
+                UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff") }) {
+            var buffer = cache.serialize(v);
+            assertArrayEquals(v instanceof String s ? bytes(s) : MAPPER.writeValueAsBytes(v), buffer);
+            assertEquals(v, cache.deserialize(buffer, v.getClass()));
+        }
+        // 默认 mapper 保持直接读写
+        cache.setJsonMapper(BaseCache.DefaultJsonMapper);
+        assertTrue(cache.scalar);
+    }
+
+    @Test
+    public void testScalarDisabled() throws Exception {
+        var cache = TestCache.create(null, null, null, false);
+        assertFalse(cache.scalar);
+        for (var v : new Object[] { 42, -7L, true, 1.5d, Color.BLUE,
+                UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff") }) {
+            assertEquals(v, cache.deserialize(cache.serialize(v), v.getClass()));
+        }
+    }
+
+    @Test
+    public void testJsonMapperNotBypassed() throws Exception {
+        var cache = TestCache.create(null, null, null);
+        cache.setJsonMapper(new IJsonMapper() {
+            @Override
+            public <T> String serialize(T m) throws Exception {
+                return "<" + TestCache.JSON_MAPPER.serialize(m) + ">";
+            }
+
+            @Override
+            public <T> T deserialize(String json, Class<T> clazz) throws Exception {
+                return TestCache.JSON_MAPPER.deserialize(json.substring(1, json.length() - 1), clazz);
+            }
+        });
+        for (var v : new Object[] { 42, -7L, true, 1.5d, Color.BLUE,
+                UUID.fromString("6f9619ff-8b86-d011-b42d-00c04fc964ff") }) {
+            var buffer = cache.serialize(v);
+            assertArrayEquals(bytes("<" + MAPPER.writeValueAsString(v) + ">"), buffer);
+            assertEquals(v, cache.deserialize(buffer, v.getClass()));
+        }
+        assertFalse(cache.scalar);
+    }
+}
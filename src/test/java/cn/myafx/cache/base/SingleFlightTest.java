@@ -0,0 +1,137 @@
+package cn.myafx.cache.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SingleFlight 同一 key 并发只加载一次, 结果与异常共享给所有等待线程
+ */
+public class SingleFlightTest {
+    private static final int THREADS = 16;
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 并发执行, loader 等待其他线程都进入等待后返回; 启动使用自旋, WAITING 只来自等待加载结果
+     */
+    private static List<Object> run(SingleFlight flight, String key, Callable<Object> loader) throws Exception {
+        var threads = new ArrayList<Thread>(THREADS);
+        var results = new Object[THREADS];
+        var start = new AtomicBoolean();
+        Callable<Object> blocking = () -> {
+            var current = Thread.currentThread();
+            for (var t : threads) {
+                while (t != current && t.getState() != Thread.State.WAITING)
+                    Thread.sleep(1);
+            }
+            return loader.call();
+        };
+        for (int i = 0; i < THREADS; i++) {
+            final int index = i;
+            threads.add(new Thread(() -> {
+                try {
+                    while (!start.get())
+                        Thread.onSpinWait();
+                    results[index] = flight.execute(bytes(key), blocking);
+                } catch (Exception ex) {
+                    results[index] = ex;
+                }
+            }));
+        }
+        for (var t : threads) {
+            t.start();
+        }
+        start.set(true);
+        for (var t : threads) {
+            t.join(10000);
+            assertTrue(!t.isAlive(), "thread not finished");
+        }
+
+        return List.of(results);
+    }
+
+    @Test
+    public void testOneLoadPerKey() throws Exception {
+        var flight = new SingleFlight();
+        var count = new AtomicInteger();
+        var value = new Object();
+        var results = run(flight, "t:user:1", () -> {
+            count.incrementAndGet();
+            return value;
+        });
+        assertEquals(1, count.get());
+        for (var r : results) {
+            assertSame(value, r);
+        }
+    }
+
+    @Test
+    public void testKeyIsolation() throws Exception {
+        var flight = new SingleFlight();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var other = new Thread(() -> {
+            try {
+                flight.execute(bytes("t:user:1"), () -> {
+                    loading.countDown();
+                    release.await();
+                    return 1;
+                });
+            } catch (Exception ex) {
+            }
+        });
+        other.start();
+        loading.await();
+        try {
+            // 不同 key 不等待进行中的加载
+            assertEquals(2, flight.execute(bytes("t:user:2"), () -> 2));
+        } finally {
+            release.countDown();
+            other.join();
+        }
+    }
+
+    @Test
+    public void testErrorPropagates() throws Exception {
+        var flight = new SingleFlight();
+        var count = new AtomicInteger();
+        var error = new Exception("load fail");
+        var results = run(flight, "t:user:1", () -> {
+            count.incrementAndGet();
+            throw error;
+        });
+        assertEquals(1, count.get());
+        for (var r : results) {
+            assertSame(error, r);
+        }
+    }
+
+    @Test
+    public void testReloadAfterComplete() throws Exception {
+        var flight = new SingleFlight();
+        var count = new AtomicInteger();
+        var key = bytes("t:user:1");
+        assertEquals(1, flight.execute(key, count::incrementAndGet));
+        assertEquals(2, flight.execute(key, count::incrementAndGet));
+        try {
+            flight.execute(key, () -> {
+                throw new Exception("load fail");
+            });
+        } catch (Exception ex) {
+        }
+        assertEquals(3, flight.execute(key, count::incrementAndGet));
+    }
+}
@@ -0,0 +1,88 @@
+package cn.myafx.cache.base;
+
+import java.util.List;
+
+import cn.myafx.cache.CacheKeyConfig;
+import cn.myafx.cache.ICacheKey;
+import cn.myafx.cache.IJsonMapper;
+import cn.myafx.utils.JsonUtils;
+
+/**
+ * 不连接 redis 的 BaseCache, 测试序列化
+ */
+final class TestCache extends BaseCache {
+    /**
+     * JsonUtils IJsonMapper
+     */
+    static final IJsonMapper JSON_MAPPER = new IJsonMapper() {
+        @Override
+        public <T> String serialize(T m) throws Exception {
+            return JsonUtils.serialize(m);
+        }
+
+        @Override
+        public <T> T deserialize(String json, Class<T> clazz) throws Exception {
+            return JsonUtils.deserialize(json, clazz);
+        }
+    };
+
+    private TestCache(CacheKeyConfig config) throws Exception {
+        super(config.Node, config.Item, new ICacheKey() {
+            @Override
+            public CacheKeyConfig get(String node, String item) {
+                return config;
+            }
+
+            @Override
+            public List<CacheKeyConfig> all() {
+                return List.of(config);
+            }
+
+            @Override
+            public String getKey(String node, String item) {
+                return config.Key;
+            }
+
+            @Override
+            public Integer getExpire(String node, String item) {
+                return config.Expire;
+            }
+
+            @Override
+            public List<Integer> getDb(String node, String item) {
+                return config.Db;
+            }
+        }, "t:");
+    }
+
+    /**
+     * 创建
+     *
+     * @param codec       codec 配置
+     * @param compress    compress 配置
+     * @param compressMin compressmin 配置
+     * @return
+     * @throws Exception
+     */
+    static TestCache create(String codec, String compress, Integer compressMin) throws Exception {
+        return create(codec, compress, compressMin, null);
+    }
+
+    /**
+     * 创建
+     *
+     * @param codec       codec 配置
+     * @param compress    compress 配置
+     * @param compressMin compressmin 配置
+     * @param scalar      scalar 配置
+     * @return
+     * @throws Exception
+     */
+    static TestCache create(String codec, String compress, Integer compressMin, Boolean scalar) throws Exception {
+        if (BaseCache.DefaultJsonMapper == null)
+            BaseCache.DefaultJsonMapper = JSON_MAPPER;
+
+        return new TestCache(CacheKeyConfig.builder("DataDb", "Test", "test", null, List.of(0)).codec(codec)
+                .scalar(scalar).compress(compress).compressMin(compressMin).build());
+    }
+}